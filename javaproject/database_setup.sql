@@ -5,6 +5,7 @@
 -- SQLite Setup (Default)
 -- =====================================================
 -- SQLite tables are created automatically by the application
+-- (versioned scripts in src/main/resources/db/migration, tracked in schema_version)
 -- This section is for reference only
 
 -- Items table structure for SQLite
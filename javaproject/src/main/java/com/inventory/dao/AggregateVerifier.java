@@ -0,0 +1,126 @@
+package com.inventory.dao;
+
+import com.inventory.database.DatabaseConnection;
+import com.inventory.model.InventoryTotals;
+import java.sql.*;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Compares the trigger-maintained inventory_totals and category_totals tables
+ * with a fresh aggregate over items, and rebuilds them when they have drifted.
+ */
+public class AggregateVerifier {
+    // Values are summed incrementally in floating point, so allow for rounding
+    private static final double VALUE_TOLERANCE = 0.005;
+    
+    private static final String TOTALS_FROM_ITEMS =
+        "SELECT COUNT(*), COALESCE(SUM(quantity), 0), COALESCE(SUM(quantity * price), 0) FROM items";
+    private static final String CATEGORIES_FROM_ITEMS =
+        "SELECT category, COUNT(*), SUM(quantity), SUM(quantity * price) FROM items GROUP BY category";
+    
+    // Returns one line per mismatch; an empty list means the summary tables are accurate
+    public List<String> verify() throws SQLException {
+        List<String> drift = new ArrayList<>();
+        
+        try (Connection conn = DatabaseConnection.getReadConnection()) {
+            // One transaction so both sides are read from the same snapshot
+            conn.setAutoCommit(false);
+            try (Statement stmt = conn.createStatement()) {
+                InventoryTotals expected = readTotals(stmt, TOTALS_FROM_ITEMS);
+                InventoryTotals actual = readTotals(stmt,
+                    "SELECT item_count, total_quantity, total_value FROM inventory_totals WHERE id = 1");
+                compare("inventory", expected, actual, drift);
+                
+                Map<String, InventoryTotals> expectedCategories = readCategories(stmt, CATEGORIES_FROM_ITEMS);
+                Map<String, InventoryTotals> actualCategories = readCategories(stmt,
+                    "SELECT category, item_count, total_quantity, total_value FROM category_totals");
+                for (String category : expectedCategories.keySet()) {
+                    compare("category '" + category + "'", expectedCategories.get(category),
+                        actualCategories.remove(category), drift);
+                }
+                for (String category : actualCategories.keySet()) {
+                    drift.add("category '" + category + "': has totals but no items");
+                }
+                conn.commit();
+            } finally {
+                conn.setAutoCommit(true);
+            }
+        }
+        return drift;
+    }
+    
+    public void rebuild() throws SQLException {
+        try (Connection conn = DatabaseConnection.getWriteConnection()) {
+            conn.setAutoCommit(false);
+            try (Statement stmt = conn.createStatement()) {
+                stmt.executeUpdate("DELETE FROM inventory_totals");
+                stmt.executeUpdate("DELETE FROM category_totals");
+                stmt.executeUpdate("INSERT INTO inventory_totals (id, item_count, total_quantity, total_value) "
+                    + "SELECT 1, COUNT(*), COALESCE(SUM(quantity), 0), COALESCE(SUM(quantity * price), 0) FROM items");
+                stmt.executeUpdate("INSERT INTO category_totals (category, item_count, total_quantity, total_value) "
+                    + CATEGORIES_FROM_ITEMS);
+                conn.commit();
+            } catch (SQLException e) {
+                conn.rollback();
+                throw e;
+            } finally {
+                conn.setAutoCommit(true);
+            }
+        }
+    }
+    
+    private static InventoryTotals readTotals(Statement stmt, String sql) throws SQLException {
+        try (ResultSet rs = stmt.executeQuery(sql)) {
+            return rs.next() ? new InventoryTotals(null, rs.getInt(1), rs.getLong(2), rs.getDouble(3)) : null;
+        }
+    }
+    
+    private static Map<String, InventoryTotals> readCategories(Statement stmt, String sql) throws SQLException {
+        Map<String, InventoryTotals> totals = new TreeMap<>();
+        try (ResultSet rs = stmt.executeQuery(sql)) {
+            while (rs.next()) {
+                totals.put(rs.getString(1), new InventoryTotals(rs.getString(1), rs.getInt(2), rs.getLong(3), rs.getDouble(4)));
+            }
+        }
+        return totals;
+    }
+    
+    private static void compare(String label, InventoryTotals expected, InventoryTotals actual, List<String> drift) {
+        if (actual == null) {
+            drift.add(label + ": missing summary row");
+            return;
+        }
+        if (expected.itemCount() != actual.itemCount()) {
+            drift.add(String.format("%s: item count %d, expected %d", label, actual.itemCount(), expected.itemCount()));
+        }
+        if (expected.totalQuantity() != actual.totalQuantity()) {
+            drift.add(String.format("%s: total quantity %d, expected %d", label, actual.totalQuantity(), expected.totalQuantity()));
+        }
+        if (Math.abs(expected.totalValue() - actual.totalValue()) > VALUE_TOLERANCE) {
+            drift.add(String.format("%s: total value %.2f, expected %.2f", label, actual.totalValue(), expected.totalValue()));
+        }
+    }
+    
+    public static void main(String[] args) throws SQLException {
+        boolean rebuild = args.length > 0 && "--rebuild".equals(args[0]);
+        AggregateVerifier verifier = new AggregateVerifier();
+        
+        long start = System.currentTimeMillis();
+        List<String> drift = verifier.verify();
+        drift.forEach(System.out::println);
+        System.out.printf("Checked summary tables in %d ms: %s%n", System.currentTimeMillis() - start,
+            drift.isEmpty() ? "no drift" : drift.size() + " mismatch(es)");
+        
+        if (!drift.isEmpty() && rebuild) {
+            verifier.rebuild();
+            System.out.println("Summary tables rebuilt");
+        }
+        DatabaseConnection.closeConnection();
+        if (!drift.isEmpty() && !rebuild) {
+            System.exit(2);
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,67 @@
+package com.inventory.dao;
+
+import java.sql.Statement;
+import java.util.Arrays;
+
+/**
+ * Per-row outcome of a batch write. For inserts the key is the generated item id,
+ * for updates and deletes it is the id that was targeted.
+ */
+public class BatchResult {
+    public static final int FAILED = Statement.EXECUTE_FAILED;
+    
+    private final int[] keys;
+    private final int[] updateCounts;
+    
+    public BatchResult(int[] keys, int[] updateCounts) {
+        if (keys.length != updateCounts.length) {
+            throw new IllegalArgumentException("keys and updateCounts must have the same length");
+        }
+        this.keys = keys;
+        this.updateCounts = updateCounts;
+    }
+    
+    public static BatchResult empty() {
+        return new BatchResult(new int[0], new int[0]);
+    }
+    
+    public int size() {
+        return keys.length;
+    }
+    
+    public int getKey(int index) {
+        return keys[index];
+    }
+    
+    public int getUpdateCount(int index) {
+        return updateCounts[index];
+    }
+    
+    public boolean isSuccess(int index) {
+        return updateCounts[index] > 0 || updateCounts[index] == Statement.SUCCESS_NO_INFO;
+    }
+    
+    public int getSuccessCount() {
+        int count = 0;
+        for (int i = 0; i < updateCounts.length; i++) {
+            if (isSuccess(i)) {
+                count++;
+            }
+        }
+        return count;
+    }
+    
+    public int getFailureCount() {
+        return size() - getSuccessCount();
+    }
+    
+    public int[] getKeys() {
+        return Arrays.copyOf(keys, keys.length);
+    }
+    
+    @Override
+    public String toString() {
+        return String.format("BatchResult{rows=%d, succeeded=%d, failed=%d}",
+                           size(), getSuccessCount(), getFailureCount());
+    }
+}
\ No newline at end of file
@@ -0,0 +1,110 @@
+package com.inventory.dao;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * In-process copy of the categories table: maps category names to their integer
+ * keys and back, and hands out one shared String per category. Rows are never
+ * deleted from the table, so a known id or name stays valid; an unknown one
+ * reloads the table once, which is how categories added elsewhere are picked up.
+ */
+public class CategoryDictionary {
+    public static final int NO_ID = 0;
+    
+    private record Entries(Map<String, Integer> ids, String[] names, List<String> sorted) {
+    }
+    
+    private static final Entries EMPTY = new Entries(Map.of(), new String[0], List.of());
+    
+    private final Supplier<Map<Integer, String>> loader;
+    private volatile Entries entries = EMPTY;
+    
+    public CategoryDictionary(Supplier<Map<Integer, String>> loader) {
+        this.loader = loader;
+    }
+    
+    // NO_ID when the table has no such category
+    public int idOf(String name) {
+        if (name == null) {
+            return NO_ID;
+        }
+        Integer id = entries.ids().get(name);
+        if (id == null) {
+            id = reload().ids().get(name);
+        }
+        return id != null ? id : NO_ID;
+    }
+    
+    // null when the table has no such id
+    public String nameOf(int id) {
+        if (id <= NO_ID) {
+            return null;
+        }
+        String[] names = entries.names();
+        if (id >= names.length || names[id] == null) {
+            names = reload().names();
+        }
+        return id < names.length ? names[id] : null;
+    }
+    
+    // The shared instance for a known category, otherwise the name itself
+    public String intern(String name) {
+        Entries current = entries;
+        Integer id = name == null ? null : current.ids().get(name);
+        return id != null ? current.names()[id] : name;
+    }
+    
+    public boolean contains(String name) {
+        return name != null && entries.ids().containsKey(name);
+    }
+    
+    // Every known category, sorted by name; the list is shared and unmodifiable
+    public List<String> names() {
+        if (entries == EMPTY) {
+            reload();
+        }
+        return entries.sorted();
+    }
+    
+    public int size() {
+        return entries.ids().size();
+    }
+    
+    public void refresh() {
+        reload();
+    }
+    
+    // A loader that fails returns null and the current entries are kept
+    private synchronized Entries reload() {
+        Map<Integer, String> rows = loader.get();
+        if (rows == null) {
+            return entries;
+        }
+        int maxId = 0;
+        for (int id : rows.keySet()) {
+            maxId = Math.max(maxId, id);
+        }
+        
+        // Keep the instances already handed out so that intern() stays stable across reloads
+        Entries previous = entries;
+        String[] names = new String[maxId + 1];
+        Map<String, Integer> ids = new HashMap<>(rows.size() * 2);
+        for (Map.Entry<Integer, String> row : rows.entrySet()) {
+            Integer previousId = previous.ids().get(row.getValue());
+            String name = previousId != null ? previous.names()[previousId] : row.getValue();
+            names[row.getKey()] = name;
+            ids.put(name, row.getKey());
+        }
+        
+        List<String> sorted = new ArrayList<>(ids.keySet());
+        Collections.sort(sorted);
+        Entries loaded = new Entries(Collections.unmodifiableMap(ids), names, Collections.unmodifiableList(sorted));
+        entries = loaded;
+        return loaded;
+    }
+}
\ No newline at end of file
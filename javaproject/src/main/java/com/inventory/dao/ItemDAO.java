@@ -1,10 +1,20 @@
 package com.inventory.dao;
 
+import com.inventory.model.CategoryStats;
+import com.inventory.model.InventoryTotals;
 import com.inventory.model.Item;
+import com.inventory.model.ItemRecord;
+import com.inventory.model.ItemSummary;
+import com.inventory.model.SearchResult;
+import com.inventory.model.StockAdjustment;
+import java.sql.SQLException;
+import java.time.Instant;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
 
 public interface ItemDAO {
-    // Create
+    // Create; sets the generated id on the item
     boolean addItem(Item item);
     
     // Read
@@ -12,16 +22,56 @@ public interface ItemDAO {
     List<Item> getAllItems();
     List<Item> getItemsByCategory(String category);
     List<Item> searchItems(String searchTerm);
+    List<SearchResult> searchItemsRanked(String searchTerm, int limit);
+    void forEachItem(Consumer<Item> action);
+    // Same stream as forEachItem in the compact form, for large loads and exports
+    void forEachItemRecord(Consumer<ItemRecord> action);
+    
+    // Keyset pagination ordered by (name, id); pass a null token for the first page
+    Page<ItemSummary> getItemsPage(String pageToken, int pageSize);
+    Page<ItemSummary> getItemsByCategoryPage(String category, String pageToken, int pageSize);
+    Page<ItemSummary> searchItemsPage(String searchTerm, String pageToken, int pageSize);
+    // Search matches within one category; a null category searches them all
+    Page<ItemSummary> searchItemsPage(String searchTerm, String category, String pageToken, int pageSize);
+    
+    // Change tracking: rows with last_updated at or after since, oldest first, and ids deleted since then
+    List<ItemSummary> getItemsModifiedSince(Instant since, int limit);
+    List<Integer> getDeletedItemIdsSince(Instant since);
+    List<ItemSummary> getRecentlyUpdated(int limit);
     
     // Update
-    boolean updateItem(Item item);
+    // Compare-and-set on the item's version; on success the item carries the new version
+    UpdateResult updateItem(Item item);
     boolean updateQuantity(int id, int newQuantity);
+    // Adds delta (clamped at zero) and records it in stock_movements, in one transaction
+    boolean adjustQuantity(int id, int delta, String reason, String source);
     
     // Delete
     boolean deleteItem(int id);
     
+    // Batch writes, committed in chunks with one transaction per chunk
+    BatchResult addItems(List<Item> items);
+    BatchResult updateQuantities(Map<Integer, Integer> quantities);
+    BatchResult deleteItems(int[] ids);
+    // All adjustments in a single transaction; the keys are the item ids
+    BatchResult adjustQuantities(List<StockAdjustment> adjustments);
+    // Runs work in one transaction on the writer connection: commits when it returns, rolls back
+    // and rethrows when it throws. The writer must not be used after work returns.
+    void inWriteTransaction(ItemWriter.Transaction work) throws SQLException;
+    
     // Utility
     int getTotalItems();
     double getTotalInventoryValue();
+    // Low stock: quantity at or below the item's reorder point, or at or below threshold when it has none
+    List<ItemSummary> getLowStockItems(int threshold);
+    int countLowStock(int threshold);
     List<String> getAllCategories();
+    // Category names and their integer keys, from the categories table
+    CategoryDictionary getCategoryDictionary();
+    List<CategoryStats> getCategoryStats();
+    // Read from the trigger-maintained summary tables rather than scanning items
+    InventoryTotals getInventoryTotals();
+    List<InventoryTotals> getCategoryTotals();
+    boolean existsByName(String name);
+    void forEachName(Consumer<String> action);
 }
\ No newline at end of file
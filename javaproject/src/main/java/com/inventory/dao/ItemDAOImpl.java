@@ -1,41 +1,114 @@
 package com.inventory.dao;
 
+import com.inventory.model.CategoryStats;
+import com.inventory.model.InventoryTotals;
 import com.inventory.model.Item;
+import com.inventory.model.ItemRecord;
+import com.inventory.model.ItemSummary;
 import com.inventory.database.DatabaseConnection;
+import com.inventory.model.SearchResult;
+import com.inventory.model.StockAdjustment;
 import java.sql.*;
+import java.time.Instant;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
 
 public class ItemDAOImpl implements ItemDAO {
+    private static final int DEFAULT_BATCH_SIZE = Integer.getInteger("inventory.batch.size", 500);
+    private static final int STREAM_FETCH_SIZE = Integer.getInteger("inventory.fetch.size", 1_000);
+    
+    // Explicit projections; list and report reads skip the description text
+    private static final String ITEM_COLUMNS = "id, name, description, quantity, price, category, reorder_point, created_date, last_updated, version, category_id";
+    private static final String SUMMARY_COLUMNS = "id, name, quantity, price, category, reorder_point, last_updated, category_id";
+    
+    // Resolved by the database, so the key follows its collation rather than the dictionary's
+    private static final String CATEGORY_ID_OF = "(SELECT id FROM categories WHERE name = ?)";
+    private static final String INSERT_ITEM = "INSERT INTO items (name, description, quantity, price, category, reorder_point, created_date, last_updated, category_id) "
+                                            + "VALUES (?, ?, ?, ?, ?, ?, ?, ?, " + CATEGORY_ID_OF + ")";
+    // No lock is held between read and write; the version check detects an intervening write
+    private static final String UPDATE_ITEM = "UPDATE items SET name = ?, description = ?, quantity = ?, price = ?, category = ?, reorder_point = ?, "
+                                            + "last_updated = ?, version = version + 1, category_id = " + CATEGORY_ID_OF + " WHERE id = ? AND version = ?";
+    private static final String UPDATE_QUANTITY = "UPDATE items SET quantity = ?, last_updated = ?, version = version + 1 WHERE id = ?";
+    private static final String DELETE_ITEM = "DELETE FROM items WHERE id = ?";
+    
+    // Low stock is split so that each half is a range scan on its own partial index
+    private static final String LOW_STOCK_DEFAULT = "reorder_point IS NULL AND quantity <= ?";
+    private static final String LOW_STOCK_OWN = "reorder_point IS NOT NULL AND quantity <= reorder_point";
+    
+    // Full-text search on the FTS5 index. Name matches weigh more than description.
+    private static final String FTS_MATCHES = "SELECT rowid FROM items_fts WHERE items_fts MATCH ?";
+    private static final String FTS_RANKED = "SELECT rowid AS match_id, -bm25(items_fts, 10.0, 1.0) AS score";
+    private static final int SNIPPET_TOKENS = 12;
+    
+    private final int batchSize;
+    private final CategoryDictionary categoryDictionary = new CategoryDictionary(this::loadCategories);
+    
+    public ItemDAOImpl() {
+        this(DEFAULT_BATCH_SIZE);
+    }
+    
+    public ItemDAOImpl(int batchSize) {
+        if (batchSize < 1) {
+            throw new IllegalArgumentException("batchSize must be at least 1");
+        }
+        this.batchSize = batchSize;
+    }
     
     @Override
     public boolean addItem(Item item) {
-        String sql = "INSERT INTO items (name, description, quantity, price, category, created_date, last_updated) VALUES (?, ?, ?, ?, ?, ?, ?)";
-        
-        try (Connection conn = DatabaseConnection.getConnection();
-             PreparedStatement pstmt = conn.prepareStatement(sql)) {
-            
-            pstmt.setString(1, item.getName());
-            pstmt.setString(2, item.getDescription());
-            pstmt.setInt(3, item.getQuantity());
-            pstmt.setDouble(4, item.getPrice());
-            pstmt.setString(5, item.getCategory());
-            pstmt.setTimestamp(6, Timestamp.valueOf(item.getCreatedDate()));
-            pstmt.setTimestamp(7, Timestamp.valueOf(item.getLastUpdated()));
-            
-            return pstmt.executeUpdate() > 0;
+        // In a transaction, so the item is never written without its category row
+        int[] id = new int[1];
+        try {
+            inWriteTransaction(writer -> id[0] = writer.addItem(item));
         } catch (SQLException e) {
             e.printStackTrace();
             return false;
         }
+        if (id[0] == 0) {
+            return false;
+        }
+        item.setId(id[0]);
+        return true;
+    }
+    
+    // The generated id, or 0 if nothing was inserted
+    private static int insertItem(PreparedStatement pstmt, Item item) throws SQLException {
+        bindInsert(pstmt, item);
+        if (pstmt.executeUpdate() == 0) {
+            return 0;
+        }
+        try (ResultSet keys = pstmt.getGeneratedKeys()) {
+            return keys.next() ? keys.getInt(1) : 0;
+        }
+    }
+    
+    private static void bindInsert(PreparedStatement pstmt, Item item) throws SQLException {
+        pstmt.setString(1, item.getName());
+        pstmt.setString(2, item.getDescription());
+        pstmt.setInt(3, item.getQuantity());
+        pstmt.setDouble(4, item.getPrice());
+        pstmt.setString(5, item.getCategory());
+        setNullableInt(pstmt, 6, item.getReorderPoint());
+        pstmt.setTimestamp(7, Timestamp.valueOf(item.getCreatedDate()));
+        pstmt.setTimestamp(8, Timestamp.valueOf(item.getLastUpdated()));
+        pstmt.setString(9, item.getCategory());
     }
     
     @Override
     public Item getItemById(int id) {
-        String sql = "SELECT * FROM items WHERE id = ?";
+        String sql = "SELECT " + ITEM_COLUMNS + " FROM items WHERE id = ?";
         
-        try (Connection conn = DatabaseConnection.getConnection();
+        try (Connection conn = DatabaseConnection.getReadConnection();
              PreparedStatement pstmt = conn.prepareStatement(sql)) {
             
             pstmt.setInt(1, id);
@@ -53,9 +126,9 @@ public class ItemDAOImpl implements ItemDAO {
     @Override
     public List<Item> getAllItems() {
         List<Item> items = new ArrayList<>();
-        String sql = "SELECT * FROM items ORDER BY name";
+        String sql = "SELECT " + ITEM_COLUMNS + " FROM items ORDER BY name";
         
-        try (Connection conn = DatabaseConnection.getConnection();
+        try (Connection conn = DatabaseConnection.getReadConnection();
              Statement stmt = conn.createStatement();
              ResultSet rs = stmt.executeQuery(sql)) {
             
@@ -71,9 +144,9 @@ public class ItemDAOImpl implements ItemDAO {
     @Override
     public List<Item> getItemsByCategory(String category) {
         List<Item> items = new ArrayList<>();
-        String sql = "SELECT * FROM items WHERE category = ? ORDER BY name";
+        String sql = "SELECT " + ITEM_COLUMNS + " FROM items WHERE category_id = " + CATEGORY_ID_OF + " ORDER BY name";
         
-        try (Connection conn = DatabaseConnection.getConnection();
+        try (Connection conn = DatabaseConnection.getReadConnection();
              PreparedStatement pstmt = conn.prepareStatement(sql)) {
             
             pstmt.setString(1, category);
@@ -91,18 +164,23 @@ public class ItemDAOImpl implements ItemDAO {
     @Override
     public List<Item> searchItems(String searchTerm) {
         List<Item> items = new ArrayList<>();
-        String sql = "SELECT * FROM items WHERE name LIKE ? OR description LIKE ? ORDER BY name";
+        List<String> tokens = searchTokens(searchTerm);
+        if (tokens.isEmpty()) {
+            return items;
+        }
         
-        try (Connection conn = DatabaseConnection.getConnection();
-             PreparedStatement pstmt = conn.prepareStatement(sql)) {
-            
-            String searchPattern = "%" + searchTerm + "%";
-            pstmt.setString(1, searchPattern);
-            pstmt.setString(2, searchPattern);
-            ResultSet rs = pstmt.executeQuery();
+        try (Connection conn = DatabaseConnection.getReadConnection()) {
+            // Best matches first
+            String sql = "SELECT " + ITEM_COLUMNS + " FROM items JOIN (" + FTS_RANKED + " FROM items_fts"
+                       + " WHERE items_fts MATCH ?) m ON items.id = m.match_id ORDER BY m.score DESC";
             
-            while (rs.next()) {
-                items.add(mapResultSetToItem(rs));
+            try (PreparedStatement pstmt = conn.prepareStatement(sql)) {
+                pstmt.setString(1, ftsQuery(tokens));
+                ResultSet rs = pstmt.executeQuery();
+                
+                while (rs.next()) {
+                    items.add(mapResultSetToItem(rs));
+                }
             }
         } catch (SQLException e) {
             e.printStackTrace();
@@ -111,65 +189,670 @@ public class ItemDAOImpl implements ItemDAO {
     }
     
     @Override
-    public boolean updateItem(Item item) {
-        String sql = "UPDATE items SET name = ?, description = ?, quantity = ?, price = ?, category = ?, last_updated = ? WHERE id = ?";
+    public List<SearchResult> searchItemsRanked(String searchTerm, int limit) {
+        List<SearchResult> results = new ArrayList<>();
+        List<String> tokens = searchTokens(searchTerm);
+        if (tokens.isEmpty()) {
+            return results;
+        }
         
-        try (Connection conn = DatabaseConnection.getConnection();
-             PreparedStatement pstmt = conn.prepareStatement(sql)) {
+        try (Connection conn = DatabaseConnection.getReadConnection()) {
+            // highlight() and snippet() have to run in the FTS query itself
+            String sql = "SELECT " + SUMMARY_COLUMNS + ", m.score, m.name_match, m.description_match FROM items JOIN ("
+                       + FTS_RANKED
+                       + ", highlight(items_fts, 0, '" + SearchResult.MATCH_START + "', '" + SearchResult.MATCH_END + "') AS name_match"
+                       + ", snippet(items_fts, 1, '" + SearchResult.MATCH_START + "', '" + SearchResult.MATCH_END + "', '...', "
+                       + SNIPPET_TOKENS + ") AS description_match"
+                       + " FROM items_fts WHERE items_fts MATCH ? ORDER BY score DESC LIMIT ?) m ON items.id = m.match_id"
+                       + " ORDER BY m.score DESC";
+            
+            try (PreparedStatement pstmt = conn.prepareStatement(sql)) {
+                pstmt.setString(1, ftsQuery(tokens));
+                pstmt.setInt(2, limit);
+                ResultSet rs = pstmt.executeQuery();
+                
+                while (rs.next()) {
+                    results.add(new SearchResult(mapResultSetToSummary(rs), rs.getDouble("score"),
+                        rs.getString("name_match"), rs.getString("description_match")));
+                }
+            }
+        } catch (SQLException e) {
+            e.printStackTrace();
+        }
+        return results;
+    }
+    
+    // Splits free text into lower-case words; punctuation never reaches the FTS query parser
+    static List<String> searchTokens(String searchTerm) {
+        List<String> tokens = new ArrayList<>();
+        if (searchTerm == null) {
+            return tokens;
+        }
+        for (String token : searchTerm.split("[^\\p{L}\\p{N}]+")) {
+            if (!token.isEmpty()) {
+                tokens.add(token.toLowerCase());
+            }
+        }
+        return tokens;
+    }
+    
+    // Every word must match, each as a prefix: "blu wid" finds "Blue widget"
+    private static String ftsQuery(List<String> tokens) {
+        StringBuilder query = new StringBuilder();
+        for (String token : tokens) {
+            if (query.length() > 0) {
+                query.append(' ');
+            }
+            query.append('"').append(token).append("\"*");
+        }
+        return query.toString();
+    }
+    
+    @Override
+    public void forEachItem(Consumer<Item> action) {
+        // Rows are handed over as the cursor advances; nothing is collected in memory
+        String sql = "SELECT " + ITEM_COLUMNS + " FROM items ORDER BY id";
+        
+        try (Connection conn = DatabaseConnection.getReadConnection();
+             Statement stmt = conn.createStatement()) {
             
-            pstmt.setString(1, item.getName());
-            pstmt.setString(2, item.getDescription());
-            pstmt.setInt(3, item.getQuantity());
-            pstmt.setDouble(4, item.getPrice());
-            pstmt.setString(5, item.getCategory());
-            pstmt.setTimestamp(6, Timestamp.valueOf(LocalDateTime.now()));
-            pstmt.setInt(7, item.getId());
+            stmt.setFetchSize(STREAM_FETCH_SIZE);
+            try (ResultSet rs = stmt.executeQuery(sql)) {
+                while (rs.next()) {
+                    action.accept(mapResultSetToItem(rs));
+                }
+            }
+        } catch (SQLException e) {
+            e.printStackTrace();
+        }
+    }
+    
+    @Override
+    public void forEachItemRecord(Consumer<ItemRecord> action) {
+        String sql = "SELECT " + ITEM_COLUMNS + " FROM items ORDER BY id";
+        
+        try (Connection conn = DatabaseConnection.getReadConnection();
+             Statement stmt = conn.createStatement()) {
             
-            return pstmt.executeUpdate() > 0;
+            stmt.setFetchSize(STREAM_FETCH_SIZE);
+            try (ResultSet rs = stmt.executeQuery(sql)) {
+                while (rs.next()) {
+                    action.accept(mapResultSetToRecord(rs));
+                }
+            }
         } catch (SQLException e) {
             e.printStackTrace();
-            return false;
         }
     }
     
     @Override
-    public boolean updateQuantity(int id, int newQuantity) {
-        String sql = "UPDATE items SET quantity = ?, last_updated = ? WHERE id = ?";
+    public Page<ItemSummary> getItemsPage(String pageToken, int pageSize) {
+        return queryPage(new Filter("1 = 1"), pageToken, pageSize);
+    }
+    
+    @Override
+    public Page<ItemSummary> getItemsByCategoryPage(String category, String pageToken, int pageSize) {
+        return queryPage(new Filter("category_id = " + CATEGORY_ID_OF, category), pageToken, pageSize);
+    }
+    
+    @Override
+    public Page<ItemSummary> searchItemsPage(String searchTerm, String pageToken, int pageSize) {
+        return searchItemsPage(searchTerm, null, pageToken, pageSize);
+    }
+    
+    @Override
+    public Page<ItemSummary> searchItemsPage(String searchTerm, String category, String pageToken, int pageSize) {
+        List<String> tokens = searchTokens(searchTerm);
+        if (tokens.isEmpty()) {
+            return new Page<>(new ArrayList<>(), null, 0);
+        }
+        return queryPage(category == null
+                             ? new Filter("id IN (" + FTS_MATCHES + ")", ftsQuery(tokens))
+                             : new Filter("id IN (" + FTS_MATCHES + ") AND category_id = " + CATEGORY_ID_OF, ftsQuery(tokens), category),
+                         pageToken, pageSize);
+    }
+    
+    private record Filter(String sql, String... params) {
+    }
+    
+    // Seeks past the last (name, id) served instead of using OFFSET, so every page costs
+    // the same however deep it is. One extra row is read to tell whether another page exists.
+    private Page<ItemSummary> queryPage(Filter filter, String pageToken, int pageSize) {
+        if (pageSize < 1) {
+            throw new IllegalArgumentException("pageSize must be at least 1");
+        }
+        PageToken after = pageToken == null ? null : PageToken.decode(pageToken);
+        List<ItemSummary> items = new ArrayList<>();
         
-        try (Connection conn = DatabaseConnection.getConnection();
+        try (Connection conn = DatabaseConnection.getReadConnection()) {
+            long estimatedTotal = after == null ? countRows(conn, filter) : after.estimatedTotal();
+            
+            String sql = "SELECT " + SUMMARY_COLUMNS + " FROM items WHERE " + filter.sql()
+                       + (after == null ? "" : " AND name >= ? AND (name > ? OR id > ?)")
+                       + " ORDER BY name, id LIMIT ?";
+            
+            try (PreparedStatement pstmt = conn.prepareStatement(sql)) {
+                int index = 1;
+                for (String param : filter.params()) {
+                    pstmt.setString(index++, param);
+                }
+                if (after != null) {
+                    pstmt.setString(index++, after.lastName());
+                    pstmt.setString(index++, after.lastName());
+                    pstmt.setInt(index++, after.lastId());
+                }
+                pstmt.setInt(index, pageSize + 1);
+                
+                try (ResultSet rs = pstmt.executeQuery()) {
+                    while (rs.next()) {
+                        items.add(mapResultSetToSummary(rs));
+                    }
+                }
+            }
+            
+            String nextPageToken = null;
+            if (items.size() > pageSize) {
+                items.remove(pageSize);
+                ItemSummary last = items.get(pageSize - 1);
+                nextPageToken = new PageToken(last.name(), last.id(), estimatedTotal).encode();
+            }
+            return new Page<>(items, nextPageToken, estimatedTotal);
+        } catch (SQLException e) {
+            e.printStackTrace();
+            return new Page<>(items, null, items.size());
+        }
+    }
+    
+    private long countRows(Connection conn, Filter filter) throws SQLException {
+        try (PreparedStatement pstmt = conn.prepareStatement("SELECT COUNT(*) FROM items WHERE " + filter.sql())) {
+            for (int i = 0; i < filter.params().length; i++) {
+                pstmt.setString(i + 1, filter.params()[i]);
+            }
+            try (ResultSet rs = pstmt.executeQuery()) {
+                return rs.next() ? rs.getLong(1) : 0;
+            }
+        }
+    }
+    
+    @Override
+    public List<ItemSummary> getItemsModifiedSince(Instant since, int limit) {
+        List<ItemSummary> items = new ArrayList<>();
+        String sql = "SELECT " + SUMMARY_COLUMNS + " FROM items WHERE last_updated >= ? ORDER BY last_updated, id LIMIT ?";
+        
+        try (Connection conn = DatabaseConnection.getReadConnection();
              PreparedStatement pstmt = conn.prepareStatement(sql)) {
             
-            pstmt.setInt(1, newQuantity);
-            pstmt.setTimestamp(2, Timestamp.valueOf(LocalDateTime.now()));
-            pstmt.setInt(3, id);
+            pstmt.setTimestamp(1, Timestamp.from(since));
+            pstmt.setInt(2, limit);
+            try (ResultSet rs = pstmt.executeQuery()) {
+                while (rs.next()) {
+                    items.add(mapResultSetToSummary(rs));
+                }
+            }
+        } catch (SQLException e) {
+            e.printStackTrace();
+        }
+        return items;
+    }
+    
+    @Override
+    public List<Integer> getDeletedItemIdsSince(Instant since) {
+        List<Integer> ids = new ArrayList<>();
+        String sql = "SELECT item_id FROM item_tombstones WHERE deleted_at >= ? ORDER BY deleted_at";
+        
+        try (Connection conn = DatabaseConnection.getReadConnection();
+             PreparedStatement pstmt = conn.prepareStatement(sql)) {
             
-            return pstmt.executeUpdate() > 0;
+            pstmt.setTimestamp(1, Timestamp.from(since));
+            try (ResultSet rs = pstmt.executeQuery()) {
+                while (rs.next()) {
+                    ids.add(rs.getInt(1));
+                }
+            }
+        } catch (SQLException e) {
+            e.printStackTrace();
+        }
+        return ids;
+    }
+    
+    @Override
+    public List<ItemSummary> getRecentlyUpdated(int limit) {
+        List<ItemSummary> items = new ArrayList<>();
+        String sql = "SELECT " + SUMMARY_COLUMNS + " FROM items ORDER BY last_updated DESC, id DESC LIMIT ?";
+        
+        try (Connection conn = DatabaseConnection.getReadConnection();
+             PreparedStatement pstmt = conn.prepareStatement(sql)) {
+            
+            pstmt.setInt(1, limit);
+            try (ResultSet rs = pstmt.executeQuery()) {
+                while (rs.next()) {
+                    items.add(mapResultSetToSummary(rs));
+                }
+            }
+        } catch (SQLException e) {
+            e.printStackTrace();
+        }
+        return items;
+    }
+    
+    @Override
+    public UpdateResult updateItem(Item item) {
+        UpdateResult[] result = new UpdateResult[1];
+        try {
+            inWriteTransaction(writer -> result[0] = writer.updateItem(item));
+        } catch (SQLException e) {
+            e.printStackTrace();
+            return UpdateResult.FAILED;
+        }
+        if (result[0] == UpdateResult.UPDATED) {
+            item.setVersion(item.getVersion() + 1);
+        }
+        return result[0];
+    }
+    
+    private static UpdateResult updateItem(Connection conn, PreparedStatement pstmt, Item item) throws SQLException {
+        pstmt.setString(1, item.getName());
+        pstmt.setString(2, item.getDescription());
+        pstmt.setInt(3, item.getQuantity());
+        pstmt.setDouble(4, item.getPrice());
+        pstmt.setString(5, item.getCategory());
+        setNullableInt(pstmt, 6, item.getReorderPoint());
+        pstmt.setTimestamp(7, Timestamp.valueOf(LocalDateTime.now()));
+        pstmt.setString(8, item.getCategory());
+        pstmt.setInt(9, item.getId());
+        pstmt.setInt(10, item.getVersion());
+        
+        if (pstmt.executeUpdate() > 0) {
+            return UpdateResult.UPDATED;
+        }
+        // Nothing matched: either the row is gone or its version has moved on
+        try (PreparedStatement exists = conn.prepareStatement("SELECT 1 FROM items WHERE id = ?")) {
+            exists.setInt(1, item.getId());
+            try (ResultSet rs = exists.executeQuery()) {
+                return rs.next() ? UpdateResult.CONFLICT : UpdateResult.NOT_FOUND;
+            }
+        }
+    }
+    
+    @Override
+    public boolean updateQuantity(int id, int newQuantity) {
+        try (Connection conn = DatabaseConnection.getWriteConnection();
+             PreparedStatement pstmt = conn.prepareStatement(UPDATE_QUANTITY)) {
+            return updateQuantity(pstmt, id, newQuantity);
         } catch (SQLException e) {
             e.printStackTrace();
             return false;
         }
     }
     
+    private static boolean updateQuantity(PreparedStatement pstmt, int id, int newQuantity) throws SQLException {
+        pstmt.setInt(1, newQuantity);
+        pstmt.setTimestamp(2, Timestamp.valueOf(LocalDateTime.now()));
+        pstmt.setInt(3, id);
+        return pstmt.executeUpdate() > 0;
+    }
+    
+    @Override
+    public boolean adjustQuantity(int id, int delta, String reason, String source) {
+        return adjustQuantities(List.of(new StockAdjustment(id, delta, reason, source))).isSuccess(0);
+    }
+    
+    @Override
+    public BatchResult adjustQuantities(List<StockAdjustment> adjustments) {
+        int[] keys = new int[adjustments.size()];
+        int[] counts = new int[adjustments.size()];
+        
+        try (Connection conn = DatabaseConnection.getWriteConnection()) {
+            Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+            
+            conn.setAutoCommit(false);
+            try (PreparedStatement update = conn.prepareStatement(ADJUST_SQL);
+                 PreparedStatement movement = conn.prepareStatement(MOVEMENT_SQL)) {
+                
+                for (int i = 0; i < adjustments.size(); i++) {
+                    keys[i] = adjustments.get(i).itemId();
+                    counts[i] = adjust(update, movement, adjustments.get(i), now);
+                }
+                
+                conn.commit();
+            } catch (Throwable e) {
+                // Errors too: restoring auto-commit below would otherwise commit the partial work
+                conn.rollback();
+                throw e;
+            } finally {
+                conn.setAutoCommit(true);
+            }
+        } catch (SQLException e) {
+            e.printStackTrace();
+            Arrays.fill(counts, BatchResult.FAILED);
+        }
+        return new BatchResult(keys, counts);
+    }
+    
+    // The database does the arithmetic, so concurrent adjustments cannot overwrite each other.
+    // Each update is followed by its ledger row so quantity_after is exact even for repeated ids.
+    private static final String MOVEMENT_SQL = "INSERT INTO stock_movements (item_id, delta, quantity_after, reason, source, created_at) "
+                                             + "SELECT id, ?, quantity, ?, ?, ? FROM items WHERE id = ?";
+    
+    private static final String ADJUST_SQL = "UPDATE items SET quantity = MAX(0, quantity + ?), last_updated = ?, version = version + 1 WHERE id = ?";
+    
+    // The update count of the item row; no ledger row is written for an unknown item
+    private static int adjust(PreparedStatement update, PreparedStatement movement, StockAdjustment adjustment,
+                              Timestamp now) throws SQLException {
+        update.setInt(1, adjustment.delta());
+        update.setTimestamp(2, now);
+        update.setInt(3, adjustment.itemId());
+        int count = update.executeUpdate();
+        if (count == 0) {
+            return 0;
+        }
+        
+        movement.setInt(1, adjustment.delta());
+        movement.setString(2, adjustment.reason());
+        movement.setString(3, adjustment.source());
+        movement.setTimestamp(4, now);
+        movement.setInt(5, adjustment.itemId());
+        movement.executeUpdate();
+        return count;
+    }
+    
+    @Override
+    public void inWriteTransaction(ItemWriter.Transaction work) throws SQLException {
+        TransactionWriter writer;
+        try (Connection conn = DatabaseConnection.getWriteConnection()) {
+            writer = new TransactionWriter(conn);
+            conn.setAutoCommit(false);
+            try {
+                work.run(writer);
+                writer.closeStatements();
+                conn.commit();
+            } catch (Throwable e) {
+                // Errors too: restoring auto-commit below would otherwise commit the partial work
+                writer.closeStatements();
+                conn.rollback();
+                throw e;
+            } finally {
+                conn.setAutoCommit(true);
+            }
+        }
+        if (writer.registeredCategories) {
+            categoryDictionary.refresh();
+        }
+    }
+    
+    // Categories are inserted on the transaction's own connection, as a second write connection
+    // would wait on this one; the dictionary is refreshed once the transaction has committed.
+    // Statements are prepared once per transaction and reused by every write in it.
+    private class TransactionWriter implements ItemWriter {
+        private final Connection conn;
+        private final Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        private final Map<String, PreparedStatement> statements = new HashMap<>();
+        private boolean registeredCategories;
+        
+        TransactionWriter(Connection conn) {
+            this.conn = conn;
+        }
+        
+        @Override
+        public int addItem(Item item) throws SQLException {
+            return inSavepoint(() -> {
+                registerCategory(item.getCategory());
+                return insertItem(prepare(INSERT_ITEM), item);
+            });
+        }
+        
+        @Override
+        public UpdateResult updateItem(Item item) throws SQLException {
+            return inSavepoint(() -> {
+                registerCategory(item.getCategory());
+                return ItemDAOImpl.updateItem(conn, prepare(UPDATE_ITEM), item);
+            });
+        }
+        
+        @Override
+        public boolean deleteItem(int id) throws SQLException {
+            return inSavepoint(() -> ItemDAOImpl.deleteItem(prepare(DELETE_ITEM), id));
+        }
+        
+        @Override
+        public boolean updateQuantity(int id, int newQuantity) throws SQLException {
+            return inSavepoint(() -> ItemDAOImpl.updateQuantity(prepare(UPDATE_QUANTITY), id, newQuantity));
+        }
+        
+        @Override
+        public boolean adjustQuantity(int id, int delta, String reason, String source) throws SQLException {
+            return inSavepoint(() -> adjust(prepare(ADJUST_SQL), prepare(MOVEMENT_SQL),
+                                            new StockAdjustment(id, delta, reason, source), now) > 0);
+        }
+        
+        private PreparedStatement prepare(String sql) throws SQLException {
+            PreparedStatement pstmt = statements.get(sql);
+            if (pstmt == null) {
+                pstmt = sql.equals(INSERT_ITEM)
+                    ? conn.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)
+                    : conn.prepareStatement(sql);
+                statements.put(sql, pstmt);
+            }
+            return pstmt;
+        }
+        
+        void closeStatements() throws SQLException {
+            for (PreparedStatement pstmt : statements.values()) {
+                pstmt.close();
+            }
+            statements.clear();
+        }
+        
+        private void registerCategory(String name) throws SQLException {
+            if (registerCategories(conn, Collections.singletonList(name))) {
+                registeredCategories = true;
+            }
+        }
+        
+        private <T> T inSavepoint(SqlCall<T> call) throws SQLException {
+            Savepoint savepoint = conn.setSavepoint();
+            T result;
+            try {
+                result = call.run();
+            } catch (Throwable e) {
+                conn.rollback(savepoint);
+                throw e;
+            }
+            conn.releaseSavepoint(savepoint);
+            return result;
+        }
+    }
+    
+    @FunctionalInterface
+    private interface SqlCall<T> {
+        T run() throws SQLException;
+    }
+    
     @Override
     public boolean deleteItem(int id) {
+        try (Connection conn = DatabaseConnection.getWriteConnection();
+             PreparedStatement pstmt = conn.prepareStatement(DELETE_ITEM)) {
+            return deleteItem(pstmt, id);
+        } catch (SQLException e) {
+            e.printStackTrace();
+            return false;
+        }
+    }
+    
+    private static boolean deleteItem(PreparedStatement pstmt, int id) throws SQLException {
+        pstmt.setInt(1, id);
+        return pstmt.executeUpdate() > 0;
+    }
+    
+    @Override
+    public BatchResult addItems(List<Item> items) {
+        List<String> names = new ArrayList<>(items.size());
+        for (Item item : items) {
+            names.add(item.getCategory());
+        }
+        boolean newCategories = !missingCategories(names).isEmpty();
+        
+        // Each chunk registers its categories in its own transaction, ahead of its items
+        BatchResult result = executeInChunks(INSERT_ITEM, items.size(), true, (pstmt, i) -> bindInsert(pstmt, items.get(i)), null,
+                                             (conn, start, end) -> registerCategories(conn, names.subList(start, end)));
+        if (newCategories) {
+            categoryDictionary.refresh();
+        }
+        
+        for (int i = 0; i < result.size(); i++) {
+            if (result.isSuccess(i)) {
+                items.get(i).setId(result.getKey(i));
+            }
+        }
+        return result;
+    }
+    
+    @Override
+    public BatchResult updateQuantities(Map<Integer, Integer> quantities) {
+        String sql = "UPDATE items SET quantity = ?, last_updated = ?, version = version + 1 WHERE id = ?";
+        
+        int[] ids = new int[quantities.size()];
+        int[] newQuantities = new int[quantities.size()];
+        int index = 0;
+        for (Map.Entry<Integer, Integer> entry : quantities.entrySet()) {
+            ids[index] = entry.getKey();
+            newQuantities[index] = entry.getValue();
+            index++;
+        }
+        
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        return executeInChunks(sql, ids.length, false, (pstmt, i) -> {
+            pstmt.setInt(1, newQuantities[i]);
+            pstmt.setTimestamp(2, now);
+            pstmt.setInt(3, ids[i]);
+        }, ids, null);
+    }
+    
+    @Override
+    public BatchResult deleteItems(int[] ids) {
         String sql = "DELETE FROM items WHERE id = ?";
         
-        try (Connection conn = DatabaseConnection.getConnection();
-             PreparedStatement pstmt = conn.prepareStatement(sql)) {
+        return executeInChunks(sql, ids.length, false, (pstmt, i) -> pstmt.setInt(1, ids[i]), ids.clone(), null);
+    }
+    
+    @FunctionalInterface
+    private interface RowBinder {
+        void bind(PreparedStatement pstmt, int row) throws SQLException;
+    }
+    
+    @FunctionalInterface
+    private interface ChunkSetup {
+        void prepare(Connection conn, int start, int end) throws SQLException;
+    }
+    
+    // Runs one JDBC batch per chunk of batchSize rows, each chunk in its own transaction.
+    // A failed chunk is rolled back and retried row by row, so only the rows that fail on their own
+    // (a duplicate name, say) are reported as EXECUTE_FAILED; later chunks still run.
+    // setup, when given, runs first in each chunk's transaction.
+    private BatchResult executeInChunks(String sql, int rowCount, boolean returnKeys, RowBinder binder, int[] keys,
+                                        ChunkSetup setup) {
+        if (rowCount == 0) {
+            return BatchResult.empty();
+        }
+        int[] resultKeys = keys != null ? keys : new int[rowCount];
+        int[] updateCounts = new int[rowCount];
+        Arrays.fill(updateCounts, Statement.EXECUTE_FAILED);
+        
+        try (Connection conn = DatabaseConnection.getWriteConnection();
+             PreparedStatement pstmt = returnKeys
+                 ? conn.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)
+                 : conn.prepareStatement(sql)) {
             
-            pstmt.setInt(1, id);
-            return pstmt.executeUpdate() > 0;
+            conn.setAutoCommit(false);
+            for (int start = 0; start < rowCount; start += batchSize) {
+                int end = Math.min(start + batchSize, rowCount);
+                try {
+                    if (setup != null) {
+                        setup.prepare(conn, start, end);
+                    }
+                    for (int row = start; row < end; row++) {
+                        binder.bind(pstmt, row);
+                        pstmt.addBatch();
+                    }
+                    int[] counts = pstmt.executeBatch();
+                    if (returnKeys) {
+                        readGeneratedKeys(pstmt, resultKeys, start, end);
+                    }
+                    conn.commit();
+                    System.arraycopy(counts, 0, updateCounts, start, counts.length);
+                } catch (SQLException e) {
+                    conn.rollback();
+                    pstmt.clearBatch();
+                    retryRows(conn, pstmt, returnKeys, binder, setup, start, end, resultKeys, updateCounts);
+                }
+                if (keys == null) {
+                    for (int row = start; row < end; row++) {
+                        if (updateCounts[row] == Statement.EXECUTE_FAILED) {
+                            resultKeys[row] = 0;
+                        }
+                    }
+                }
+            }
+            conn.setAutoCommit(true);
         } catch (SQLException e) {
             e.printStackTrace();
-            return false;
+        }
+        return new BatchResult(resultKeys, updateCounts);
+    }
+    
+    // One transaction with a savepoint per row; a row that fails is rolled back to its savepoint
+    // and the rest are committed together. Counts are only copied out once the commit succeeds.
+    private void retryRows(Connection conn, PreparedStatement pstmt, boolean returnKeys, RowBinder binder,
+                           ChunkSetup setup, int start, int end, int[] keys, int[] updateCounts) throws SQLException {
+        int[] counts = new int[end - start];
+        try {
+            if (setup != null) {
+                setup.prepare(conn, start, end);
+            }
+            for (int row = start; row < end; row++) {
+                Savepoint savepoint = conn.setSavepoint();
+                try {
+                    binder.bind(pstmt, row);
+                    counts[row - start] = pstmt.executeUpdate();
+                    if (returnKeys) {
+                        readGeneratedKeys(pstmt, keys, row, row + 1);
+                    }
+                    conn.releaseSavepoint(savepoint);
+                } catch (SQLException e) {
+                    conn.rollback(savepoint);
+                    counts[row - start] = Statement.EXECUTE_FAILED;
+                }
+            }
+            conn.commit();
+            System.arraycopy(counts, 0, updateCounts, start, counts.length);
+        } catch (SQLException e) {
+            e.printStackTrace();
+            conn.rollback();
+        }
+    }
+    
+    private void readGeneratedKeys(PreparedStatement pstmt, int[] keys, int start, int end) throws SQLException {
+        int row = start;
+        try (ResultSet rs = pstmt.getGeneratedKeys()) {
+            while (rs.next() && row < end) {
+                keys[row++] = rs.getInt(1);
+            }
+        }
+        // The SQLite driver only reports the last rowid of a batch. Rows of one chunk are
+        // inserted back to back on the single writer connection, so their ids are consecutive.
+        if (row == start + 1 && end - start > 1) {
+            int last = keys[start];
+            for (int i = end - 1; i >= start; i--) {
+                keys[i] = last - (end - 1 - i);
+            }
         }
     }
     
     @Override
     public int getTotalItems() {
-        String sql = "SELECT COUNT(*) FROM items";
+        String sql = "SELECT item_count FROM inventory_totals WHERE id = 1";
         
-        try (Connection conn = DatabaseConnection.getConnection();
+        try (Connection conn = DatabaseConnection.getReadConnection();
              Statement stmt = conn.createStatement();
              ResultSet rs = stmt.executeQuery(sql)) {
             
@@ -184,9 +867,9 @@ public class ItemDAOImpl implements ItemDAO {
     
     @Override
     public double getTotalInventoryValue() {
-        String sql = "SELECT SUM(quantity * price) FROM items";
+        String sql = "SELECT total_value FROM inventory_totals WHERE id = 1";
         
-        try (Connection conn = DatabaseConnection.getConnection();
+        try (Connection conn = DatabaseConnection.getReadConnection();
              Statement stmt = conn.createStatement();
              ResultSet rs = stmt.executeQuery(sql)) {
             
@@ -199,17 +882,59 @@ public class ItemDAOImpl implements ItemDAO {
         return 0.0;
     }
     
+    @Override
+    public List<ItemSummary> getLowStockItems(int threshold) {
+        List<ItemSummary> items = new ArrayList<>();
+        String sql = "SELECT " + SUMMARY_COLUMNS + " FROM items WHERE " + LOW_STOCK_DEFAULT
+                   + " UNION ALL SELECT " + SUMMARY_COLUMNS + " FROM items WHERE " + LOW_STOCK_OWN
+                   + " ORDER BY quantity, name";
+        
+        try (Connection conn = DatabaseConnection.getReadConnection();
+             PreparedStatement pstmt = conn.prepareStatement(sql)) {
+            
+            pstmt.setInt(1, threshold);
+            ResultSet rs = pstmt.executeQuery();
+            
+            while (rs.next()) {
+                items.add(mapResultSetToSummary(rs));
+            }
+        } catch (SQLException e) {
+            e.printStackTrace();
+        }
+        return items;
+    }
+    
+    @Override
+    public int countLowStock(int threshold) {
+        String sql = "SELECT (SELECT COUNT(*) FROM items WHERE " + LOW_STOCK_DEFAULT + ")"
+                   + " + (SELECT COUNT(*) FROM items WHERE " + LOW_STOCK_OWN + ")";
+        
+        try (Connection conn = DatabaseConnection.getReadConnection();
+             PreparedStatement pstmt = conn.prepareStatement(sql)) {
+            
+            pstmt.setInt(1, threshold);
+            ResultSet rs = pstmt.executeQuery();
+            
+            if (rs.next()) {
+                return rs.getInt(1);
+            }
+        } catch (SQLException e) {
+            e.printStackTrace();
+        }
+        return 0;
+    }
+    
     @Override
     public List<String> getAllCategories() {
         List<String> categories = new ArrayList<>();
-        String sql = "SELECT DISTINCT category FROM items ORDER BY category";
+        String sql = "SELECT category FROM category_totals ORDER BY category";
         
-        try (Connection conn = DatabaseConnection.getConnection();
+        try (Connection conn = DatabaseConnection.getReadConnection();
              Statement stmt = conn.createStatement();
              ResultSet rs = stmt.executeQuery(sql)) {
             
             while (rs.next()) {
-                categories.add(rs.getString("category"));
+                categories.add(categoryDictionary.intern(rs.getString("category")));
             }
         } catch (SQLException e) {
             e.printStackTrace();
@@ -217,26 +942,223 @@ public class ItemDAOImpl implements ItemDAO {
         return categories;
     }
     
+    @Override
+    public CategoryDictionary getCategoryDictionary() {
+        return categoryDictionary;
+    }
+    
+    // Adds the names the categories table does not have yet, in the transaction that writes the
+    // items referring to them, so an item is never stored without its category_id. Callers refresh
+    // the dictionary once the transaction has committed.
+    private boolean registerCategories(Connection conn, Collection<String> names) throws SQLException {
+        Set<String> missing = missingCategories(names);
+        if (missing.isEmpty()) {
+            return false;
+        }
+        insertCategories(conn, missing);
+        return true;
+    }
+    
+    private Set<String> missingCategories(Collection<String> names) {
+        Set<String> missing = new LinkedHashSet<>();
+        for (String name : names) {
+            if (name != null && !categoryDictionary.contains(name)) {
+                missing.add(name);
+            }
+        }
+        return missing;
+    }
+    
+    private static void insertCategories(Connection conn, Collection<String> names) throws SQLException {
+        try (PreparedStatement pstmt = conn.prepareStatement("INSERT INTO categories (name) VALUES (?) ON CONFLICT (name) DO NOTHING")) {
+            for (String name : names) {
+                pstmt.setString(1, name);
+                pstmt.addBatch();
+            }
+            pstmt.executeBatch();
+        }
+    }
+    
+    private Map<Integer, String> loadCategories() {
+        Map<Integer, String> rows = new HashMap<>();
+        try (Connection conn = DatabaseConnection.getReadConnection();
+             Statement stmt = conn.createStatement();
+             ResultSet rs = stmt.executeQuery("SELECT id, name FROM categories")) {
+            
+            while (rs.next()) {
+                rows.put(rs.getInt(1), rs.getString(2));
+            }
+        } catch (SQLException e) {
+            e.printStackTrace();
+            return null;
+        }
+        return rows;
+    }
+    
+    // One shared String per category, and the text column is not read for rows the dictionary knows
+    private String categoryOf(ResultSet rs, int idColumn, int nameColumn) throws SQLException {
+        String name = categoryDictionary.nameOf(rs.getInt(idColumn));
+        return name != null ? name : rs.getString(nameColumn);
+    }
+    
     private Item mapResultSetToItem(ResultSet rs) throws SQLException {
-        Item item = new Item();
-        item.setId(rs.getInt("id"));
-        item.setName(rs.getString("name"));
-        item.setDescription(rs.getString("description"));
-        item.setQuantity(rs.getInt("quantity"));
-        item.setPrice(rs.getDouble("price"));
-        item.setCategory(rs.getString("category"));
-        
         // Handle timestamps safely
         Timestamp createdTs = rs.getTimestamp("created_date");
-        if (createdTs != null) {
-            item.setCreatedDate(createdTs.toLocalDateTime());
+        Timestamp updatedTs = rs.getTimestamp("last_updated");
+        
+        // The all-fields constructor, since every setter would read the clock
+        return new Item(
+            rs.getInt("id"),
+            rs.getString("name"),
+            rs.getString("description"),
+            rs.getInt("quantity"),
+            rs.getDouble("price"),
+            categoryOf(rs, rs.findColumn("category_id"), rs.findColumn("category")),
+            getNullableInt(rs, "reorder_point"),
+            createdTs != null ? createdTs.toLocalDateTime() : null,
+            updatedTs != null ? updatedTs.toLocalDateTime() : null,
+            rs.getInt("version"));
+    }
+    
+    // Reads ITEM_COLUMNS by position, which skips the per-row lookup of column names
+    private ItemRecord mapResultSetToRecord(ResultSet rs) throws SQLException {
+        int reorderPoint = rs.getInt(7);
+        boolean noReorderPoint = rs.wasNull();
+        Timestamp createdTs = rs.getTimestamp(8);
+        Timestamp updatedTs = rs.getTimestamp(9);
+        return new ItemRecord(
+            rs.getInt(1),
+            rs.getString(2),
+            rs.getString(3),
+            rs.getInt(4),
+            ItemRecord.toCents(rs.getDouble(5)),
+            categoryOf(rs, 11, 6),
+            noReorderPoint ? null : reorderPoint,
+            createdTs != null ? createdTs.getTime() : 0,
+            updatedTs != null ? updatedTs.getTime() : 0,
+            rs.getInt(10));
+    }
+    
+    @Override
+    public boolean existsByName(String name) {
+        // Served by the unique NOCASE index on name
+        String sql = "SELECT 1 FROM items WHERE name = ? COLLATE NOCASE LIMIT 1";
+        
+        try (Connection conn = DatabaseConnection.getReadConnection();
+             PreparedStatement pstmt = conn.prepareStatement(sql)) {
+            
+            pstmt.setString(1, name);
+            ResultSet rs = pstmt.executeQuery();
+            return rs.next();
+        } catch (SQLException e) {
+            e.printStackTrace();
+            return false;
         }
+    }
+    
+    @Override
+    public void forEachName(Consumer<String> action) {
+        String sql = "SELECT name FROM items";
         
-        Timestamp updatedTs = rs.getTimestamp("last_updated");
-        if (updatedTs != null) {
-            item.setLastUpdated(updatedTs.toLocalDateTime());
+        try (Connection conn = DatabaseConnection.getReadConnection();
+             Statement stmt = conn.createStatement()) {
+            
+            stmt.setFetchSize(STREAM_FETCH_SIZE);
+            try (ResultSet rs = stmt.executeQuery(sql)) {
+                while (rs.next()) {
+                    action.accept(rs.getString(1));
+                }
+            }
+        } catch (SQLException e) {
+            e.printStackTrace();
+        }
+    }
+    
+    @Override
+    public List<CategoryStats> getCategoryStats() {
+        List<CategoryStats> stats = new ArrayList<>();
+        // Grouped on the integer key, which the covering index serves; names are attached afterwards
+        String sql = "SELECT category_id, COUNT(*), SUM(quantity), SUM(quantity * price), MIN(price), MAX(price), AVG(price) "
+                   + "FROM items GROUP BY category_id";
+        
+        try (Connection conn = DatabaseConnection.getReadConnection();
+             Statement stmt = conn.createStatement();
+             ResultSet rs = stmt.executeQuery(sql)) {
+            
+            while (rs.next()) {
+                stats.add(new CategoryStats(
+                    categoryDictionary.nameOf(rs.getInt(1)),
+                    rs.getInt(2),
+                    rs.getLong(3),
+                    rs.getDouble(4),
+                    rs.getDouble(5),
+                    rs.getDouble(6),
+                    rs.getDouble(7)));
+            }
+        } catch (SQLException e) {
+            e.printStackTrace();
+        }
+        stats.sort(Comparator.comparing(CategoryStats::category, Comparator.nullsLast(Comparator.naturalOrder())));
+        return stats;
+    }
+    
+    @Override
+    public InventoryTotals getInventoryTotals() {
+        String sql = "SELECT item_count, total_quantity, total_value FROM inventory_totals WHERE id = 1";
+        
+        try (Connection conn = DatabaseConnection.getReadConnection();
+             Statement stmt = conn.createStatement();
+             ResultSet rs = stmt.executeQuery(sql)) {
+            
+            if (rs.next()) {
+                return new InventoryTotals(null, rs.getInt(1), rs.getLong(2), rs.getDouble(3));
+            }
+        } catch (SQLException e) {
+            e.printStackTrace();
         }
+        return new InventoryTotals(null, 0, 0, 0.0);
+    }
+    
+    @Override
+    public List<InventoryTotals> getCategoryTotals() {
+        List<InventoryTotals> totals = new ArrayList<>();
+        String sql = "SELECT category, item_count, total_quantity, total_value FROM category_totals ORDER BY category";
         
-        return item;
+        try (Connection conn = DatabaseConnection.getReadConnection();
+             Statement stmt = conn.createStatement();
+             ResultSet rs = stmt.executeQuery(sql)) {
+            
+            while (rs.next()) {
+                totals.add(new InventoryTotals(rs.getString(1), rs.getInt(2), rs.getLong(3), rs.getDouble(4)));
+            }
+        } catch (SQLException e) {
+            e.printStackTrace();
+        }
+        return totals;
+    }
+    
+    private ItemSummary mapResultSetToSummary(ResultSet rs) throws SQLException {
+        Timestamp updatedTs = rs.getTimestamp("last_updated");
+        return new ItemSummary(
+            rs.getInt("id"),
+            rs.getString("name"),
+            rs.getInt("quantity"),
+            rs.getDouble("price"),
+            categoryOf(rs, rs.findColumn("category_id"), rs.findColumn("category")),
+            getNullableInt(rs, "reorder_point"),
+            updatedTs != null ? updatedTs.toLocalDateTime() : null);
+    }
+    
+    private static void setNullableInt(PreparedStatement pstmt, int index, Integer value) throws SQLException {
+        if (value == null) {
+            pstmt.setNull(index, Types.INTEGER);
+        } else {
+            pstmt.setInt(index, value);
+        }
+    }
+    
+    private static Integer getNullableInt(ResultSet rs, String column) throws SQLException {
+        int value = rs.getInt(column);
+        return rs.wasNull() ? null : value;
     }
 }
\ No newline at end of file
@@ -0,0 +1,32 @@
+package com.inventory.dao;
+
+import com.inventory.model.Item;
+import java.sql.SQLException;
+
+/**
+ * Single-item writes inside a transaction opened by ItemDAO.inWriteTransaction. Each call
+ * runs under its own savepoint: one that throws has been undone, and the transaction can
+ * carry on with the next write. Nothing is visible to readers until the transaction commits.
+ */
+public interface ItemWriter {
+    
+    @FunctionalInterface
+    interface Transaction {
+        void run(ItemWriter writer) throws SQLException;
+    }
+    
+    // The generated id, or 0 if nothing was inserted. The item itself is left as it is until the
+    // caller knows the transaction committed.
+    int addItem(Item item) throws SQLException;
+    
+    // Compare-and-set on the item's version; when UPDATED the row's version is the item's plus one.
+    // The item's version is not bumped here, for the same reason.
+    UpdateResult updateItem(Item item) throws SQLException;
+    
+    boolean deleteItem(int id) throws SQLException;
+    
+    boolean updateQuantity(int id, int newQuantity) throws SQLException;
+    
+    // Adds delta, clamped at zero, and records it in stock_movements
+    boolean adjustQuantity(int id, int delta, String reason, String source) throws SQLException;
+}
\ No newline at end of file
@@ -0,0 +1,26 @@
+package com.inventory.dao;
+
+import java.util.List;
+
+/**
+ * One page of a keyset-paginated read. Pass getNextPageToken() back to fetch the
+ * following page; it is null on the last page.
+ */
+public class Page<T> {
+    private final List<T> items;
+    private final String nextPageToken;
+    private final long estimatedTotal;
+    
+    public Page(List<T> items, String nextPageToken, long estimatedTotal) {
+        this.items = items;
+        this.nextPageToken = nextPageToken;
+        this.estimatedTotal = estimatedTotal;
+    }
+    
+    public List<T> getItems() { return items; }
+    public String getNextPageToken() { return nextPageToken; }
+    public boolean hasNextPage() { return nextPageToken != null; }
+    
+    // Counted when the first page is read and carried in the token afterwards
+    public long getEstimatedTotal() { return estimatedTotal; }
+}
\ No newline at end of file
@@ -0,0 +1,28 @@
+package com.inventory.dao;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+// Opaque continuation token: the (name, id) of the last row served plus the total estimate.
+// Public so that pages served from memory hand out the same tokens as the database.
+public record PageToken(String lastName, int lastId, long estimatedTotal) {
+    private static final char SEPARATOR = '\u0000';
+    
+    public String encode() {
+        String raw = estimatedTotal + String.valueOf(SEPARATOR) + lastId + SEPARATOR + lastName;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+    
+    public static PageToken decode(String token) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            int first = raw.indexOf(SEPARATOR);
+            int second = raw.indexOf(SEPARATOR, first + 1);
+            return new PageToken(raw.substring(second + 1),
+                Integer.parseInt(raw.substring(first + 1, second)),
+                Long.parseLong(raw.substring(0, first)));
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("Invalid page token", e);
+        }
+    }
+}
\ No newline at end of file
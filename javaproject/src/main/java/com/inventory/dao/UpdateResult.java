@@ -0,0 +1,12 @@
+package com.inventory.dao;
+
+/**
+ * Outcome of a versioned update. CONFLICT means the row was changed by someone
+ * else after it was read; reload it and apply the edit again.
+ */
+public enum UpdateResult {
+    UPDATED,
+    CONFLICT,
+    NOT_FOUND,
+    FAILED
+}
\ No newline at end of file
@@ -3,49 +3,122 @@ package com.inventory.database;
 import java.sql.Connection;
 import java.sql.DriverManager;
 import java.sql.SQLException;
-import java.sql.Statement;
+import java.util.Properties;
+import org.sqlite.SQLiteConfig;
 
 public class DatabaseConnection {
-    private static final String DB_URL = "jdbc:sqlite:inventory.db";
-    private static Connection connection = null;
+    private static final String DEFAULT_DB_URL = "jdbc:sqlite:inventory.db";
+    
+    // Pool settings, overridable with -Dinventory.pool.* system properties
+    private static final int READER_POOL_SIZE = Integer.getInteger("inventory.pool.readers", 4);
+    private static final int POOL_MIN_IDLE = Integer.getInteger("inventory.pool.minIdle", 1);
+    private static final long POOL_MAX_WAIT_MS = Long.getLong("inventory.pool.maxWaitMs", 10_000L);
+    private static final long POOL_IDLE_TIMEOUT_MS = Long.getLong("inventory.pool.idleTimeoutMs", 300_000L);
+    private static final long POOL_VALIDATION_INTERVAL_MS = Long.getLong("inventory.pool.validationIntervalMs", 30_000L);
+    private static final long POOL_LEAK_THRESHOLD_MS = Long.getLong("inventory.pool.leakThresholdMs", 60_000L);
+    
+    // SQLite tuning, overridable with -Dinventory.sqlite.* system properties
+    private static final String JOURNAL_MODE = System.getProperty("inventory.sqlite.journalMode", "WAL");
+    private static final String SYNCHRONOUS = System.getProperty("inventory.sqlite.synchronous", "NORMAL");
+    private static final int CACHE_SIZE_KB = Integer.getInteger("inventory.sqlite.cacheSizeKb", 16_384);
+    private static final long MMAP_SIZE = Long.getLong("inventory.sqlite.mmapSize", 256L * 1024 * 1024);
+    private static final int BUSY_TIMEOUT_MS = Integer.getInteger("inventory.sqlite.busyTimeoutMs", 5_000);
+    
+    // One writer connection (SQLite allows a single writer) and a pool of read-only readers.
+    // Published together, so a borrow reads the holder once and never sees half of a pair.
+    private record Pools(ConnectionPool writer, ConnectionPool reader) {
+    }
+    
+    private static volatile Pools pools;
     
     public static Connection getConnection() throws SQLException {
+        return getWriteConnection();
+    }
+    
+    public static Connection getWriteConnection() throws SQLException {
+        return pools().writer().borrow();
+    }
+    
+    public static Connection getReadConnection() throws SQLException {
+        return pools().reader().borrow();
+    }
+    
+    // Only the first borrow takes the class lock; a borrow racing closeConnection() gets the
+    // pool's "closed" SQLException rather than a null
+    private static Pools pools() throws SQLException {
+        Pools current = pools;
+        if (current != null) {
+            return current;
+        }
+        synchronized (DatabaseConnection.class) {
+            if (pools == null) {
+                pools = initialize();
+            }
+            return pools;
+        }
+    }
+    
+    private static Pools initialize() throws SQLException {
         try {
             Class.forName("org.sqlite.JDBC");
-            Connection conn = DriverManager.getConnection(DB_URL);
-            createTablesIfNotExists(conn);
-            return conn;
         } catch (ClassNotFoundException e) {
             throw new SQLException("SQLite JDBC driver not found", e);
         }
+        
+        String url = getDatabaseUrl();
+        Properties writerConfig = sqliteConfig(false);
+        Properties readerConfig = sqliteConfig(true);
+        
+        // Schema migrations run once here; borrowed connections never touch DDL.
+        // Opening with the writer config also switches the database file to WAL.
+        try (Connection conn = DriverManager.getConnection(url, writerConfig)) {
+            new SchemaMigrator().migrate(conn);
+        }
+        
+        ConnectionPool writerPool = new ConnectionPool("sqlite-writer", () -> DriverManager.getConnection(url, writerConfig),
+            1, 1, POOL_MAX_WAIT_MS, POOL_IDLE_TIMEOUT_MS,
+            POOL_VALIDATION_INTERVAL_MS, POOL_LEAK_THRESHOLD_MS);
+        ConnectionPool readerPool = new ConnectionPool("sqlite-reader", () -> DriverManager.getConnection(url, readerConfig),
+            READER_POOL_SIZE, POOL_MIN_IDLE, POOL_MAX_WAIT_MS, POOL_IDLE_TIMEOUT_MS,
+            POOL_VALIDATION_INTERVAL_MS, POOL_LEAK_THRESHOLD_MS);
+        return new Pools(writerPool, readerPool);
     }
     
-    private static void createTablesIfNotExists(Connection conn) throws SQLException {
-        String createItemsTable = """
-            CREATE TABLE IF NOT EXISTS items (
-                id INTEGER PRIMARY KEY AUTOINCREMENT,
-                name TEXT NOT NULL,
-                description TEXT,
-                quantity INTEGER NOT NULL DEFAULT 0,
-                price REAL NOT NULL DEFAULT 0.0,
-                category TEXT NOT NULL,
-                created_date TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
-                last_updated TIMESTAMP DEFAULT CURRENT_TIMESTAMP
-            )
-        """;
-        
-        try (Statement stmt = conn.createStatement()) {
-            stmt.execute(createItemsTable);
+    private static Properties sqliteConfig(boolean readOnly) {
+        SQLiteConfig config = new SQLiteConfig();
+        if (readOnly) {
+            config.setReadOnly(true);
+        } else {
+            config.setJournalMode(SQLiteConfig.JournalMode.valueOf(JOURNAL_MODE.toUpperCase()));
         }
+        config.setSynchronous(SQLiteConfig.SynchronousMode.valueOf(SYNCHRONOUS.toUpperCase()));
+        config.setCacheSize(-CACHE_SIZE_KB);
+        config.setTempStore(SQLiteConfig.TempStore.MEMORY);
+        config.setPragma(SQLiteConfig.Pragma.MMAP_SIZE, String.valueOf(MMAP_SIZE));
+        config.setBusyTimeout(BUSY_TIMEOUT_MS);
+        return config.toProperties();
     }
     
-    public static void closeConnection() {
-        try {
-            if (connection != null && !connection.isClosed()) {
-                connection.close();
-            }
-        } catch (SQLException e) {
-            e.printStackTrace();
+    public static String getDatabaseUrl() {
+        return System.getProperty("inventory.db.url", DEFAULT_DB_URL);
+    }
+    
+    public static ConnectionPool.PoolStats getWriterPoolStats() {
+        Pools current = pools;
+        return current == null ? null : current.writer().getStats();
+    }
+    
+    public static ConnectionPool.PoolStats getReaderPoolStats() {
+        Pools current = pools;
+        return current == null ? null : current.reader().getStats();
+    }
+    
+    public static synchronized void closeConnection() {
+        Pools current = pools;
+        if (current != null) {
+            pools = null;
+            current.writer().close();
+            current.reader().close();
         }
     }
     
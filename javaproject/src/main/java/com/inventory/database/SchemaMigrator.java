@@ -0,0 +1,179 @@
+package com.inventory.database;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Applies the versioned scripts under db/migration/sqlite/ in order and
+ * records each one in schema_version. Meant to run once at startup.
+ */
+public class SchemaMigrator {
+    private static final String MIGRATION_DIRECTORY = "/db/migration/sqlite/";
+    
+    // In version order
+    private static final String[] MIGRATIONS = {
+        "V1__create_items_table.sql",
+        "V2__add_item_indexes.sql",
+        "V3__add_category_name_index.sql",
+        "V4__add_item_search_index.sql",
+        "V5__create_stock_movements.sql",
+        "V6__add_category_stats_index.sql",
+        "V7__add_reorder_point.sql",
+        "V8__add_unique_name_index.sql",
+        "V9__create_inventory_totals.sql",
+        "V10__add_change_tracking.sql",
+        "V11__add_item_version.sql",
+        "V12__create_categories.sql"
+    };
+    
+    public static int getLatestVersion() {
+        return MIGRATIONS.length;
+    }
+    
+    public int migrate(Connection conn) throws SQLException {
+        // The JVM-wide lock covers pools sharing a database; BEGIN IMMEDIATE covers other processes
+        synchronized (SchemaMigrator.class) {
+            long start = System.currentTimeMillis();
+            createVersionTable(conn);
+            
+            int applied = 0;
+            for (int version = 1; version <= MIGRATIONS.length; version++) {
+                if (applyInTransaction(conn, version)) {
+                    applied++;
+                }
+            }
+            
+            int current = getCurrentVersion(conn);
+            if (applied > 0) {
+                System.out.printf("Schema migrated to version %d (%d migration(s) in %d ms)%n",
+                    current, applied, System.currentTimeMillis() - start);
+            }
+            return current;
+        }
+    }
+    
+    private void createVersionTable(Connection conn) throws SQLException {
+        String sql = """
+            CREATE TABLE IF NOT EXISTS schema_version (
+                version INTEGER PRIMARY KEY,
+                description VARCHAR(200) NOT NULL,
+                installed_on TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+                execution_ms BIGINT NOT NULL
+            )
+        """;
+        try (Statement stmt = conn.createStatement()) {
+            stmt.execute(sql);
+        }
+    }
+    
+    public int getCurrentVersion(Connection conn) throws SQLException {
+        try (Statement stmt = conn.createStatement();
+             ResultSet rs = stmt.executeQuery("SELECT MAX(version) FROM schema_version")) {
+            return rs.next() ? rs.getInt(1) : 0;
+        }
+    }
+    
+    // SQLite DDL is transactional, so each migration runs inside its own write-locked transaction
+    private boolean applyInTransaction(Connection conn, int version) throws SQLException {
+        try (Statement stmt = conn.createStatement()) {
+            stmt.execute("BEGIN IMMEDIATE");
+            try {
+                if (getCurrentVersion(conn) >= version) {
+                    stmt.execute("ROLLBACK");
+                    return false;
+                }
+                apply(conn, version);
+                stmt.execute("COMMIT");
+                return true;
+            } catch (SQLException | RuntimeException e) {
+                stmt.execute("ROLLBACK");
+                throw e;
+            }
+        }
+    }
+    
+    private void apply(Connection conn, int version) throws SQLException {
+        String script = MIGRATIONS[version - 1];
+        String description = describe(script);
+        long start = System.currentTimeMillis();
+        
+        try (Statement stmt = conn.createStatement()) {
+            for (String sql : loadStatements(script)) {
+                stmt.execute(sql);
+            }
+        } catch (SQLException e) {
+            throw new SQLException("Migration " + script + " failed: " + e.getMessage(), e);
+        }
+        
+        long elapsed = System.currentTimeMillis() - start;
+        try (PreparedStatement pstmt = conn.prepareStatement(
+                "INSERT INTO schema_version (version, description, execution_ms) VALUES (?, ?, ?)")) {
+            pstmt.setInt(1, version);
+            pstmt.setString(2, description);
+            pstmt.setLong(3, elapsed);
+            pstmt.executeUpdate();
+        }
+        System.out.printf("Applied migration V%d (%s) in %d ms%n", version, description, elapsed);
+    }
+    
+    private static String describe(String script) {
+        String name = script.substring(script.indexOf("__") + 2, script.lastIndexOf('.'));
+        return name.replace('_', ' ');
+    }
+    
+    private List<String> loadStatements(String script) throws SQLException {
+        String path = MIGRATION_DIRECTORY + script;
+        try (InputStream in = SchemaMigrator.class.getResourceAsStream(path)) {
+            if (in == null) {
+                throw new SQLException("Migration script not found: " + path);
+            }
+            BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8));
+            return splitStatements(reader);
+        } catch (IOException e) {
+            throw new SQLException("Could not read migration script " + path, e);
+        }
+    }
+    
+    // Splits on ';' at end of line, keeping CREATE TRIGGER ... END; bodies together
+    static List<String> splitStatements(BufferedReader reader) throws IOException {
+        List<String> statements = new ArrayList<>();
+        StringBuilder current = new StringBuilder();
+        boolean inTrigger = false;
+        
+        String line;
+        while ((line = reader.readLine()) != null) {
+            String trimmed = line.trim();
+            if (current.length() == 0 && (trimmed.isEmpty() || trimmed.startsWith("--"))) {
+                continue;
+            }
+            if (current.length() == 0 && trimmed.toUpperCase().startsWith("CREATE TRIGGER")) {
+                inTrigger = true;
+            }
+            current.append(line).append('\n');
+            
+            boolean endOfStatement = inTrigger
+                ? trimmed.equalsIgnoreCase("END;")
+                : trimmed.endsWith(";");
+            if (endOfStatement) {
+                String sql = current.toString().trim();
+                statements.add(sql.substring(0, sql.length() - 1));
+                current.setLength(0);
+                inTrigger = false;
+            }
+        }
+        if (current.toString().trim().length() > 0) {
+            statements.add(current.toString().trim());
+        }
+        return statements;
+    }
+}
\ No newline at end of file
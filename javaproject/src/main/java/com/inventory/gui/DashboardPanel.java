@@ -1,14 +1,16 @@
 package com.inventory.gui;
 
-import com.inventory.model.Item;
-import com.inventory.service.InventoryService;
+import com.inventory.model.InventoryTotals;
+import com.inventory.model.ItemSummary;
+import com.inventory.service.AsyncInventoryService;
 import javax.swing.*;
 import javax.swing.border.EmptyBorder;
 import java.awt.*;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 public class DashboardPanel extends JPanel {
-    private final InventoryService inventoryService;
+    private final AsyncInventoryService inventoryService;
     
     // Modern colors
     private static final Color PRIMARY_COLOR = new Color(41, 128, 185);
@@ -26,7 +28,7 @@ public class DashboardPanel extends JPanel {
     private JLabel categoriesLabel;
     private JPanel recentActivityPanel;
     
-    public DashboardPanel(InventoryService inventoryService) {
+    public DashboardPanel(AsyncInventoryService inventoryService) {
         this.inventoryService = inventoryService;
         initializeComponents();
         setupLayout();
@@ -202,44 +204,35 @@ public class DashboardPanel extends JPanel {
         return activityPanel;
     }
     
+    // The queries run in parallel, so a refresh takes as long as the slowest of them
     public void refreshData() {
-        SwingWorker<Void, Void> worker = new SwingWorker<Void, Void>() {
-            private int totalItems;
-            private double totalValue;
-            private int lowStockCount;
-            private int categoryCount;
-            private List<Item> recentItems;
-            
-            @Override
-            protected Void doInBackground() throws Exception {
-                totalItems = inventoryService.getTotalItemCount();
-                totalValue = inventoryService.getTotalInventoryValue();
-                lowStockCount = inventoryService.getLowStockItems(5).size();
-                categoryCount = inventoryService.getCategories().size();
-                recentItems = inventoryService.getAllItems();
-                return null;
-            }
-            
-            @Override
-            protected void done() {
+        // One read of the summary row keeps count and value consistent with each other
+        CompletableFuture<InventoryTotals> totals = inventoryService.getInventoryTotals();
+        CompletableFuture<Integer> lowStockCount = inventoryService.countLowStock(5);
+        CompletableFuture<List<InventoryTotals>> categoryTotals = inventoryService.getCategoryTotals();
+        CompletableFuture<List<ItemSummary>> recentItems = inventoryService.getRecentlyUpdated(5);
+        
+        CompletableFuture.allOf(totals, lowStockCount, categoryTotals, recentItems)
+            .whenCompleteAsync((ignored, failure) -> {
+                if (failure != null) {
+                    System.err.println("Error refreshing dashboard: " + MainFrame.causeOf(failure).getMessage());
+                    return;
+                }
                 // Update stat cards
-                totalItemsLabel.setText(String.valueOf(totalItems));
-                totalValueLabel.setText(String.format("$%.2f", totalValue));
-                lowStockLabel.setText(String.valueOf(lowStockCount));
-                categoriesLabel.setText(String.valueOf(categoryCount));
+                totalItemsLabel.setText(String.valueOf(totals.join().itemCount()));
+                totalValueLabel.setText(String.format("$%.2f", totals.join().totalValue()));
+                lowStockLabel.setText(String.valueOf(lowStockCount.join()));
+                categoriesLabel.setText(String.valueOf(categoryTotals.join().size()));
                 
                 // Update recent activity
-                updateRecentActivity(recentItems);
+                updateRecentActivity(recentItems.join());
                 
                 // Update chart
                 updateCategoryChart();
-            }
-        };
-        
-        worker.execute();
+            }, SwingUtilities::invokeLater);
     }
     
-    private void updateRecentActivity(List<Item> items) {
+    private void updateRecentActivity(List<ItemSummary> items) {
         recentActivityPanel.removeAll();
         
         if (items.isEmpty()) {
@@ -248,10 +241,9 @@ public class DashboardPanel extends JPanel {
             noDataLabel.setFont(new Font("Segoe UI", Font.ITALIC, 12));
             recentActivityPanel.add(noDataLabel);
         } else {
-            // Show last 5 items
-            int count = Math.min(5, items.size());
-            for (int i = items.size() - count; i < items.size(); i++) {
-                Item item = items.get(i);
+            // Most recently updated first, read from the last_updated index
+            for (int i = 0; i < items.size(); i++) {
+                ItemSummary item = items.get(i);
                 JPanel activityItem = createActivityItem(item);
                 recentActivityPanel.add(activityItem);
                 if (i < items.size() - 1) {
@@ -264,17 +256,17 @@ public class DashboardPanel extends JPanel {
         recentActivityPanel.repaint();
     }
     
-    private JPanel createActivityItem(Item item) {
+    private JPanel createActivityItem(ItemSummary item) {
         JPanel itemPanel = new JPanel(new BorderLayout());
         itemPanel.setBackground(CARD_COLOR);
         itemPanel.setBorder(new EmptyBorder(10, 0, 10, 0));
         
-        JLabel nameLabel = new JLabel(item.getName());
+        JLabel nameLabel = new JLabel(item.name());
         nameLabel.setFont(new Font("Segoe UI", Font.BOLD, 12));
         nameLabel.setForeground(TEXT_COLOR);
         
         JLabel detailsLabel = new JLabel(String.format("Qty: %d | $%.2f", 
-            item.getQuantity(), item.getPrice()));
+            item.quantity(), item.price()));
         detailsLabel.setFont(new Font("Segoe UI", Font.PLAIN, 10));
         detailsLabel.setForeground(LIGHT_TEXT);
         
@@ -287,7 +279,7 @@ public class DashboardPanel extends JPanel {
         // Status indicator
         JPanel statusPanel = new JPanel();
         statusPanel.setBackground(CARD_COLOR);
-        Color statusColor = item.getQuantity() <= 5 ? WARNING_COLOR : SUCCESS_COLOR;
+        Color statusColor = item.quantity() <= 5 ? WARNING_COLOR : SUCCESS_COLOR;
         statusPanel.setBorder(BorderFactory.createLineBorder(statusColor, 2));
         statusPanel.setPreferredSize(new Dimension(4, 30));
         
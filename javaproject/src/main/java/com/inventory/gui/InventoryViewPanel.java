@@ -1,7 +1,13 @@
 package com.inventory.gui;
 
+import com.inventory.dao.Page;
+import com.inventory.dao.UpdateResult;
 import com.inventory.model.Item;
-import com.inventory.service.InventoryService;
+import com.inventory.model.ItemSummary;
+import com.inventory.service.ChangeSet;
+import com.inventory.service.AsyncInventoryService;
+import com.inventory.util.collections.IntHashSet;
+import com.inventory.util.collections.IntIntHashMap;
 import javax.swing.*;
 import javax.swing.table.DefaultTableModel;
 import javax.swing.table.TableRowSorter;
@@ -10,13 +16,32 @@ import java.awt.event.ActionEvent;
 import java.awt.event.ActionListener;
 import java.awt.event.MouseAdapter;
 import java.awt.event.MouseEvent;
+import java.time.Instant;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 public class InventoryViewPanel extends JPanel {
-    private final InventoryService inventoryService;
+    private static final int PAGE_SIZE = 200;
+    private static final String ALL_CATEGORIES = "All Categories";
+    
+    private final AsyncInventoryService asyncService;
+    
+    // Paging state: rows are fetched a page at a time as the table is scrolled
+    private String nextPageToken;
+    private long estimatedTotal;
+    private boolean updatingCategoryFilter;
+    private List<String> shownCategories;
+    // Bumped whenever the table is cleared, so results for the previous query are dropped
+    private int loadGeneration;
+    private boolean pageLoading;
+    
+    // Delta sync state: ids in the table and the cursor of the last load or sync
+    private final IntHashSet loadedIds = new IntHashSet();
+    private Instant syncCursor;
     
     // Components
     private JTable itemTable;
+    private JScrollPane scrollPane;
     private DefaultTableModel tableModel;
     private JTextField searchField;
     private JComboBox<String> categoryFilter;
@@ -25,11 +50,11 @@ public class InventoryViewPanel extends JPanel {
     private JButton deleteButton;
     private JLabel statusLabel;
     
-    // Table columns
-    private final String[] columnNames = {"ID", "Name", "Description", "Quantity", "Price", "Category", "Last Updated"};
+    // Table columns; descriptions are only loaded when an item is opened for editing
+    private final String[] columnNames = {"ID", "Name", "Quantity", "Price", "Category", "Last Updated"};
     
-    public InventoryViewPanel(InventoryService inventoryService) {
-        this.inventoryService = inventoryService;
+    public InventoryViewPanel(AsyncInventoryService asyncService) {
+        this.asyncService = asyncService;
         initializeComponents();
         setupLayout();
         setupEventListeners();
@@ -51,7 +76,7 @@ public class InventoryViewPanel extends JPanel {
         // Search and filter components
         searchField = new JTextField(20);
         categoryFilter = new JComboBox<>();
-        categoryFilter.addItem("All Categories");
+        categoryFilter.addItem(ALL_CATEGORIES);
         
         // Buttons
         refreshButton = new JButton("Refresh");
@@ -77,7 +102,7 @@ public class InventoryViewPanel extends JPanel {
         topPanel.add(refreshButton);
         
         // Center panel with table
-        JScrollPane scrollPane = new JScrollPane(itemTable);
+        scrollPane = new JScrollPane(itemTable);
         scrollPane.setPreferredSize(new Dimension(800, 400));
         
         // Bottom panel with buttons and status
@@ -99,7 +124,18 @@ public class InventoryViewPanel extends JPanel {
         searchField.addActionListener(e -> filterTable());
         
         // Category filter
-        categoryFilter.addActionListener(e -> filterTable());
+        categoryFilter.addActionListener(e -> {
+            if (!updatingCategoryFilter) {
+                filterTable();
+            }
+        });
+        
+        // Load the next page when the table is scrolled near its end
+        scrollPane.getVerticalScrollBar().addAdjustmentListener(e -> {
+            if (!e.getValueIsAdjusting()) {
+                loadMoreIfNeeded();
+            }
+        });
         
         // Refresh button
         refreshButton.addActionListener(e -> refreshData());
@@ -128,88 +164,220 @@ public class InventoryViewPanel extends JPanel {
         deleteButton.addActionListener(e -> deleteSelectedItem());
     }
     
+    // Applies what changed since the last load; falls back to a full reload when it cannot.
+    // The category list and the rows are queried in parallel, off the event thread.
     public void refreshData() {
-        try {
-            // Clear existing data
-            tableModel.setRowCount(0);
-            
-            // Load all items
-            List<Item> items = inventoryService.getAllItems();
-            
-            for (Item item : items) {
-                Object[] row = {
-                    item.getId(),
-                    item.getName(),
-                    item.getDescription(),
-                    item.getQuantity(),
-                    String.format("$%.2f", item.getPrice()),
-                    item.getCategory(),
-                    item.getLastUpdated().toString()
-                };
-                tableModel.addRow(row);
+        asyncService.getCategories().whenCompleteAsync((categories, failure) -> {
+            if (failure != null) {
+                showLoadError(failure);
+            } else {
+                updateCategoryFilter(categories);
             }
-            
-            // Update category filter
-            updateCategoryFilter();
-            
-            // Update status
-            statusLabel.setText(String.format("Total items: %d", items.size()));
-            
-        } catch (Exception e) {
-            JOptionPane.showMessageDialog(this,
-                "Error loading data: " + e.getMessage(),
-                "Error",
-                JOptionPane.ERROR_MESSAGE);
+        }, SwingUtilities::invokeLater);
+        
+        if (syncCursor == null || !searchField.getText().trim().isEmpty()) {
+            // Search matches cannot be re-evaluated here, so searches are simply re-run
+            reloadData();
+        } else {
+            syncChanges();
         }
     }
     
-    private void updateCategoryFilter() {
-        String selectedCategory = (String) categoryFilter.getSelectedItem();
-        categoryFilter.removeAllItems();
-        categoryFilter.addItem("All Categories");
+    private void reloadData() {
+        // Clear existing data and load the first page
+        tableModel.setRowCount(0);
+        loadedIds.clear();
+        nextPageToken = null;
+        syncCursor = Instant.now();
+        loadGeneration++;
+        loadPage(null);
+    }
+    
+    private void syncChanges() {
+        int generation = loadGeneration;
+        asyncService.getChangesSince(syncCursor).whenCompleteAsync((changes, failure) -> {
+            if (generation != loadGeneration) {
+                return;
+            }
+            if (failure != null) {
+                showLoadError(failure);
+            } else {
+                applyChanges(changes);
+            }
+        }, SwingUtilities::invokeLater);
+    }
+    
+    private void applyChanges(ChangeSet changes) {
+        // An older sync that finished late has nothing the table does not already show
+        if (changes.cursor().isBefore(syncCursor)) {
+            return;
+        }
+        if (!changes.complete()) {
+            reloadData();
+            return;
+        }
+        syncCursor = changes.cursor();
+        if (changes.isEmpty()) {
+            return;
+        }
         
-        List<String> categories = inventoryService.getCategories();
-        for (String category : categories) {
-            categoryFilter.addItem(category);
+        IntIntHashMap rowsById = new IntIntHashMap(tableModel.getRowCount());
+        for (int row = 0; row < tableModel.getRowCount(); row++) {
+            rowsById.put((Integer) tableModel.getValueAt(row, 0), row);
         }
         
-        // Restore selection if possible
-        if (selectedCategory != null) {
-            categoryFilter.setSelectedItem(selectedCategory);
+        String selectedCategory = selectedCategory();
+        IntHashSet removed = new IntHashSet(changes.deletedIds().size());
+        changes.deletedIds().forEach(removed::add);
+        for (ItemSummary item : changes.changed()) {
+            int row = rowsById.get(item.id(), -1);
+            if (selectedCategory != null && !selectedCategory.equals(item.category())) {
+                // Moved out of the selected category
+                removed.add(item.id());
+            } else if (row >= 0) {
+                Object[] values = toRow(item);
+                for (int column = 1; column < values.length; column++) {
+                    tableModel.setValueAt(values[column], row, column);
+                }
+            } else if (!removed.contains(item.id())) {
+                // New rows show up now; loadPage skips them if their page is fetched later
+                tableModel.addRow(toRow(item));
+                loadedIds.add(item.id());
+            }
+        }
+        
+        // Deletions are applied last and from the bottom up so row indexes stay valid
+        for (int row = tableModel.getRowCount() - 1; row >= 0; row--) {
+            int id = (Integer) tableModel.getValueAt(row, 0);
+            if (removed.contains(id)) {
+                tableModel.removeRow(row);
+                loadedIds.remove(id);
+            }
         }
+        updateStatus();
     }
     
-    private void filterTable() {
-        String searchText = searchField.getText().trim().toLowerCase();
+    private void loadPage(String pageToken) {
+        String searchText = searchField.getText().trim();
+        String selectedCategory = selectedCategory();
+        
+        // Search and category both narrow the query itself, so pages and the estimated
+        // total only count rows that are shown
+        CompletableFuture<Page<ItemSummary>> request;
+        if (!searchText.isEmpty()) {
+            request = asyncService.searchItemsPage(searchText, selectedCategory, pageToken, PAGE_SIZE);
+        } else if (selectedCategory != null) {
+            request = asyncService.getItemsByCategoryPage(selectedCategory, pageToken, PAGE_SIZE);
+        } else {
+            request = asyncService.getItemsPage(pageToken, PAGE_SIZE);
+        }
+        
+        int generation = loadGeneration;
+        pageLoading = true;
+        request.whenCompleteAsync((page, failure) -> {
+            if (generation != loadGeneration) {
+                return;
+            }
+            pageLoading = false;
+            if (failure != null) {
+                nextPageToken = null;
+                showLoadError(failure);
+            } else {
+                showPage(page);
+            }
+        }, SwingUtilities::invokeLater);
+    }
+    
+    private void showPage(Page<ItemSummary> page) {
+        for (ItemSummary item : page.getItems()) {
+            if (loadedIds.add(item.id())) {
+                tableModel.addRow(toRow(item));
+            }
+        }
+        
+        nextPageToken = page.getNextPageToken();
+        estimatedTotal = page.getEstimatedTotal();
+        updateStatus();
+        
+        // Keep fetching while the loaded rows do not fill the view yet
+        SwingUtilities.invokeLater(this::loadMoreIfNeeded);
+    }
+    
+    private static Object[] toRow(ItemSummary item) {
+        return new Object[] {
+            item.id(),
+            item.name(),
+            item.quantity(),
+            String.format("$%.2f", item.price()),
+            item.category(),
+            // Rows without a timestamp, such as those the column store keeps as 0, show blank
+            item.lastUpdated() == null ? "" : item.lastUpdated().toString()
+        };
+    }
+    
+    private void updateStatus() {
+        if (nextPageToken == null) {
+            statusLabel.setText(String.format("Total items: %d", tableModel.getRowCount()));
+        } else {
+            statusLabel.setText(String.format("Showing %d of about %d items", tableModel.getRowCount(), estimatedTotal));
+        }
+    }
+    
+    private void loadMoreIfNeeded() {
+        if (nextPageToken == null || pageLoading) {
+            return;
+        }
+        JScrollBar scrollBar = scrollPane.getVerticalScrollBar();
+        int remaining = scrollBar.getMaximum() - (scrollBar.getValue() + scrollBar.getVisibleAmount());
+        if (remaining <= itemTable.getRowHeight() * PAGE_SIZE / 4) {
+            loadPage(nextPageToken);
+        }
+    }
+    
+    private void showLoadError(Throwable failure) {
+        JOptionPane.showMessageDialog(this,
+            "Error loading data: " + MainFrame.causeOf(failure).getMessage(),
+            "Error",
+            JOptionPane.ERROR_MESSAGE);
+    }
+    
+    private String selectedCategory() {
         String selectedCategory = (String) categoryFilter.getSelectedItem();
+        return selectedCategory == null || ALL_CATEGORIES.equals(selectedCategory) ? null : selectedCategory;
+    }
+    
+    // The service hands back the same cached list until a write changes it
+    private void updateCategoryFilter(List<String> categories) {
+        if (categories == shownCategories) {
+            return;
+        }
+        shownCategories = categories;
         
+        String selectedCategory = (String) categoryFilter.getSelectedItem();
+        updatingCategoryFilter = true;
+        try {
+            categoryFilter.removeAllItems();
+            categoryFilter.addItem(ALL_CATEGORIES);
+            
+            for (String category : categories) {
+                categoryFilter.addItem(category);
+            }
+            
+            // Restore selection if possible
+            if (selectedCategory != null) {
+                categoryFilter.setSelectedItem(selectedCategory);
+            }
+        } finally {
+            updatingCategoryFilter = false;
+        }
+    }
+    
+    private void filterTable() {
         TableRowSorter<DefaultTableModel> sorter = new TableRowSorter<>(tableModel);
         itemTable.setRowSorter(sorter);
         
-        RowFilter<DefaultTableModel, Object> filter = new RowFilter<DefaultTableModel, Object>() {
-            @Override
-            public boolean include(Entry<? extends DefaultTableModel, ? extends Object> entry) {
-                // Search filter
-                boolean matchesSearch = searchText.isEmpty();
-                if (!matchesSearch) {
-                    for (int i = 0; i < entry.getValueCount(); i++) {
-                        String value = entry.getStringValue(i).toLowerCase();
-                        if (value.contains(searchText)) {
-                            matchesSearch = true;
-                            break;
-                        }
-                    }
-                }
-                
-                // Category filter
-                boolean matchesCategory = "All Categories".equals(selectedCategory) ||
-                                        selectedCategory.equals(entry.getStringValue(5));
-                
-                return matchesSearch && matchesCategory;
-            }
-        };
-        
-        sorter.setRowFilter(filter);
+        // Reload from the first page with the new search and category
+        reloadData();
     }
     
     private void editSelectedItem() {
@@ -220,20 +388,27 @@ public class InventoryViewPanel extends JPanel {
         int modelRow = itemTable.convertRowIndexToModel(selectedRow);
         int itemId = (Integer) tableModel.getValueAt(modelRow, 0);
         
-        Item item = inventoryService.getItem(itemId);
-        if (item != null) {
-            // Find the main frame and switch to item management tab
-            Container parent = getParent();
-            while (parent != null && !(parent instanceof MainFrame)) {
-                parent = parent.getParent();
-            }
-            
-            if (parent instanceof MainFrame) {
-                MainFrame mainFrame = (MainFrame) parent;
-                // This would require exposing the item management panel
-                // For now, show a simple edit dialog
-                showEditDialog(item);
+        asyncService.getItem(itemId).whenCompleteAsync((item, failure) -> {
+            if (failure != null) {
+                showLoadError(failure);
+            } else if (item != null) {
+                openEditDialog(item);
             }
+        }, SwingUtilities::invokeLater);
+    }
+    
+    private void openEditDialog(Item item) {
+        // Find the main frame and switch to item management tab
+        Container parent = getParent();
+        while (parent != null && !(parent instanceof MainFrame)) {
+            parent = parent.getParent();
+        }
+        
+        if (parent instanceof MainFrame) {
+            MainFrame mainFrame = (MainFrame) parent;
+            // This would require exposing the item management panel
+            // For now, show a simple edit dialog
+            showEditDialog(item);
         }
     }
     
@@ -288,17 +463,44 @@ public class InventoryViewPanel extends JPanel {
                 item.setQuantity((Integer) quantitySpinner.getValue());
                 item.setPrice(Double.parseDouble(priceField.getText()));
                 item.setCategory(categoryField.getText().trim());
-                
-                if (inventoryService.updateItem(item)) {
+            } catch (Exception ex) {
+                JOptionPane.showMessageDialog(dialog, "Error: " + ex.getMessage());
+                return;
+            }
+            
+            // The write runs off the event thread; Save stays disabled until it is done
+            saveButton.setEnabled(false);
+            asyncService.updateItem(item).whenCompleteAsync((result, failure) -> {
+                saveButton.setEnabled(true);
+                if (failure != null) {
+                    JOptionPane.showMessageDialog(dialog, "Error: " + MainFrame.causeOf(failure).getMessage());
+                } else if (result == UpdateResult.UPDATED) {
                     JOptionPane.showMessageDialog(dialog, "Item updated successfully!");
                     dialog.dispose();
                     refreshData();
+                } else if (result == UpdateResult.CONFLICT) {
+                    // Someone else saved first; reopen with their version so the edit can be redone
+                    JOptionPane.showMessageDialog(dialog,
+                        "This item was changed by another user while you were editing it.\nThe latest values will be loaded.",
+                        "Edit Conflict",
+                        JOptionPane.WARNING_MESSAGE);
+                    dialog.dispose();
+                    refreshData();
+                    asyncService.getItem(item.getId()).whenCompleteAsync((latest, reloadFailure) -> {
+                        if (reloadFailure != null) {
+                            showLoadError(reloadFailure);
+                        } else if (latest != null) {
+                            showEditDialog(latest);
+                        }
+                    }, SwingUtilities::invokeLater);
+                } else if (result == UpdateResult.NOT_FOUND) {
+                    JOptionPane.showMessageDialog(dialog, "This item was deleted by another user.");
+                    dialog.dispose();
+                    refreshData();
                 } else {
                     JOptionPane.showMessageDialog(dialog, "Failed to update item!");
                 }
-            } catch (Exception ex) {
-                JOptionPane.showMessageDialog(dialog, "Error: " + ex.getMessage());
-            }
+            }, SwingUtilities::invokeLater);
         });
         
         cancelButton.addActionListener(e -> dialog.dispose());
@@ -329,12 +531,14 @@ public class InventoryViewPanel extends JPanel {
             JOptionPane.WARNING_MESSAGE);
         
         if (option == JOptionPane.YES_OPTION) {
-            if (inventoryService.deleteItem(itemId)) {
-                JOptionPane.showMessageDialog(this, "Item deleted successfully!");
-                refreshData();
-            } else {
-                JOptionPane.showMessageDialog(this, "Failed to delete item!");
-            }
+            asyncService.deleteItem(itemId).whenCompleteAsync((deleted, failure) -> {
+                if (failure == null && deleted) {
+                    JOptionPane.showMessageDialog(this, "Item deleted successfully!");
+                    refreshData();
+                } else {
+                    JOptionPane.showMessageDialog(this, "Failed to delete item!");
+                }
+            }, SwingUtilities::invokeLater);
         }
     }
 }
\ No newline at end of file
@@ -1,15 +1,21 @@
 package com.inventory.gui;
 
+import com.inventory.dao.UpdateResult;
 import com.inventory.model.Item;
-import com.inventory.service.InventoryService;
+import com.inventory.service.AsyncInventoryService;
 import javax.swing.*;
 import javax.swing.border.EmptyBorder;
 import java.awt.*;
 import java.awt.event.ActionEvent;
 import java.awt.event.ActionListener;
+import java.util.Arrays;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
 
 public class ItemManagementPanel extends JPanel {
-    private final InventoryService inventoryService;
+    private final AsyncInventoryService inventoryService;
     
     // Modern colors
     private static final Color PRIMARY_COLOR = new Color(41, 128, 185);
@@ -21,11 +27,14 @@ public class ItemManagementPanel extends JPanel {
     private static final Color LIGHT_TEXT = new Color(127, 140, 141);
     private static final Color BACKGROUND_COLOR = new Color(236, 240, 241);
     
+    private static final String[] DEFAULT_CATEGORIES = {"Electronics", "Clothing", "Books", "Food", "Tools", "Office Supplies", "Furniture", "Sports", "Other"};
+    
     // Form components
     private JTextField nameField;
     private JTextArea descriptionArea;
     private JSpinner quantitySpinner;
     private JTextField priceField;
+    private JTextField reorderPointField;
     private JComboBox<String> categoryCombo;
     private JButton addButton;
     private JButton updateButton;
@@ -34,7 +43,7 @@ public class ItemManagementPanel extends JPanel {
     // Current item being edited
     private Item currentItem;
     
-    public ItemManagementPanel(InventoryService inventoryService) {
+    public ItemManagementPanel(AsyncInventoryService inventoryService) {
         this.inventoryService = inventoryService;
         setBackground(BACKGROUND_COLOR);
         initializeComponents();
@@ -57,11 +66,12 @@ public class ItemManagementPanel extends JPanel {
         ((JSpinner.DefaultEditor) quantitySpinner.getEditor()).getTextField().setFont(new Font("Segoe UI", Font.PLAIN, 12));
         
         priceField = createModernTextField(10);
+        reorderPointField = createModernTextField(10);
         
         // Category combo with modern styling
-        String[] categories = {"Electronics", "Clothing", "Books", "Food", "Tools", "Office Supplies", "Furniture", "Sports", "Other"};
-        categoryCombo = new JComboBox<>(categories);
+        categoryCombo = new JComboBox<>();
         categoryCombo.setEditable(true);
+        refreshCategories();
         categoryCombo.setFont(new Font("Segoe UI", Font.PLAIN, 12));
         categoryCombo.setBackground(Color.WHITE);
         
@@ -183,6 +193,12 @@ public class ItemManagementPanel extends JPanel {
         gbc.gridx = 1; gbc.gridwidth = 3; gbc.fill = GridBagConstraints.HORIZONTAL; gbc.weightx = 1.0;
         formContent.add(categoryCombo, gbc);
         
+        // Reorder point field
+        gbc.gridx = 0; gbc.gridy = 4; gbc.gridwidth = 1; gbc.fill = GridBagConstraints.NONE; gbc.weightx = 0;
+        formContent.add(createFieldLabel("Reorder Point"), gbc);
+        gbc.gridx = 1; gbc.fill = GridBagConstraints.HORIZONTAL; gbc.weightx = 0.5;
+        formContent.add(reorderPointField, gbc);
+        
         // Button panel
         JPanel buttonPanel = new JPanel(new FlowLayout(FlowLayout.CENTER, 15, 0));
         buttonPanel.setBackground(CARD_COLOR);
@@ -190,7 +206,7 @@ public class ItemManagementPanel extends JPanel {
         buttonPanel.add(updateButton);
         buttonPanel.add(clearButton);
         
-        gbc.gridx = 0; gbc.gridy = 4; gbc.gridwidth = 4;
+        gbc.gridx = 0; gbc.gridy = 5; gbc.gridwidth = 4;
         gbc.fill = GridBagConstraints.HORIZONTAL; gbc.weightx = 1.0;
         gbc.insets = new Insets(30, 15, 15, 15);
         formContent.add(buttonPanel, gbc);
@@ -227,6 +243,7 @@ public class ItemManagementPanel extends JPanel {
             "• Fill in all required fields (*) and click 'Add Item' to create a new inventory item\n" +
             "• To edit an existing item, select it from the Inventory View and it will load here\n" +
             "• Use 'Clear Form' to reset all fields and start fresh\n" +
+            "• Leave Reorder Point empty to use the default low stock threshold\n" +
             "• Categories can be selected from dropdown or type a custom one"
         );
         instructions.setEditable(false);
@@ -264,62 +281,91 @@ public class ItemManagementPanel extends JPanel {
         });
     }
     
+    // The duplicate check and the insert run off the event thread; the button stays
+    // disabled until they finish so the same item cannot be submitted twice
     private void addItem() {
-        try {
-            Item item = createItemFromForm();
-            if (item == null) return;
-            
-            if (inventoryService.itemExists(item.getName())) {
-                JOptionPane.showMessageDialog(this,
-                    "An item with this name already exists!",
-                    "Duplicate Item",
-                    JOptionPane.WARNING_MESSAGE);
-                return;
-            }
-            
-            if (inventoryService.addItem(item)) {
-                showModernMessage("✅ Item Added Successfully!", 
-                    "The item '" + item.getName() + "' has been added to your inventory.", 
-                    SUCCESS_COLOR);
-                clearForm();
-            } else {
-                showModernMessage("❌ Failed to Add Item", 
-                    "Please check your input and try again.", 
-                    DANGER_COLOR);
-            }
-        } catch (Exception e) {
-            JOptionPane.showMessageDialog(this,
-                "Error adding item: " + e.getMessage(),
-                "Error",
-                JOptionPane.ERROR_MESSAGE);
-        }
+        Item item = createItemFromForm();
+        if (item == null) return;
+        
+        addButton.setEnabled(false);
+        inventoryService.itemExists(item.getName())
+            .thenCompose(exists -> exists ? CompletableFuture.completedFuture((Boolean) null) : inventoryService.addItem(item))
+            .whenCompleteAsync((added, failure) -> {
+                addButton.setEnabled(currentItem == null);
+                if (failure != null) {
+                    JOptionPane.showMessageDialog(this,
+                        "Error adding item: " + MainFrame.causeOf(failure).getMessage(),
+                        "Error",
+                        JOptionPane.ERROR_MESSAGE);
+                } else if (added == null) {
+                    JOptionPane.showMessageDialog(this,
+                        "An item with this name already exists!",
+                        "Duplicate Item",
+                        JOptionPane.WARNING_MESSAGE);
+                } else if (added) {
+                    showModernMessage("✅ Item Added Successfully!",
+                        "The item '" + item.getName() + "' has been added to your inventory.",
+                        SUCCESS_COLOR);
+                    clearForm();
+                } else {
+                    showModernMessage("❌ Failed to Add Item",
+                        "Please check your input and try again.",
+                        DANGER_COLOR);
+                }
+            }, SwingUtilities::invokeLater);
     }
     
     private void updateItem() {
         if (currentItem == null) return;
         
-        try {
-            Item updatedItem = createItemFromForm();
-            if (updatedItem == null) return;
-            
-            updatedItem.setId(currentItem.getId());
-            updatedItem.setCreatedDate(currentItem.getCreatedDate());
-            
-            if (inventoryService.updateItem(updatedItem)) {
-                showModernMessage("✅ Item Updated Successfully!", 
-                    "The item '" + updatedItem.getName() + "' has been updated.", 
-                    SUCCESS_COLOR);
-                clearForm();
+        Item updatedItem = createItemFromForm();
+        if (updatedItem == null) return;
+        
+        updatedItem.setId(currentItem.getId());
+        updatedItem.setCreatedDate(currentItem.getCreatedDate());
+        updatedItem.setVersion(currentItem.getVersion());
+        
+        updateButton.setEnabled(false);
+        inventoryService.updateItem(updatedItem).whenCompleteAsync((result, failure) -> {
+            updateButton.setEnabled(currentItem != null);
+            if (failure != null) {
+                JOptionPane.showMessageDialog(this,
+                    "Error updating item: " + MainFrame.causeOf(failure).getMessage(),
+                    "Error",
+                    JOptionPane.ERROR_MESSAGE);
             } else {
-                showModernMessage("❌ Failed to Update Item", 
-                    "Please check your input and try again.", 
-                    DANGER_COLOR);
+                showUpdateResult(updatedItem, result);
             }
-        } catch (Exception e) {
-            JOptionPane.showMessageDialog(this,
-                "Error updating item: " + e.getMessage(),
-                "Error",
-                JOptionPane.ERROR_MESSAGE);
+        }, SwingUtilities::invokeLater);
+    }
+    
+    private void showUpdateResult(Item updatedItem, UpdateResult result) {
+        if (result == UpdateResult.UPDATED) {
+            showModernMessage("✅ Item Updated Successfully!",
+                "The item '" + updatedItem.getName() + "' has been updated.",
+                SUCCESS_COLOR);
+            clearForm();
+        } else if (result == UpdateResult.CONFLICT) {
+            // Someone else saved first; show their version so the edit can be redone on top of it
+            showModernMessage("⚠️ Item Changed Elsewhere",
+                "Another user updated this item. The latest values have been loaded.",
+                WARNING_COLOR);
+            inventoryService.getItem(updatedItem.getId()).whenCompleteAsync((latest, failure) -> {
+                if (latest != null) {
+                    editItem(latest);
+                } else {
+                    clearForm();
+                }
+            }, SwingUtilities::invokeLater);
+        } else if (result == UpdateResult.NOT_FOUND) {
+            showModernMessage("❌ Item No Longer Exists",
+                "The item was deleted by another user.",
+                DANGER_COLOR);
+            clearForm();
+        } else {
+            showModernMessage("❌ Failed to Update Item",
+                "Please check your input and try again.",
+                DANGER_COLOR);
         }
     }
     
@@ -352,7 +398,24 @@ public class ItemManagementPanel extends JPanel {
             return null;
         }
         
-        return new Item(name, description, quantity, price, category.trim());
+        Integer reorderPoint = null;
+        String reorderPointText = reorderPointField.getText().trim();
+        if (!reorderPointText.isEmpty()) {
+            try {
+                reorderPoint = Integer.parseInt(reorderPointText);
+                if (reorderPoint < 0) {
+                    JOptionPane.showMessageDialog(this, "Reorder point cannot be negative!", "Validation Error", JOptionPane.WARNING_MESSAGE);
+                    return null;
+                }
+            } catch (NumberFormatException e) {
+                JOptionPane.showMessageDialog(this, "Please enter a valid reorder point!", "Validation Error", JOptionPane.WARNING_MESSAGE);
+                return null;
+            }
+        }
+        
+        Item item = new Item(name, description, quantity, price, category.trim());
+        item.setReorderPoint(reorderPoint);
+        return item;
     }
     
     public void editItem(Item item) {
@@ -362,6 +425,7 @@ public class ItemManagementPanel extends JPanel {
         descriptionArea.setText(item.getDescription());
         quantitySpinner.setValue(item.getQuantity());
         priceField.setText(String.valueOf(item.getPrice()));
+        reorderPointField.setText(item.getReorderPoint() == null ? "" : String.valueOf(item.getReorderPoint()));
         categoryCombo.setSelectedItem(item.getCategory());
         
         addButton.setEnabled(false);
@@ -373,6 +437,8 @@ public class ItemManagementPanel extends JPanel {
         descriptionArea.setText("");
         quantitySpinner.setValue(0);
         priceField.setText("");
+        reorderPointField.setText("");
+        refreshCategories();
         categoryCombo.setSelectedIndex(0);
         
         currentItem = null;
@@ -380,6 +446,31 @@ public class ItemManagementPanel extends JPanel {
         updateButton.setEnabled(false);
     }
     
+    // The defaults right away, then the categories items already use once the service returns them
+    private void refreshCategories() {
+        showCategories(List.of());
+        inventoryService.getCategories().whenCompleteAsync((used, failure) -> {
+            if (failure == null) {
+                showCategories(used);
+            }
+        }, SwingUtilities::invokeLater);
+    }
+    
+    private void showCategories(List<String> used) {
+        Object selected = categoryCombo.getSelectedItem();
+        Set<String> categories = new LinkedHashSet<>(Arrays.asList(DEFAULT_CATEGORIES));
+        categories.addAll(used);
+        
+        DefaultComboBoxModel<String> model = new DefaultComboBoxModel<>();
+        for (String category : categories) {
+            model.addElement(category);
+        }
+        categoryCombo.setModel(model);
+        if (selected != null) {
+            categoryCombo.setSelectedItem(selected);
+        }
+    }
+    
     private void showModernMessage(String title, String message, Color color) {
         JDialog dialog = new JDialog((Frame) SwingUtilities.getWindowAncestor(this), "Notification", true);
         dialog.setLayout(new BorderLayout());
@@ -1,5 +1,7 @@
 package com.inventory.gui;
 
+import com.inventory.database.DatabaseConnection;
+import com.inventory.service.AsyncInventoryService;
 import com.inventory.service.InventoryService;
 import com.inventory.service.InventoryServiceImpl;
 import javax.swing.*;
@@ -8,9 +10,11 @@ import java.awt.*;
 import java.awt.event.WindowAdapter;
 import java.awt.event.WindowEvent;
 import java.awt.image.BufferedImage;
+import java.util.concurrent.CompletionException;
 
 public class MainFrame extends JFrame {
     private final InventoryService inventoryService;
+    private final AsyncInventoryService asyncService;
     private JPanel mainPanel;
     private JPanel sidebarPanel;
     private JPanel contentPanel;
@@ -29,6 +33,7 @@ public class MainFrame extends JFrame {
     
     public MainFrame() {
         this.inventoryService = new InventoryServiceImpl();
+        this.asyncService = new AsyncInventoryService(inventoryService);
         setupModernLookAndFeel();
         initializeComponents();
         setupFrame();
@@ -74,10 +79,11 @@ public class MainFrame extends JFrame {
         contentPanel.setBorder(new EmptyBorder(20, 20, 20, 20));
         
         // Create panels
-        dashboardPanel = new DashboardPanel(inventoryService);
-        itemManagementPanel = new ItemManagementPanel(inventoryService);
-        inventoryViewPanel = new InventoryViewPanel(inventoryService);
-        reportsPanel = new ReportsPanel(inventoryService);
+        // Panels reach the service through the async front so queries stay off the event thread
+        dashboardPanel = new DashboardPanel(asyncService);
+        itemManagementPanel = new ItemManagementPanel(asyncService);
+        inventoryViewPanel = new InventoryViewPanel(asyncService);
+        reportsPanel = new ReportsPanel(asyncService);
         
         // Add panels to content area
         contentPanel.add(dashboardPanel, "Dashboard");
@@ -256,7 +262,12 @@ public class MainFrame extends JFrame {
         JButton yesButton = createModernButton("Yes", ACCENT_COLOR);
         JButton noButton = createModernButton("No", new Color(231, 76, 60));
         
-        yesButton.addActionListener(e -> System.exit(0));
+        yesButton.addActionListener(e -> {
+            asyncService.close();
+            inventoryService.shutdown();
+            DatabaseConnection.closeConnection();
+            System.exit(0);
+        });
         noButton.addActionListener(e -> exitDialog.dispose());
         
         buttonPanel.add(yesButton);
@@ -269,6 +280,11 @@ public class MainFrame extends JFrame {
         exitDialog.setVisible(true);
     }
     
+    // Failures of a combined or dependent future arrive wrapped; this is the one to show
+    static Throwable causeOf(Throwable failure) {
+        return failure instanceof CompletionException && failure.getCause() != null ? failure.getCause() : failure;
+    }
+    
     public static JButton createModernButton(String text, Color backgroundColor) {
         JButton button = new JButton(text);
         button.setBackground(backgroundColor);
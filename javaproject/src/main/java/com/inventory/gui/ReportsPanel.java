@@ -1,13 +1,20 @@
 package com.inventory.gui;
 
-import com.inventory.model.Item;
-import com.inventory.service.InventoryService;
+import com.inventory.model.CategoryStats;
+import com.inventory.model.InventoryTotals;
+import com.inventory.model.ItemSummary;
+import com.inventory.service.AsyncInventoryService;
 import javax.swing.*;
 import java.awt.*;
 import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
 
 public class ReportsPanel extends JPanel {
-    private final InventoryService inventoryService;
+    private final AsyncInventoryService inventoryService;
+    
+    // The spinner can start a report before the last one is back; only the newest is shown
+    private CompletableFuture<List<ItemSummary>> lowStockRequest;
     
     // Components
     private JLabel totalItemsLabel;
@@ -17,7 +24,7 @@ public class ReportsPanel extends JPanel {
     private JTextArea categoryBreakdownArea;
     private JSpinner lowStockThresholdSpinner;
     
-    public ReportsPanel(InventoryService inventoryService) {
+    public ReportsPanel(AsyncInventoryService inventoryService) {
         this.inventoryService = inventoryService;
         initializeComponents();
         setupLayout();
@@ -92,6 +99,7 @@ public class ReportsPanel extends JPanel {
         add(buttonPanel, BorderLayout.SOUTH);
     }
     
+    // The three reports are queried in parallel and each is filled in as its data arrives
     public void refreshData() {
         updateSummaryStatistics();
         updateLowStockReport();
@@ -99,30 +107,45 @@ public class ReportsPanel extends JPanel {
     }
     
     private void updateSummaryStatistics() {
-        try {
-            int totalItems = inventoryService.getTotalItemCount();
-            double totalValue = inventoryService.getTotalInventoryValue();
-            List<String> categories = inventoryService.getCategories();
-            
-            totalItemsLabel.setText(String.valueOf(totalItems));
-            totalValueLabel.setText(String.format("$%.2f", totalValue));
-            categoriesLabel.setText(String.valueOf(categories.size()));
-            
-        } catch (Exception e) {
-            JOptionPane.showMessageDialog(this,
-                "Error updating summary: " + e.getMessage(),
-                "Error",
-                JOptionPane.ERROR_MESSAGE);
-        }
+        CompletableFuture<InventoryTotals> totals = inventoryService.getInventoryTotals();
+        CompletableFuture<List<InventoryTotals>> categories = inventoryService.getCategoryTotals();
+        CompletableFuture.allOf(totals, categories).whenCompleteAsync((ignored, failure) -> {
+            if (failure != null) {
+                JOptionPane.showMessageDialog(this,
+                    "Error updating summary: " + MainFrame.causeOf(failure).getMessage(),
+                    "Error",
+                    JOptionPane.ERROR_MESSAGE);
+                return;
+            }
+            totalItemsLabel.setText(String.valueOf(totals.join().itemCount()));
+            totalValueLabel.setText(String.format("$%.2f", totals.join().totalValue()));
+            categoriesLabel.setText(String.valueOf(categories.join().size()));
+        }, SwingUtilities::invokeLater);
     }
     
     private void updateLowStockReport() {
+        int threshold = (Integer) lowStockThresholdSpinner.getValue();
+        if (lowStockRequest != null) {
+            lowStockRequest.cancel(true);
+        }
+        CompletableFuture<List<ItemSummary>> request = inventoryService.getLowStockItems(threshold);
+        lowStockRequest = request;
+        request.whenCompleteAsync((lowStockItems, failure) -> {
+            if (request != lowStockRequest || failure instanceof CancellationException) {
+                return;
+            }
+            if (failure != null) {
+                lowStockArea.setText("Error generating low stock report: " + MainFrame.causeOf(failure).getMessage());
+            } else {
+                showLowStockReport(threshold, lowStockItems);
+            }
+        }, SwingUtilities::invokeLater);
+    }
+    
+    private void showLowStockReport(int threshold, List<ItemSummary> lowStockItems) {
         try {
-            int threshold = (Integer) lowStockThresholdSpinner.getValue();
-            List<Item> lowStockItems = inventoryService.getLowStockItems(threshold);
-            
             StringBuilder report = new StringBuilder();
-            report.append(String.format("Items with quantity <= %d:\n\n", threshold));
+            report.append(String.format("Items at or below their reorder point (default %d):\n\n", threshold));
             
             if (lowStockItems.isEmpty()) {
                 report.append("No low stock items found.");
@@ -130,11 +153,11 @@ public class ReportsPanel extends JPanel {
                 report.append(String.format("%-20s %-10s %-10s\n", "Name", "Quantity", "Category"));
                 report.append("-".repeat(45)).append("\n");
                 
-                for (Item item : lowStockItems) {
+                for (ItemSummary item : lowStockItems) {
                     report.append(String.format("%-20s %-10d %-10s\n",
-                        truncate(item.getName(), 20),
-                        item.getQuantity(),
-                        truncate(item.getCategory(), 10)));
+                        truncate(item.name(), 20),
+                        item.quantity(),
+                        truncate(item.category(), 10)));
                 }
                 
                 report.append("\nTotal low stock items: ").append(lowStockItems.size());
@@ -149,36 +172,41 @@ public class ReportsPanel extends JPanel {
     }
     
     private void updateCategoryBreakdown() {
+        inventoryService.getCategoryStats().whenCompleteAsync((categoryStats, failure) -> {
+            if (failure != null) {
+                categoryBreakdownArea.setText("Error generating category breakdown: " + MainFrame.causeOf(failure).getMessage());
+            } else {
+                showCategoryBreakdown(categoryStats);
+            }
+        }, SwingUtilities::invokeLater);
+    }
+    
+    private void showCategoryBreakdown(List<CategoryStats> categoryStats) {
         try {
-            List<Item> allItems = inventoryService.getAllItems();
-            List<String> categories = inventoryService.getCategories();
-            
             StringBuilder report = new StringBuilder();
             report.append("Category Breakdown:\n\n");
-            report.append(String.format("%-15s %-8s %-12s\n", "Category", "Items", "Total Value"));
-            report.append("-".repeat(40)).append("\n");
+            report.append(String.format("%-15s %-8s %-10s %-12s %-10s\n", "Category", "Items", "Quantity", "Total Value", "Avg Price"));
+            report.append("-".repeat(60)).append("\n");
             
             double grandTotal = 0;
             int totalItems = 0;
+            long totalQuantity = 0;
             
-            for (String category : categories) {
-                List<Item> categoryItems = inventoryService.getItemsByCategory(category);
-                int itemCount = categoryItems.size();
-                double categoryValue = categoryItems.stream()
-                    .mapToDouble(item -> item.getQuantity() * item.getPrice())
-                    .sum();
-                
-                report.append(String.format("%-15s %-8d $%-11.2f\n",
-                    truncate(category, 15),
-                    itemCount,
-                    categoryValue));
+            for (CategoryStats stats : categoryStats) {
+                report.append(String.format("%-15s %-8d %-10d $%-11.2f $%-9.2f\n",
+                    truncate(stats.category(), 15),
+                    stats.itemCount(),
+                    stats.totalQuantity(),
+                    stats.totalValue(),
+                    stats.avgPrice()));
                 
-                grandTotal += categoryValue;
-                totalItems += itemCount;
+                grandTotal += stats.totalValue();
+                totalItems += stats.itemCount();
+                totalQuantity += stats.totalQuantity();
             }
             
-            report.append("-".repeat(40)).append("\n");
-            report.append(String.format("%-15s %-8d $%-11.2f\n", "TOTAL", totalItems, grandTotal));
+            report.append("-".repeat(60)).append("\n");
+            report.append(String.format("%-15s %-8d %-10d $%-11.2f\n", "TOTAL", totalItems, totalQuantity, grandTotal));
             
             categoryBreakdownArea.setText(report.toString());
             categoryBreakdownArea.setCaretPosition(0);
@@ -0,0 +1,433 @@
+package com.inventory.io;
+
+import com.inventory.dao.BatchResult;
+import com.inventory.database.DatabaseConnection;
+import com.inventory.model.Item;
+import com.inventory.service.InventoryService;
+import com.inventory.service.InventoryServiceImpl;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Properties;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Consumer;
+
+/**
+ * Streams a CSV file of items into the database.
+ *
+ * A reader thread cuts the file into chunks of records, a worker pool parses and validates
+ * chunks in parallel, and the calling thread writes chunks in file order through
+ * InventoryService.addItems. At most 2 x parallelism chunks are in flight, so memory use
+ * does not depend on file size. Bad rows go to &lt;file&gt;.rejects.csv. After each committed
+ * chunk the byte offset is saved to &lt;file&gt;.checkpoint, and an import started with resume
+ * continues from there. A crash between commit and checkpoint replays at most one chunk.
+ *
+ * Expected header (any order, case-insensitive): name,description,quantity,price,category[,reorder_point]
+ */
+public class CsvImporter {
+    private static final int DEFAULT_CHUNK_SIZE = 1_000;
+    private static final int READ_BUFFER_SIZE = 64 * 1024;
+    
+    private final InventoryService inventoryService;
+    private final int chunkSize;
+    private final int parallelism;
+    
+    public CsvImporter(InventoryService inventoryService) {
+        this(inventoryService, DEFAULT_CHUNK_SIZE, Math.max(1, Runtime.getRuntime().availableProcessors() - 1));
+    }
+    
+    public CsvImporter(InventoryService inventoryService, int chunkSize, int parallelism) {
+        this.inventoryService = inventoryService;
+        this.chunkSize = chunkSize;
+        this.parallelism = parallelism;
+    }
+    
+    public static Path rejectsFile(Path csvFile) {
+        return csvFile.resolveSibling(csvFile.getFileName() + ".rejects.csv");
+    }
+    
+    public static Path checkpointFile(Path csvFile) {
+        return csvFile.resolveSibling(csvFile.getFileName() + ".checkpoint");
+    }
+    
+    public ImportProgress importFile(Path csvFile, boolean resume, Consumer<ImportProgress> progressListener)
+            throws IOException {
+        long startTime = System.currentTimeMillis();
+        Path checkpoint = checkpointFile(csvFile);
+        Checkpoint state = resume && Files.exists(checkpoint) ? Checkpoint.load(checkpoint) : new Checkpoint();
+        
+        ExecutorService parsers = Executors.newFixedThreadPool(parallelism, r -> {
+            Thread t = new Thread(r, "csv-import-parser");
+            t.setDaemon(true);
+            return t;
+        });
+        BlockingQueue<Future<ParsedChunk>> pending = new ArrayBlockingQueue<>(parallelism * 2);
+        
+        try (FileChannel channel = FileChannel.open(csvFile, StandardOpenOption.READ);
+             BufferedWriter rejects = Files.newBufferedWriter(rejectsFile(csvFile), StandardCharsets.UTF_8,
+                 StandardOpenOption.CREATE,
+                 state.offset > 0 ? StandardOpenOption.APPEND : StandardOpenOption.TRUNCATE_EXISTING)) {
+            
+            long totalBytes = channel.size();
+            RecordReader records = new RecordReader(channel);
+            String headerLine = records.next();
+            if (headerLine == null) {
+                return new ImportProgress(0, 0, 0, 0, 0);
+            }
+            int[] columns = mapColumns(CsvCodec.parseLine(stripBom(headerLine)));
+            if (state.offset == 0) {
+                state.offset = records.position();
+                state.lineNumber = records.lineNumber();
+                rejects.write("line,reason," + headerLine);
+                rejects.newLine();
+            } else {
+                records.seek(state.offset, state.lineNumber);
+            }
+            
+            Thread reader = startReader(records, columns, parsers, pending);
+            
+            while (true) {
+                ParsedChunk chunk;
+                try {
+                    chunk = pending.take().get();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    reader.interrupt();
+                    throw new IOException("Import interrupted", e);
+                } catch (ExecutionException e) {
+                    reader.interrupt();
+                    throw new IOException("Failed to read " + csvFile, e.getCause());
+                }
+                if (chunk == null) {
+                    break;
+                }
+                
+                BatchResult result = inventoryService.addItems(chunk.items);
+                for (int i = 0; i < result.size(); i++) {
+                    if (result.isSuccess(i)) {
+                        state.imported++;
+                    } else {
+                        chunk.rejects.add(new Reject(chunk.itemLineNumbers[i], "rejected by database", chunk.itemLines.get(i)));
+                    }
+                }
+                for (Reject reject : chunk.rejects) {
+                    writeReject(rejects, reject);
+                    state.rejected++;
+                }
+                rejects.flush();
+                
+                state.offset = chunk.endOffset;
+                state.lineNumber = chunk.endLineNumber;
+                state.save(checkpoint);
+                
+                if (progressListener != null) {
+                    progressListener.accept(new ImportProgress(state.offset, totalBytes,
+                        state.imported, state.rejected, System.currentTimeMillis() - startTime));
+                }
+            }
+            
+            Files.deleteIfExists(checkpoint);
+            return new ImportProgress(totalBytes, totalBytes, state.imported, state.rejected,
+                System.currentTimeMillis() - startTime);
+        } finally {
+            parsers.shutdownNow();
+        }
+    }
+    
+    private Thread startReader(RecordReader records, int[] columns,
+                               ExecutorService parsers, BlockingQueue<Future<ParsedChunk>> pending) {
+        Thread reader = new Thread(() -> {
+            try {
+                while (!Thread.currentThread().isInterrupted()) {
+                    List<String> chunkLines = new ArrayList<>(chunkSize);
+                    // A record that spans lines is reported by the line it starts on
+                    long[] lineNumbers = new long[chunkSize];
+                    String line;
+                    long startLine = records.lineNumber() + 1;
+                    while (chunkLines.size() < chunkSize && (line = records.next()) != null) {
+                        lineNumbers[chunkLines.size()] = startLine;
+                        chunkLines.add(line);
+                        startLine = records.lineNumber() + 1;
+                    }
+                    if (chunkLines.isEmpty()) {
+                        break;
+                    }
+                    long endOffset = records.position();
+                    long endLineNumber = records.lineNumber();
+                    pending.put(parsers.submit(() -> parseChunk(chunkLines, lineNumbers, endOffset, endLineNumber, columns)));
+                }
+                pending.put(CompletableFuture.completedFuture(null));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } catch (IOException e) {
+                try {
+                    pending.put(CompletableFuture.failedFuture(e));
+                } catch (InterruptedException interrupted) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+        }, "csv-import-reader");
+        reader.setDaemon(true);
+        reader.start();
+        return reader;
+    }
+    
+    private ParsedChunk parseChunk(List<String> lines, long[] lineNumbers, long endOffset, long endLineNumber, int[] columns) {
+        ParsedChunk chunk = new ParsedChunk(lines.size(), endOffset, endLineNumber);
+        for (int i = 0; i < lines.size(); i++) {
+            String line = lines.get(i);
+            long lineNumber = lineNumbers[i];
+            if (line.isBlank()) {
+                continue;
+            }
+            try {
+                Item item = toItem(CsvCodec.parseLine(line), columns);
+                if (inventoryService.isValidItem(item)) {
+                    chunk.itemLineNumbers[chunk.items.size()] = lineNumber;
+                    chunk.items.add(item);
+                    chunk.itemLines.add(line);
+                } else {
+                    chunk.rejects.add(new Reject(lineNumber, "failed validation", line));
+                }
+            } catch (IllegalArgumentException e) {
+                chunk.rejects.add(new Reject(lineNumber, e.getMessage(), line));
+            }
+        }
+        return chunk;
+    }
+    
+    private static Item toItem(List<String> fields, int[] columns) {
+        String name = field(fields, columns[0]);
+        String description = field(fields, columns[1]);
+        String quantity = field(fields, columns[2]);
+        String price = field(fields, columns[3]);
+        String category = field(fields, columns[4]);
+        String reorderPoint = field(fields, columns[5]);
+        
+        Item item = new Item();
+        item.setName(name == null ? null : name.trim());
+        item.setDescription(description);
+        item.setCategory(category == null ? null : category.trim());
+        try {
+            item.setQuantity(Integer.parseInt(quantity.trim()));
+        } catch (NumberFormatException | NullPointerException e) {
+            throw new IllegalArgumentException("invalid quantity");
+        }
+        try {
+            item.setPrice(Double.parseDouble(price.trim()));
+        } catch (NumberFormatException | NullPointerException e) {
+            throw new IllegalArgumentException("invalid price");
+        }
+        if (reorderPoint != null && !reorderPoint.trim().isEmpty()) {
+            try {
+                item.setReorderPoint(Integer.parseInt(reorderPoint.trim()));
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException("invalid reorder_point");
+            }
+        }
+        return item;
+    }
+    
+    private static String field(List<String> fields, int column) {
+        return column >= 0 && column < fields.size() ? fields.get(column) : null;
+    }
+    
+    private static int[] mapColumns(List<String> header) throws IOException {
+        String[] names = {"name", "description", "quantity", "price", "category", "reorder_point"};
+        int[] columns = new int[names.length];
+        Arrays.fill(columns, -1);
+        for (int i = 0; i < header.size(); i++) {
+            String column = header.get(i).trim().toLowerCase();
+            for (int j = 0; j < names.length; j++) {
+                if (names[j].equals(column)) {
+                    columns[j] = i;
+                }
+            }
+        }
+        for (int j = 0; j < names.length; j++) {
+            if (columns[j] < 0 && j != 1 && j != 5) {
+                throw new IOException("CSV header is missing required column '" + names[j] + "'");
+            }
+        }
+        return columns;
+    }
+    
+    private static String stripBom(String line) {
+        return line.startsWith("\uFEFF") ? line.substring(1) : line;
+    }
+    
+    private static void writeReject(Writer out, Reject reject) throws IOException {
+        out.write(reject.lineNumber + "," + reject.reason.replace(',', ';') + "," + reject.line);
+        out.write(System.lineSeparator());
+    }
+    
+    private record Reject(long lineNumber, String reason, String line) {
+    }
+    
+    private static final class ParsedChunk {
+        private final List<Item> items;
+        private final List<String> itemLines;
+        private final long[] itemLineNumbers;
+        private final List<Reject> rejects = new ArrayList<>();
+        private final long endOffset;
+        private final long endLineNumber;
+        
+        ParsedChunk(int capacity, long endOffset, long endLineNumber) {
+            this.items = new ArrayList<>(capacity);
+            this.itemLines = new ArrayList<>(capacity);
+            this.itemLineNumbers = new long[capacity];
+            this.endOffset = endOffset;
+            this.endLineNumber = endLineNumber;
+        }
+    }
+    
+    private static final class Checkpoint {
+        private long offset;
+        private long lineNumber;
+        private long imported;
+        private long rejected;
+        
+        static Checkpoint load(Path file) throws IOException {
+            Properties props = new Properties();
+            try (Reader in = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+                props.load(in);
+            }
+            Checkpoint checkpoint = new Checkpoint();
+            checkpoint.offset = Long.parseLong(props.getProperty("offset", "0"));
+            checkpoint.lineNumber = Long.parseLong(props.getProperty("lineNumber", "0"));
+            checkpoint.imported = Long.parseLong(props.getProperty("imported", "0"));
+            checkpoint.rejected = Long.parseLong(props.getProperty("rejected", "0"));
+            return checkpoint;
+        }
+        
+        void save(Path file) throws IOException {
+            Properties props = new Properties();
+            props.setProperty("offset", String.valueOf(offset));
+            props.setProperty("lineNumber", String.valueOf(lineNumber));
+            props.setProperty("imported", String.valueOf(imported));
+            props.setProperty("rejected", String.valueOf(rejected));
+            
+            Path temp = file.resolveSibling(file.getFileName() + ".tmp");
+            try (Writer out = Files.newBufferedWriter(temp, StandardCharsets.UTF_8)) {
+                props.store(out, "CSV import checkpoint");
+            }
+            Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        }
+    }
+    
+    // Reads UTF-8 records straight from the channel while tracking the byte offset and line number
+    // of the next one. A line break inside a quoted field does not end the record; quotes are ASCII,
+    // so counting them on the raw bytes is safe, and doubled quotes leave the count even.
+    private static final class RecordReader {
+        private final FileChannel channel;
+        private final ByteBuffer buffer = ByteBuffer.allocateDirect(READ_BUFFER_SIZE);
+        private byte[] line = new byte[256];
+        private long position;
+        private long lineNumber;
+        
+        RecordReader(FileChannel channel) {
+            this.channel = channel;
+            buffer.flip();
+        }
+        
+        long position() {
+            return position;
+        }
+        
+        // Lines read so far, counting the header
+        long lineNumber() {
+            return lineNumber;
+        }
+        
+        void seek(long offset, long lineNumber) throws IOException {
+            channel.position(offset);
+            buffer.clear().flip();
+            position = offset;
+            this.lineNumber = lineNumber;
+        }
+        
+        // An unterminated quote runs to the end of the file and fails to parse there
+        String next() throws IOException {
+            int length = 0;
+            boolean sawAny = false;
+            boolean quoted = false;
+            while (true) {
+                if (!buffer.hasRemaining()) {
+                    buffer.clear();
+                    int read = channel.read(buffer);
+                    buffer.flip();
+                    if (read <= 0) {
+                        if (sawAny) {
+                            lineNumber++;
+                            return decode(length);
+                        }
+                        return null;
+                    }
+                }
+                byte b = buffer.get();
+                position++;
+                sawAny = true;
+                if (b == '"') {
+                    quoted = !quoted;
+                } else if (b == '\n') {
+                    lineNumber++;
+                    if (!quoted) {
+                        return decode(length);
+                    }
+                }
+                if (length == line.length) {
+                    line = Arrays.copyOf(line, length * 2);
+                }
+                line[length++] = b;
+            }
+        }
+        
+        private String decode(int length) {
+            if (length > 0 && line[length - 1] == '\r') {
+                length--;
+            }
+            return new String(line, 0, length, StandardCharsets.UTF_8);
+        }
+    }
+    
+    public static void main(String[] args) throws IOException {
+        if (args.length < 1) {
+            System.err.println("Usage: CsvImporter <file.csv> [--resume]");
+            System.exit(1);
+        }
+        Path file = Paths.get(args[0]);
+        boolean resume = args.length > 1 && "--resume".equals(args[1]);
+        
+        InventoryService service = new InventoryServiceImpl();
+        long[] lastReport = {0};
+        ImportProgress result = new CsvImporter(service).importFile(file, resume, progress -> {
+            long now = System.currentTimeMillis();
+            if (now - lastReport[0] >= 1000) {
+                lastReport[0] = now;
+                System.out.println(progress);
+            }
+        });
+        
+        System.out.println("Import finished: " + result);
+        System.out.println("Rejected rows: " + rejectsFile(file));
+        DatabaseConnection.closeConnection();
+    }
+}
\ No newline at end of file
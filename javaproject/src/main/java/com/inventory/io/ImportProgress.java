@@ -0,0 +1,19 @@
+package com.inventory.io;
+
+public record ImportProgress(long bytesProcessed, long totalBytes, long rowsImported,
+                             long rowsRejected, long elapsedMillis) {
+    
+    public double getPercentComplete() {
+        return totalBytes == 0 ? 100.0 : bytesProcessed * 100.0 / totalBytes;
+    }
+    
+    public double getRowsPerSecond() {
+        return elapsedMillis == 0 ? 0.0 : (rowsImported + rowsRejected) * 1000.0 / elapsedMillis;
+    }
+    
+    @Override
+    public String toString() {
+        return String.format("%.1f%% (%d imported, %d rejected, %.0f rows/s)",
+                           getPercentComplete(), rowsImported, rowsRejected, getRowsPerSecond());
+    }
+}
\ No newline at end of file
@@ -0,0 +1,191 @@
+package com.inventory.io;
+
+import com.inventory.database.DatabaseConnection;
+import com.inventory.model.ItemRecord;
+import com.inventory.service.InventoryService;
+import com.inventory.service.InventoryServiceImpl;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Writes the items table to CSV or JSON Lines while streaming it from the database.
+ * Each row is formatted into one reused StringBuilder and encoded into a fixed
+ * direct buffer, so memory use stays the same however many rows there are.
+ */
+public class ItemExporter {
+    public enum Format { CSV, JSON_LINES }
+    
+    private static final int WRITE_BUFFER_SIZE = 64 * 1024;
+    private static final String CSV_HEADER = "id,name,description,quantity,price,category,created_date,last_updated,reorder_point";
+    
+    private final InventoryService inventoryService;
+    
+    public ItemExporter(InventoryService inventoryService) {
+        this.inventoryService = inventoryService;
+    }
+    
+    public long export(Path file, Format format) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE,
+                 StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            
+            ChannelWriter writer = new ChannelWriter(channel);
+            StringBuilder row = new StringBuilder(256);
+            long[] count = {0};
+            
+            if (format == Format.CSV) {
+                row.append(CSV_HEADER).append('\n');
+                writer.write(row);
+            }
+            
+            try {
+                inventoryService.forEachItemRecord(item -> {
+                    row.setLength(0);
+                    if (format == Format.CSV) {
+                        appendCsv(row, item);
+                    } else {
+                        appendJson(row, item);
+                    }
+                    row.append('\n');
+                    try {
+                        writer.write(row);
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                    count[0]++;
+                });
+            } catch (UncheckedIOException e) {
+                throw e.getCause();
+            }
+            
+            writer.flush();
+            return count[0];
+        }
+    }
+    
+    // Timestamps are turned into LocalDateTime only here, to keep the output format unchanged
+    private static void appendCsv(StringBuilder row, ItemRecord item) {
+        row.append(item.id()).append(',');
+        CsvCodec.appendField(row, item.name());
+        row.append(',');
+        CsvCodec.appendField(row, item.description());
+        row.append(',').append(item.quantity());
+        row.append(',').append(item.price()).append(',');
+        CsvCodec.appendField(row, item.category());
+        row.append(',');
+        if (item.createdMillis() != 0) {
+            row.append(item.createdDate());
+        }
+        row.append(',');
+        if (item.lastUpdatedMillis() != 0) {
+            row.append(item.lastUpdated());
+        }
+        row.append(',');
+        if (item.reorderPoint() != null) {
+            row.append(item.reorderPoint());
+        }
+    }
+    
+    private static void appendJson(StringBuilder row, ItemRecord item) {
+        row.append("{\"id\":").append(item.id());
+        row.append(",\"name\":");
+        appendJsonString(row, item.name());
+        row.append(",\"description\":");
+        appendJsonString(row, item.description());
+        row.append(",\"quantity\":").append(item.quantity());
+        row.append(",\"price\":").append(item.price());
+        row.append(",\"category\":");
+        appendJsonString(row, item.category());
+        row.append(",\"created_date\":");
+        appendJsonString(row, item.createdMillis() == 0 ? null : item.createdDate().toString());
+        row.append(",\"last_updated\":");
+        appendJsonString(row, item.lastUpdatedMillis() == 0 ? null : item.lastUpdated().toString());
+        row.append(",\"reorder_point\":").append(item.reorderPoint());
+        row.append('}');
+    }
+    
+    private static void appendJsonString(StringBuilder row, String value) {
+        if (value == null) {
+            row.append("null");
+            return;
+        }
+        row.append('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '"' -> row.append("\\\"");
+                case '\\' -> row.append("\\\\");
+                case '\n' -> row.append("\\n");
+                case '\r' -> row.append("\\r");
+                case '\t' -> row.append("\\t");
+                default -> {
+                    if (c < 0x20) {
+                        row.append(String.format("\\u%04x", (int) c));
+                    } else {
+                        row.append(c);
+                    }
+                }
+            }
+        }
+        row.append('"');
+    }
+    
+    private static final class ChannelWriter {
+        private final FileChannel channel;
+        private final ByteBuffer buffer = ByteBuffer.allocateDirect(WRITE_BUFFER_SIZE);
+        private final CharsetEncoder encoder = StandardCharsets.UTF_8.newEncoder();
+        
+        ChannelWriter(FileChannel channel) {
+            this.channel = channel;
+        }
+        
+        void write(CharSequence text) throws IOException {
+            CharBuffer chars = CharBuffer.wrap(text);
+            while (true) {
+                CoderResult result = encoder.encode(chars, buffer, false);
+                if (result.isOverflow()) {
+                    drain();
+                } else if (result.isError()) {
+                    result.throwException();
+                } else {
+                    break;
+                }
+            }
+        }
+        
+        void flush() throws IOException {
+            encoder.encode(CharBuffer.allocate(0), buffer, true);
+            drain();
+        }
+        
+        private void drain() throws IOException {
+            buffer.flip();
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            buffer.clear();
+        }
+    }
+    
+    public static void main(String[] args) throws IOException {
+        if (args.length < 1) {
+            System.err.println("Usage: ItemExporter <output file> [csv|jsonl]");
+            System.exit(1);
+        }
+        Path file = Paths.get(args[0]);
+        Format format = args.length > 1 && "jsonl".equalsIgnoreCase(args[1]) ? Format.JSON_LINES : Format.CSV;
+        
+        long start = System.currentTimeMillis();
+        long rows = new ItemExporter(new InventoryServiceImpl()).export(file, format);
+        System.out.printf("Exported %d items to %s in %d ms%n", rows, file, System.currentTimeMillis() - start);
+        DatabaseConnection.closeConnection();
+    }
+}
\ No newline at end of file
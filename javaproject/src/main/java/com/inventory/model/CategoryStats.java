@@ -0,0 +1,6 @@
+package com.inventory.model;
+
+// Per-category aggregates, computed by the database in one GROUP BY
+public record CategoryStats(String category, int itemCount, long totalQuantity, double totalValue,
+                            double minPrice, double maxPrice, double avgPrice) {
+}
\ No newline at end of file
@@ -0,0 +1,5 @@
+package com.inventory.model;
+
+// Running totals kept by triggers; category is null for the inventory as a whole
+public record InventoryTotals(String category, int itemCount, long totalQuantity, double totalValue) {
+}
\ No newline at end of file
@@ -9,13 +9,16 @@ public class Item {
     private int quantity;
     private double price;
     private String category;
+    private Integer reorderPoint;
     private LocalDateTime createdDate;
     private LocalDateTime lastUpdated;
+    private int version;
     
     // Constructors
     public Item() {
-        this.createdDate = LocalDateTime.now();
-        this.lastUpdated = LocalDateTime.now();
+        LocalDateTime now = LocalDateTime.now();
+        this.createdDate = now;
+        this.lastUpdated = now;
     }
     
     public Item(String name, String description, int quantity, double price, String category) {
@@ -27,6 +30,26 @@ public class Item {
         this.category = category;
     }
     
+    // Every field given, as when mapping a row; does not read the clock
+    public Item(int id, String name, String description, int quantity, double price, String category,
+                Integer reorderPoint, LocalDateTime createdDate, LocalDateTime lastUpdated, int version) {
+        this.id = id;
+        this.name = name;
+        this.description = description;
+        this.quantity = quantity;
+        this.price = price;
+        this.category = category;
+        this.reorderPoint = reorderPoint;
+        this.createdDate = createdDate;
+        this.lastUpdated = lastUpdated;
+        this.version = version;
+    }
+    
+    public Item(Item other) {
+        this(other.id, other.name, other.description, other.quantity, other.price, other.category,
+             other.reorderPoint, other.createdDate, other.lastUpdated, other.version);
+    }
+    
     // Getters and Setters
     public int getId() { return id; }
     public void setId(int id) { this.id = id; }
@@ -61,12 +84,23 @@ public class Item {
         this.lastUpdated = LocalDateTime.now();
     }
     
+    // Own low-stock threshold; null means the caller's default threshold applies
+    public Integer getReorderPoint() { return reorderPoint; }
+    public void setReorderPoint(Integer reorderPoint) {
+        this.reorderPoint = reorderPoint;
+        this.lastUpdated = LocalDateTime.now();
+    }
+    
     public LocalDateTime getCreatedDate() { return createdDate; }
     public void setCreatedDate(LocalDateTime createdDate) { this.createdDate = createdDate; }
     
     public LocalDateTime getLastUpdated() { return lastUpdated; }
     public void setLastUpdated(LocalDateTime lastUpdated) { this.lastUpdated = lastUpdated; }
     
+    // Row version this copy was read at; updateItem fails with a conflict if it has moved on
+    public int getVersion() { return version; }
+    public void setVersion(int version) { this.version = version; }
+    
     @Override
     public String toString() {
         return String.format("Item{id=%d, name='%s', quantity=%d, price=%.2f}", 
@@ -0,0 +1,90 @@
+package com.inventory.model;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+
+/**
+ * Compact, immutable form of an item for bulk reads. Timestamps are epoch milliseconds
+ * (0 when unknown) and the price is held in cents, so a row costs one object plus its
+ * strings. Convert with toItem() or from(Item) where the mutable Item API is needed.
+ */
+public record ItemRecord(int id, String name, String description, int quantity, long priceCents, String category,
+                         Integer reorderPoint, long createdMillis, long lastUpdatedMillis, int version) {
+    
+    public double price() {
+        return priceCents / 100.0;
+    }
+    
+    public LocalDateTime createdDate() {
+        return toLocalDateTime(createdMillis);
+    }
+    
+    public LocalDateTime lastUpdated() {
+        return toLocalDateTime(lastUpdatedMillis);
+    }
+    
+    public Item toItem() {
+        return new Item(id, name, description, quantity, price(), category, reorderPoint,
+                        createdDate(), lastUpdated(), version);
+    }
+    
+    public static ItemRecord from(Item item) {
+        return new ItemRecord(item.getId(), item.getName(), item.getDescription(), item.getQuantity(),
+                              toCents(item.getPrice()), item.getCategory(), item.getReorderPoint(),
+                              toEpochMillis(item.getCreatedDate()), toEpochMillis(item.getLastUpdated()),
+                              item.getVersion());
+    }
+    
+    public static long toCents(double price) {
+        return Math.round(price * 100);
+    }
+    
+    public static Builder builder() {
+        return new Builder();
+    }
+    
+    private static LocalDateTime toLocalDateTime(long epochMillis) {
+        return epochMillis == 0 ? null : LocalDateTime.ofInstant(Instant.ofEpochMilli(epochMillis), ZoneId.systemDefault());
+    }
+    
+    private static long toEpochMillis(LocalDateTime dateTime) {
+        return dateTime == null ? 0 : dateTime.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+    
+    // Timestamps left unset are filled from a single clock read in build()
+    public static final class Builder {
+        private int id;
+        private String name;
+        private String description;
+        private int quantity;
+        private long priceCents;
+        private String category;
+        private Integer reorderPoint;
+        private long createdMillis;
+        private long lastUpdatedMillis;
+        private int version;
+        
+        private Builder() {
+        }
+        
+        public Builder id(int id) { this.id = id; return this; }
+        public Builder name(String name) { this.name = name; return this; }
+        public Builder description(String description) { this.description = description; return this; }
+        public Builder quantity(int quantity) { this.quantity = quantity; return this; }
+        public Builder price(double price) { this.priceCents = toCents(price); return this; }
+        public Builder priceCents(long priceCents) { this.priceCents = priceCents; return this; }
+        public Builder category(String category) { this.category = category; return this; }
+        public Builder reorderPoint(Integer reorderPoint) { this.reorderPoint = reorderPoint; return this; }
+        public Builder createdMillis(long createdMillis) { this.createdMillis = createdMillis; return this; }
+        public Builder lastUpdatedMillis(long lastUpdatedMillis) { this.lastUpdatedMillis = lastUpdatedMillis; return this; }
+        public Builder version(int version) { this.version = version; return this; }
+        
+        public ItemRecord build() {
+            long now = createdMillis == 0 || lastUpdatedMillis == 0 ? System.currentTimeMillis() : 0;
+            return new ItemRecord(id, name, description, quantity, priceCents, category, reorderPoint,
+                                  createdMillis != 0 ? createdMillis : now,
+                                  lastUpdatedMillis != 0 ? lastUpdatedMillis : now, version);
+        }
+    }
+}
\ No newline at end of file
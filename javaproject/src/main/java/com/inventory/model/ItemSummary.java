@@ -0,0 +1,8 @@
+package com.inventory.model;
+
+import java.time.LocalDateTime;
+
+// Read-only projection of an item for lists and reports; leaves out the description and created date
+public record ItemSummary(int id, String name, int quantity, double price, String category,
+                          Integer reorderPoint, LocalDateTime lastUpdated) {
+}
\ No newline at end of file
@@ -0,0 +1,10 @@
+package com.inventory.model;
+
+/**
+ * A full-text search hit. Matched words in the name and description snippet are
+ * wrapped in MATCH_START / MATCH_END; score is larger for better matches.
+ */
+public record SearchResult(ItemSummary item, double score, String highlightedName, String descriptionSnippet) {
+    public static final String MATCH_START = "[";
+    public static final String MATCH_END = "]";
+}
\ No newline at end of file
@@ -0,0 +1,5 @@
+package com.inventory.model;
+
+// A quantity change for one item, as recorded in the stock_movements ledger
+public record StockAdjustment(int itemId, int delta, String reason, String source) {
+}
\ No newline at end of file
@@ -0,0 +1,231 @@
+package com.inventory.service;
+
+import com.inventory.dao.BatchResult;
+import com.inventory.dao.Page;
+import com.inventory.dao.UpdateResult;
+import com.inventory.model.CategoryStats;
+import com.inventory.model.InventoryTotals;
+import com.inventory.model.Item;
+import com.inventory.model.ItemRecord;
+import com.inventory.model.ItemSummary;
+import com.inventory.model.SearchResult;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * Non-blocking front for an InventoryService. Every call runs on its own virtual thread
+ * and returns a CompletableFuture, so independent queries can be started together and
+ * joined with CompletableFuture.allOf. Cancelling a returned future, or letting it time out
+ * with orTimeout, interrupts the call; a write that already reached the database still commits.
+ * Reads time out after readTimeoutMillis unless that is 0.
+ */
+public class AsyncInventoryService implements AutoCloseable {
+    private static final long READ_TIMEOUT_MS = Long.getLong("inventory.async.readTimeoutMs", 30_000);
+    
+    private final InventoryService inventoryService;
+    private final ExecutorService executor;
+    private final long readTimeoutMillis;
+    
+    public AsyncInventoryService(InventoryService inventoryService) {
+        this(inventoryService, READ_TIMEOUT_MS);
+    }
+    
+    public AsyncInventoryService(InventoryService inventoryService, long readTimeoutMillis) {
+        if (readTimeoutMillis < 0) {
+            throw new IllegalArgumentException("readTimeoutMillis must not be negative");
+        }
+        this.inventoryService = inventoryService;
+        this.readTimeoutMillis = readTimeoutMillis;
+        this.executor = Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("inventory-async-", 0).factory());
+    }
+    
+    // The wrapped service, for callers that are already off the event thread
+    public InventoryService getService() {
+        return inventoryService;
+    }
+    
+    // Item management
+    public CompletableFuture<Boolean> addItem(Item item) {
+        return write(() -> inventoryService.addItem(item));
+    }
+    
+    public CompletableFuture<UpdateResult> updateItem(Item item) {
+        return write(() -> inventoryService.updateItem(item));
+    }
+    
+    public CompletableFuture<Boolean> deleteItem(int id) {
+        return write(() -> inventoryService.deleteItem(id));
+    }
+    
+    public CompletableFuture<Item> getItem(int id) {
+        return read(() -> inventoryService.getItem(id));
+    }
+    
+    public CompletableFuture<List<Item>> getAllItems() {
+        return read(inventoryService::getAllItems);
+    }
+    
+    // The action runs on the call's virtual thread, not the caller's
+    public CompletableFuture<Void> forEachItem(Consumer<Item> action) {
+        return read(() -> {
+            inventoryService.forEachItem(action);
+            return null;
+        });
+    }
+    
+    public CompletableFuture<Void> forEachItemRecord(Consumer<ItemRecord> action) {
+        return read(() -> {
+            inventoryService.forEachItemRecord(action);
+            return null;
+        });
+    }
+    
+    // Batch operations
+    public CompletableFuture<BatchResult> addItems(List<Item> items) {
+        return write(() -> inventoryService.addItems(items));
+    }
+    
+    public CompletableFuture<BatchResult> updateQuantities(Map<Integer, Integer> quantities) {
+        return write(() -> inventoryService.updateQuantities(quantities));
+    }
+    
+    public CompletableFuture<BatchResult> deleteItems(int[] ids) {
+        return write(() -> inventoryService.deleteItems(ids));
+    }
+    
+    // Search and filter
+    public CompletableFuture<List<Item>> searchItems(String searchTerm) {
+        return read(() -> inventoryService.searchItems(searchTerm));
+    }
+    
+    public CompletableFuture<List<SearchResult>> searchItemsRanked(String searchTerm, int limit) {
+        return read(() -> inventoryService.searchItemsRanked(searchTerm, limit));
+    }
+    
+    public CompletableFuture<List<Item>> getItemsByCategory(String category) {
+        return read(() -> inventoryService.getItemsByCategory(category));
+    }
+    
+    public CompletableFuture<Page<ItemSummary>> getItemsPage(String pageToken, int pageSize) {
+        return read(() -> inventoryService.getItemsPage(pageToken, pageSize));
+    }
+    
+    public CompletableFuture<Page<ItemSummary>> searchItemsPage(String searchTerm, String pageToken, int pageSize) {
+        return read(() -> inventoryService.searchItemsPage(searchTerm, pageToken, pageSize));
+    }
+    
+    public CompletableFuture<Page<ItemSummary>> searchItemsPage(String searchTerm, String category, String pageToken, int pageSize) {
+        return read(() -> inventoryService.searchItemsPage(searchTerm, category, pageToken, pageSize));
+    }
+    
+    public CompletableFuture<Page<ItemSummary>> getItemsByCategoryPage(String category, String pageToken, int pageSize) {
+        return read(() -> inventoryService.getItemsByCategoryPage(category, pageToken, pageSize));
+    }
+    
+    public CompletableFuture<ChangeSet> getChangesSince(Instant since) {
+        return read(() -> inventoryService.getChangesSince(since));
+    }
+    
+    public CompletableFuture<List<ItemSummary>> getRecentlyUpdated(int limit) {
+        return read(() -> inventoryService.getRecentlyUpdated(limit));
+    }
+    
+    // Inventory operations
+    public CompletableFuture<Boolean> adjustQuantity(int itemId, int adjustment) {
+        return write(() -> inventoryService.adjustQuantity(itemId, adjustment));
+    }
+    
+    public CompletableFuture<Boolean> adjustQuantity(int itemId, int adjustment, String reason, String source) {
+        return write(() -> inventoryService.adjustQuantity(itemId, adjustment, reason, source));
+    }
+    
+    public CompletableFuture<Boolean> setQuantity(int itemId, int newQuantity) {
+        return write(() -> inventoryService.setQuantity(itemId, newQuantity));
+    }
+    
+    // Reports and statistics
+    public CompletableFuture<Integer> getTotalItemCount() {
+        return read(inventoryService::getTotalItemCount);
+    }
+    
+    public CompletableFuture<Double> getTotalInventoryValue() {
+        return read(inventoryService::getTotalInventoryValue);
+    }
+    
+    public CompletableFuture<List<String>> getCategories() {
+        return read(inventoryService::getCategories);
+    }
+    
+    public CompletableFuture<List<CategoryStats>> getCategoryStats() {
+        return read(inventoryService::getCategoryStats);
+    }
+    
+    public CompletableFuture<InventoryTotals> getInventoryTotals() {
+        return read(inventoryService::getInventoryTotals);
+    }
+    
+    public CompletableFuture<List<InventoryTotals>> getCategoryTotals() {
+        return read(inventoryService::getCategoryTotals);
+    }
+    
+    public CompletableFuture<List<ItemSummary>> getLowStockItems(int threshold) {
+        return read(() -> inventoryService.getLowStockItems(threshold));
+    }
+    
+    public CompletableFuture<Integer> countLowStock(int threshold) {
+        return read(() -> inventoryService.countLowStock(threshold));
+    }
+    
+    public CompletableFuture<Boolean> itemExists(String name) {
+        return read(() -> inventoryService.itemExists(name));
+    }
+    
+    // Stops taking calls and waits for running ones; the wrapped service is left open
+    @Override
+    public void close() {
+        executor.shutdown();
+        try {
+            if (!executor.awaitTermination(10, TimeUnit.SECONDS)) {
+                executor.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            executor.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+    }
+    
+    private <T> CompletableFuture<T> read(Callable<T> call) {
+        CompletableFuture<T> future = submit(call);
+        return readTimeoutMillis > 0 ? future.orTimeout(readTimeoutMillis, TimeUnit.MILLISECONDS) : future;
+    }
+    
+    private <T> CompletableFuture<T> write(Callable<T> call) {
+        return submit(call);
+    }
+    
+    private <T> CompletableFuture<T> submit(Callable<T> call) {
+        CompletableFuture<T> future = new CompletableFuture<>();
+        Future<?> running = executor.submit(() -> {
+            try {
+                future.complete(call.call());
+            } catch (Throwable e) {
+                future.completeExceptionally(e);
+            }
+        });
+        // Cancelled or timed out: stop the call if it is still running; a finished call ignores this
+        future.whenComplete((result, failure) -> {
+            if (failure != null) {
+                running.cancel(true);
+            }
+        });
+        return future;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,10 @@
+package com.inventory.service;
+
+// Counters since the cache was created; size is the number of items held now
+public record CacheStats(long hits, long misses, long evictions, int size) {
+    
+    public double hitRate() {
+        long requests = hits + misses;
+        return requests == 0 ? 0.0 : (double) hits / requests;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,391 @@
+package com.inventory.service;
+
+import com.inventory.dao.Page;
+import com.inventory.dao.PageToken;
+import com.inventory.model.Item;
+import com.inventory.model.ItemSummary;
+import com.inventory.util.collections.IntArrayList;
+import com.inventory.util.collections.IntObjectHashMap;
+import com.inventory.util.collections.SortedChunkList;
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+
+/**
+ * Immutable in-memory copy of the items table with prebuilt indexes: by id, by
+ * category, by name and by quantity. Writers build a new snapshot with withChanges
+ * and publish it through a volatile field, so readers never lock or wait on the
+ * database. The items held here are never handed out; readers get copies.
+ *
+ * The indexes are chunked, so a snapshot shares all but the touched chunks with the one it
+ * was made from and a single-row write costs a few chunk copies rather than the catalog size.
+ */
+final class CatalogSnapshot {
+    // Same orders as the SQL the DAO runs: ORDER BY name and ORDER BY quantity, name
+    private static final Comparator<Item> BY_NAME =
+        Comparator.comparing(Item::getName).thenComparingInt(Item::getId);
+    private static final Comparator<Item> BY_QUANTITY =
+        Comparator.comparingInt(Item::getQuantity).thenComparing(BY_NAME);
+    
+    // Ids per shard the id index aims for; a write copies only the shard of each id it touches
+    private static final int ID_SHARD_SIZE = 1_024;
+    
+    private final IntObjectHashMap<Item>[] byId;
+    private final SortedChunkList<Item> byName;
+    private final Map<String, SortedChunkList<Item>> byCategory;
+    // Items without a reorder point, by quantity, so low stock for a threshold is a prefix
+    private final SortedChunkList<Item> defaultThresholdByQuantity;
+    // Items at or below their own reorder point; that does not depend on the caller's threshold
+    private final SortedChunkList<Item> atOrBelowOwnReorderPoint;
+    
+    private CatalogSnapshot(IntObjectHashMap<Item>[] byId, SortedChunkList<Item> byName,
+                            Map<String, SortedChunkList<Item>> byCategory,
+                            SortedChunkList<Item> defaultThresholdByQuantity,
+                            SortedChunkList<Item> atOrBelowOwnReorderPoint) {
+        this.byId = byId;
+        this.byName = byName;
+        this.byCategory = byCategory;
+        this.defaultThresholdByQuantity = defaultThresholdByQuantity;
+        this.atOrBelowOwnReorderPoint = atOrBelowOwnReorderPoint;
+    }
+    
+    // Takes ownership of the items, which must not be changed afterwards
+    static CatalogSnapshot of(List<Item> items) {
+        List<Item> byName = new ArrayList<>(items);
+        byName.sort(BY_NAME);
+        
+        IntObjectHashMap<Item>[] ids = newIdShards(items.size());
+        Map<String, List<Item>> categories = new LinkedHashMap<>();
+        List<Item> defaultThreshold = new ArrayList<>();
+        List<Item> ownReorderPoint = new ArrayList<>();
+        for (Item item : byName) {
+            shard(ids, item.getId()).put(item.getId(), item);
+            categories.computeIfAbsent(item.getCategory(), c -> new ArrayList<>()).add(item);
+            if (item.getReorderPoint() == null) {
+                defaultThreshold.add(item);
+            } else if (atOrBelowOwnReorderPoint(item)) {
+                ownReorderPoint.add(item);
+            }
+        }
+        defaultThreshold.sort(BY_QUANTITY);
+        ownReorderPoint.sort(BY_QUANTITY);
+        
+        Map<String, SortedChunkList<Item>> byCategory = new LinkedHashMap<>();
+        categories.forEach((category, members) -> byCategory.put(category, SortedChunkList.of(members, BY_NAME)));
+        return new CatalogSnapshot(ids, SortedChunkList.of(byName, BY_NAME), byCategory,
+                                   SortedChunkList.of(defaultThreshold, BY_QUANTITY),
+                                   SortedChunkList.of(ownReorderPoint, BY_QUANTITY));
+    }
+    
+    // A new snapshot with the given rows replaced or added and the given ids removed
+    CatalogSnapshot withChanges(Collection<Item> upserts, IntArrayList deletedIds) {
+        Editor editor = new Editor();
+        for (Item item : upserts) {
+            editor.put(item.getId(), new Item(item));
+        }
+        deletedIds.forEach(id -> editor.put(id, null));
+        return editor.build();
+    }
+    
+    // Each row copies the id shard and the chunks it moves out of and into; the low-stock
+    // indexes are only touched for rows that are or were in them
+    private final class Editor {
+        private final IntObjectHashMap<Item>[] ids = byId.clone();
+        private final boolean[] copiedShards = new boolean[ids.length];
+        private final Map<String, SortedChunkList<Item>> categories = new LinkedHashMap<>(byCategory);
+        private SortedChunkList<Item> names = byName;
+        private SortedChunkList<Item> defaultThreshold = defaultThresholdByQuantity;
+        private SortedChunkList<Item> ownReorderPoint = atOrBelowOwnReorderPoint;
+        
+        // A null item removes the id
+        void put(int id, Item item) {
+            int shard = shardIndex(ids, id);
+            if (!copiedShards[shard]) {
+                ids[shard] = new IntObjectHashMap<>(ids[shard]);
+                copiedShards[shard] = true;
+            }
+            Item old = item != null ? ids[shard].put(id, item) : ids[shard].remove(id);
+            if (old == null && item == null) {
+                return;
+            }
+            
+            names = names.with(old, item);
+            if (old != null && item != null && Objects.equals(old.getCategory(), item.getCategory())) {
+                categories.put(item.getCategory(), categories.get(item.getCategory()).with(old, item));
+            } else {
+                if (old != null) {
+                    SortedChunkList<Item> members = categories.get(old.getCategory()).with(old, null);
+                    if (members.isEmpty()) {
+                        categories.remove(old.getCategory());
+                    } else {
+                        categories.put(old.getCategory(), members);
+                    }
+                }
+                if (item != null) {
+                    categories.put(item.getCategory(), categories
+                        .getOrDefault(item.getCategory(), SortedChunkList.empty(BY_NAME)).with(null, item));
+                }
+            }
+            
+            defaultThreshold = defaultThreshold.with(
+                old != null && old.getReorderPoint() == null ? old : null,
+                item != null && item.getReorderPoint() == null ? item : null);
+            ownReorderPoint = ownReorderPoint.with(
+                old != null && atOrBelowOwnReorderPoint(old) ? old : null,
+                item != null && atOrBelowOwnReorderPoint(item) ? item : null);
+        }
+        
+        CatalogSnapshot build() {
+            IntObjectHashMap<Item>[] shards = ids;
+            // Re-split once the catalog has doubled past the shard size, so the cost stays amortized
+            if (names.size() > 2 * shards.length * ID_SHARD_SIZE) {
+                shards = newIdShards(names.size());
+                for (Item item : names) {
+                    shard(shards, item.getId()).put(item.getId(), item);
+                }
+            }
+            return new CatalogSnapshot(shards, names, categories, defaultThreshold, ownReorderPoint);
+        }
+    }
+    
+    private static boolean atOrBelowOwnReorderPoint(Item item) {
+        return item.getReorderPoint() != null && item.getQuantity() <= item.getReorderPoint();
+    }
+    
+    // A power of two, fixed for the life of the snapshot and those made from it
+    @SuppressWarnings("unchecked")
+    private static IntObjectHashMap<Item>[] newIdShards(int expectedSize) {
+        int count = Integer.highestOneBit(Math.max(1, expectedSize / ID_SHARD_SIZE));
+        IntObjectHashMap<Item>[] shards = new IntObjectHashMap[count];
+        for (int i = 0; i < count; i++) {
+            shards[i] = new IntObjectHashMap<>(ID_SHARD_SIZE);
+        }
+        return shards;
+    }
+    
+    // Ids are handed out in sequence, so the low bits spread them evenly
+    private static int shardIndex(IntObjectHashMap<Item>[] shards, int id) {
+        return id & (shards.length - 1);
+    }
+    
+    private static IntObjectHashMap<Item> shard(IntObjectHashMap<Item>[] shards, int id) {
+        return shards[shardIndex(shards, id)];
+    }
+    
+    int size() {
+        return byName.size();
+    }
+    
+    Item get(int id) {
+        Item item = shard(byId, id).get(id);
+        return item == null ? null : new Item(item);
+    }
+    
+    List<Item> getAll() {
+        return copies(byName);
+    }
+    
+    void forEach(Consumer<Item> action) {
+        for (Item item : byName) {
+            action.accept(new Item(item));
+        }
+    }
+    
+    List<Item> getByCategory(String category) {
+        SortedChunkList<Item> members = byCategory.get(category);
+        return members == null ? new ArrayList<>() : copies(members);
+    }
+    
+    List<String> getCategories() {
+        List<String> categories = new ArrayList<>(byCategory.keySet());
+        Collections.sort(categories);
+        return categories;
+    }
+    
+    // Every search word must start a word of the name or description; name matches come first
+    List<Item> search(String searchTerm) {
+        List<String> tokens = tokenize(searchTerm);
+        List<Item> nameMatches = new ArrayList<>();
+        List<Item> descriptionMatches = new ArrayList<>();
+        if (tokens.isEmpty()) {
+            return nameMatches;
+        }
+        for (Item item : byName) {
+            String name = fold(item.getName());
+            if (allPrefixed(tokens, name, "")) {
+                nameMatches.add(new Item(item));
+            } else if (item.getDescription() != null && allPrefixed(tokens, name, fold(item.getDescription()))) {
+                descriptionMatches.add(new Item(item));
+            }
+        }
+        nameMatches.addAll(descriptionMatches);
+        return nameMatches;
+    }
+    
+    // The same pages, in the same (name, id) order and with the same tokens, as the DAO's keyset
+    // pagination, so either can continue the other's pages
+    Page<ItemSummary> getPage(String pageToken, int pageSize) {
+        return page(byName, null, pageToken, pageSize);
+    }
+    
+    Page<ItemSummary> getCategoryPage(String category, String pageToken, int pageSize) {
+        return page(byCategory.getOrDefault(category, SortedChunkList.empty(BY_NAME)), null, pageToken, pageSize);
+    }
+    
+    // A null category searches them all
+    Page<ItemSummary> searchPage(String searchTerm, String category, String pageToken, int pageSize) {
+        List<String> tokens = tokenize(searchTerm);
+        if (tokens.isEmpty()) {
+            return new Page<>(new ArrayList<>(), null, 0);
+        }
+        SortedChunkList<Item> items = category == null
+            ? byName
+            : byCategory.getOrDefault(category, SortedChunkList.empty(BY_NAME));
+        return page(items, item -> matches(tokens, item), pageToken, pageSize);
+    }
+    
+    private static Page<ItemSummary> page(SortedChunkList<Item> items, Predicate<Item> filter,
+                                          String pageToken, int pageSize) {
+        if (pageSize < 1) {
+            throw new IllegalArgumentException("pageSize must be at least 1");
+        }
+        PageToken after = pageToken == null ? null : PageToken.decode(pageToken);
+        long estimatedTotal;
+        if (after != null) {
+            estimatedTotal = after.estimatedTotal();
+        } else if (filter == null) {
+            estimatedTotal = items.size();
+        } else {
+            estimatedTotal = 0;
+            for (Item item : items) {
+                if (filter.test(item)) {
+                    estimatedTotal++;
+                }
+            }
+        }
+        
+        // Seek past the last (name, id) served
+        int start = after == null ? 0 : items.countLeading(item -> {
+            int byName = item.getName().compareTo(after.lastName());
+            return byName < 0 || byName == 0 && item.getId() <= after.lastId();
+        });
+        List<ItemSummary> page = new ArrayList<>();
+        String nextPageToken = null;
+        for (Iterator<Item> it = items.iterator(start); it.hasNext(); ) {
+            Item item = it.next();
+            if (filter != null && !filter.test(item)) {
+                continue;
+            }
+            if (page.size() == pageSize) {
+                ItemSummary last = page.get(pageSize - 1);
+                nextPageToken = new PageToken(last.name(), last.id(), estimatedTotal).encode();
+                break;
+            }
+            page.add(summarize(item));
+        }
+        return new Page<>(page, nextPageToken, estimatedTotal);
+    }
+    
+    List<ItemSummary> getLowStock(int threshold) {
+        List<ItemSummary> lowStock = new ArrayList<>();
+        Iterator<Item> own = atOrBelowOwnReorderPoint.iterator();
+        Item nextOwn = own.hasNext() ? own.next() : null;
+        for (Item item : defaultThresholdByQuantity) {
+            if (item.getQuantity() > threshold) {
+                break;
+            }
+            while (nextOwn != null && BY_QUANTITY.compare(nextOwn, item) < 0) {
+                lowStock.add(summarize(nextOwn));
+                nextOwn = own.hasNext() ? own.next() : null;
+            }
+            lowStock.add(summarize(item));
+        }
+        while (nextOwn != null) {
+            lowStock.add(summarize(nextOwn));
+            nextOwn = own.hasNext() ? own.next() : null;
+        }
+        return lowStock;
+    }
+    
+    int countLowStock(int threshold) {
+        // Binary search for the end of the prefix at or below the threshold
+        return defaultThresholdByQuantity.countLeading(item -> item.getQuantity() <= threshold)
+            + atOrBelowOwnReorderPoint.size();
+    }
+    
+    private static ItemSummary summarize(Item item) {
+        return new ItemSummary(item.getId(), item.getName(), item.getQuantity(), item.getPrice(),
+                               item.getCategory(), item.getReorderPoint(), item.getLastUpdated());
+    }
+    
+    private static List<Item> copies(SortedChunkList<Item> items) {
+        List<Item> copies = new ArrayList<>(items.size());
+        for (Item item : items) {
+            copies.add(new Item(item));
+        }
+        return copies;
+    }
+    
+    private static boolean matches(List<String> tokens, Item item) {
+        return allPrefixed(tokens, fold(item.getName()),
+                           item.getDescription() == null ? "" : fold(item.getDescription()));
+    }
+    
+    private static boolean allPrefixed(List<String> tokens, String name, String description) {
+        for (String token : tokens) {
+            if (!startsWord(name, token) && !startsWord(description, token)) {
+                return false;
+            }
+        }
+        return true;
+    }
+    
+    private static boolean startsWord(String text, String prefix) {
+        for (int at = text.indexOf(prefix); at >= 0; at = text.indexOf(prefix, at + 1)) {
+            if (at == 0 || !Character.isLetterOrDigit(text.charAt(at - 1))) {
+                return true;
+            }
+        }
+        return false;
+    }
+    
+    // Splits on anything but letters and digits, like the full-text index does
+    private static List<String> tokenize(String text) {
+        List<String> tokens = new ArrayList<>();
+        if (text == null) {
+            return tokens;
+        }
+        int start = -1;
+        for (int i = 0; i <= text.length(); i++) {
+            boolean wordChar = i < text.length() && Character.isLetterOrDigit(text.charAt(i));
+            if (wordChar && start < 0) {
+                start = i;
+            } else if (!wordChar && start >= 0) {
+                tokens.add(fold(text.substring(start, i)));
+                start = -1;
+            }
+        }
+        return tokens;
+    }
+    
+    // Lower case without diacritics, matching the remove_diacritics option of the FTS5 index
+    private static String fold(String word) {
+        String lower = word.toLowerCase(Locale.ROOT);
+        for (int i = 0; i < lower.length(); i++) {
+            if (lower.charAt(i) > 0x7F) {
+                return Normalizer.normalize(lower, Normalizer.Form.NFD).replaceAll("\\p{M}", "");
+            }
+        }
+        return lower;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,18 @@
+package com.inventory.service;
+
+import com.inventory.model.ItemSummary;
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Items changed and ids deleted since a previous sync. Apply the changes first and
+ * the deletions after them, then pass cursor() to the next getChangesSince call.
+ * When complete() is false there were too many changes to list and the caller
+ * should reload instead.
+ */
+public record ChangeSet(List<ItemSummary> changed, List<Integer> deletedIds, Instant cursor, boolean complete) {
+    
+    public boolean isEmpty() {
+        return changed.isEmpty() && deletedIds.isEmpty();
+    }
+}
\ No newline at end of file
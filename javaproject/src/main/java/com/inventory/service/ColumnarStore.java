@@ -0,0 +1,262 @@
+package com.inventory.service;
+
+import com.inventory.dao.CategoryDictionary;
+import com.inventory.dao.ItemDAO;
+import com.inventory.model.CategoryStats;
+import com.inventory.model.Item;
+import com.inventory.model.ItemRecord;
+import com.inventory.model.ItemSummary;
+import com.inventory.util.collections.IntArrayList;
+import com.inventory.util.collections.IntIntHashMap;
+import java.lang.foreign.Arena;
+import java.lang.foreign.MemorySegment;
+import java.lang.foreign.ValueLayout;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import static java.lang.foreign.ValueLayout.JAVA_INT;
+import static java.lang.foreign.ValueLayout.JAVA_LONG;
+
+/**
+ * Column-per-field copy of the numbers that the category breakdown and low stock reads scan:
+ * quantity, category id, reorder point, price in cents and last update. Small catalogs
+ * keep the columns in arrays on the heap, large ones in off-heap segments; the scan
+ * kernels are the same counted loops over either. Rows are unordered and kept dense,
+ * a delete moves the last row into the gap. Names stay on the heap and are only read
+ * for the rows a low stock scan returns.
+ */
+class ColumnarStore {
+    private static final int NO_REORDER_POINT = -1;
+    private static final int NO_ROW = -1;
+    private static final int MIN_CAPACITY = 1_024;
+    
+    private static final Comparator<ItemSummary> BY_QUANTITY_AND_NAME =
+        Comparator.comparingInt(ItemSummary::quantity).thenComparing(ItemSummary::name);
+    
+    private final CategoryDictionary categories;
+    private final int offHeapRows;
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final IntIntHashMap rowOf = new IntIntHashMap();
+    
+    private int size;
+    private int capacity;
+    private int maxCategoryId;
+    private int[] ids;
+    private String[] names;
+    private MemorySegment quantity;
+    private MemorySegment categoryId;
+    private MemorySegment reorderPoint;
+    private MemorySegment priceCents;
+    private MemorySegment lastUpdated;
+    
+    // Columns for catalogs of offHeapRows or more rows are allocated off heap
+    ColumnarStore(CategoryDictionary categories, int expectedRows, int offHeapRows) {
+        this.categories = categories;
+        this.offHeapRows = offHeapRows;
+        resize(Math.max(MIN_CAPACITY, expectedRows));
+    }
+    
+    static ColumnarStore load(ItemDAO itemDAO, int offHeapRows) {
+        ColumnarStore store = new ColumnarStore(itemDAO.getCategoryDictionary(), itemDAO.getTotalItems(), offHeapRows);
+        store.lock.writeLock().lock();
+        try {
+            itemDAO.forEachItemRecord(store::put);
+        } finally {
+            store.lock.writeLock().unlock();
+        }
+        return store;
+    }
+    
+    void apply(List<Item> upserts, IntArrayList deletedIds) {
+        lock.writeLock().lock();
+        try {
+            for (Item item : upserts) {
+                put(ItemRecord.from(item));
+            }
+            deletedIds.forEach(this::remove);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+    
+    int size() {
+        lock.readLock().lock();
+        try {
+            return size;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+    
+    boolean isOffHeap() {
+        return quantity.isNative();
+    }
+    
+    List<CategoryStats> getCategoryStats() {
+        CategorySums sums = sumByCategory();
+        List<CategoryStats> stats = new ArrayList<>();
+        for (int c = 0; c < sums.count.length; c++) {
+            int count = sums.count[c];
+            if (count > 0) {
+                stats.add(new CategoryStats(categories.nameOf(c), count, sums.quantity[c], sums.valueCents[c] / 100.0,
+                                            sums.minPrice[c] / 100.0, sums.maxPrice[c] / 100.0,
+                                            sums.priceSum[c] / 100.0 / count));
+            }
+        }
+        stats.sort(Comparator.comparing(CategoryStats::category, Comparator.nullsLast(Comparator.naturalOrder())));
+        return stats;
+    }
+    
+    // Same rule as the SQL: the item's own reorder point when it has one, otherwise the threshold
+    int countLowStock(int threshold) {
+        lock.readLock().lock();
+        try {
+            int count = 0;
+            for (int i = 0; i < size; i++) {
+                int own = reorderPoint.getAtIndex(JAVA_INT, i);
+                int limit = own == NO_REORDER_POINT ? threshold : own;
+                count += quantity.getAtIndex(JAVA_INT, i) <= limit ? 1 : 0;
+            }
+            return count;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+    
+    // Ordered by quantity, then name, like the SQL
+    List<ItemSummary> getLowStock(int threshold) {
+        List<ItemSummary> lowStock = new ArrayList<>();
+        lock.readLock().lock();
+        try {
+            // Matching rows are written unconditionally and the cursor only advances on a match
+            int[] matches = new int[size + 1];
+            int found = 0;
+            for (int i = 0; i < size; i++) {
+                int own = reorderPoint.getAtIndex(JAVA_INT, i);
+                int limit = own == NO_REORDER_POINT ? threshold : own;
+                matches[found] = i;
+                found += quantity.getAtIndex(JAVA_INT, i) <= limit ? 1 : 0;
+            }
+            for (int m = 0; m < found; m++) {
+                lowStock.add(summarize(matches[m]));
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        lowStock.sort(BY_QUANTITY_AND_NAME);
+        return lowStock;
+    }
+    
+    private record CategorySums(int[] count, long[] quantity, long[] valueCents,
+                                long[] minPrice, long[] maxPrice, long[] priceSum) {
+    }
+    
+    // One pass, accumulating into arrays indexed by category id; 0 collects unknown categories
+    private CategorySums sumByCategory() {
+        lock.readLock().lock();
+        try {
+            int buckets = maxCategoryId + 1;
+            CategorySums sums = new CategorySums(new int[buckets], new long[buckets], new long[buckets],
+                                                 new long[buckets], new long[buckets], new long[buckets]);
+            Arrays.fill(sums.minPrice, Long.MAX_VALUE);
+            for (int i = 0; i < size; i++) {
+                int c = categoryId.getAtIndex(JAVA_INT, i);
+                int q = quantity.getAtIndex(JAVA_INT, i);
+                long p = priceCents.getAtIndex(JAVA_LONG, i);
+                sums.count[c]++;
+                sums.quantity[c] += q;
+                sums.valueCents[c] += q * p;
+                sums.priceSum[c] += p;
+                sums.minPrice[c] = Math.min(sums.minPrice[c], p);
+                sums.maxPrice[c] = Math.max(sums.maxPrice[c], p);
+            }
+            return sums;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+    
+    private ItemSummary summarize(int row) {
+        int own = reorderPoint.getAtIndex(JAVA_INT, row);
+        long updated = lastUpdated.getAtIndex(JAVA_LONG, row);
+        return new ItemSummary(ids[row], names[row], quantity.getAtIndex(JAVA_INT, row),
+                               priceCents.getAtIndex(JAVA_LONG, row) / 100.0,
+                               categories.nameOf(categoryId.getAtIndex(JAVA_INT, row)),
+                               own == NO_REORDER_POINT ? null : own,
+                               updated == 0 ? null : LocalDateTime.ofInstant(Instant.ofEpochMilli(updated), ZoneId.systemDefault()));
+    }
+    
+    // Callers hold the write lock
+    private void put(ItemRecord item) {
+        int row = rowOf.get(item.id(), NO_ROW);
+        if (row == NO_ROW) {
+            if (size == capacity) {
+                resize(capacity * 2);
+            }
+            row = size++;
+            rowOf.put(item.id(), row);
+        }
+        
+        int category = categories.idOf(item.category());
+        maxCategoryId = Math.max(maxCategoryId, category);
+        ids[row] = item.id();
+        names[row] = item.name();
+        quantity.setAtIndex(JAVA_INT, row, item.quantity());
+        categoryId.setAtIndex(JAVA_INT, row, category);
+        reorderPoint.setAtIndex(JAVA_INT, row, item.reorderPoint() == null ? NO_REORDER_POINT : item.reorderPoint());
+        priceCents.setAtIndex(JAVA_LONG, row, item.priceCents());
+        lastUpdated.setAtIndex(JAVA_LONG, row, item.lastUpdatedMillis());
+    }
+    
+    private void remove(int id) {
+        int row = rowOf.get(id, NO_ROW);
+        if (row == NO_ROW) {
+            return;
+        }
+        rowOf.remove(id);
+        int last = --size;
+        if (row != last) {
+            ids[row] = ids[last];
+            names[row] = names[last];
+            quantity.setAtIndex(JAVA_INT, row, quantity.getAtIndex(JAVA_INT, last));
+            categoryId.setAtIndex(JAVA_INT, row, categoryId.getAtIndex(JAVA_INT, last));
+            reorderPoint.setAtIndex(JAVA_INT, row, reorderPoint.getAtIndex(JAVA_INT, last));
+            priceCents.setAtIndex(JAVA_LONG, row, priceCents.getAtIndex(JAVA_LONG, last));
+            lastUpdated.setAtIndex(JAVA_LONG, row, lastUpdated.getAtIndex(JAVA_LONG, last));
+            rowOf.put(ids[row], row);
+        }
+        names[last] = null;
+    }
+    
+    private void resize(int newCapacity) {
+        ids = ids == null ? new int[newCapacity] : Arrays.copyOf(ids, newCapacity);
+        names = names == null ? new String[newCapacity] : Arrays.copyOf(names, newCapacity);
+        quantity = copyColumn(quantity, JAVA_INT, newCapacity);
+        categoryId = copyColumn(categoryId, JAVA_INT, newCapacity);
+        reorderPoint = copyColumn(reorderPoint, JAVA_INT, newCapacity);
+        priceCents = copyColumn(priceCents, JAVA_LONG, newCapacity);
+        lastUpdated = copyColumn(lastUpdated, JAVA_LONG, newCapacity);
+        capacity = newCapacity;
+    }
+    
+    private MemorySegment copyColumn(MemorySegment column, ValueLayout layout, int rows) {
+        MemorySegment resized;
+        if (rows < offHeapRows) {
+            resized = layout == JAVA_LONG ? MemorySegment.ofArray(new long[rows]) : MemorySegment.ofArray(new int[rows]);
+        } else {
+            // An automatic arena frees the memory once the old column is unreachable,
+            // so nothing has to be closed when the store grows or is replaced
+            resized = Arena.ofAuto().allocate(layout.byteSize() * rows, layout.byteAlignment());
+        }
+        if (column != null) {
+            MemorySegment.copy(column, 0, resized, 0, layout.byteSize() * size);
+        }
+        return resized;
+    }
+}
\ No newline at end of file
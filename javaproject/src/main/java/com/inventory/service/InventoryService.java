@@ -1,31 +1,70 @@
 package com.inventory.service;
 
+import com.inventory.dao.BatchResult;
+import com.inventory.dao.Page;
+import com.inventory.dao.UpdateResult;
+import com.inventory.model.CategoryStats;
+import com.inventory.model.InventoryTotals;
 import com.inventory.model.Item;
+import com.inventory.model.ItemRecord;
+import com.inventory.model.ItemSummary;
+import com.inventory.model.SearchResult;
+import java.time.Instant;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
 
 public interface InventoryService {
     // Item management
     boolean addItem(Item item);
-    boolean updateItem(Item item);
+    UpdateResult updateItem(Item item);
     boolean deleteItem(int id);
     Item getItem(int id);
     List<Item> getAllItems();
+    void forEachItem(Consumer<Item> action);
+    void forEachItemRecord(Consumer<ItemRecord> action);
+    
+    // Batch operations
+    BatchResult addItems(List<Item> items);
+    BatchResult updateQuantities(Map<Integer, Integer> quantities);
+    BatchResult deleteItems(int[] ids);
     
     // Search and filter
     List<Item> searchItems(String searchTerm);
+    List<SearchResult> searchItemsRanked(String searchTerm, int limit);
     List<Item> getItemsByCategory(String category);
     
+    // Paged reads ordered by name; pass the previous page's token to continue
+    Page<ItemSummary> getItemsPage(String pageToken, int pageSize);
+    Page<ItemSummary> searchItemsPage(String searchTerm, String pageToken, int pageSize);
+    // Search matches within one category; a null category searches them all
+    Page<ItemSummary> searchItemsPage(String searchTerm, String category, String pageToken, int pageSize);
+    Page<ItemSummary> getItemsByCategoryPage(String category, String pageToken, int pageSize);
+    
+    // Delta sync: what changed since a previous ChangeSet's cursor, or since the caller last loaded
+    ChangeSet getChangesSince(Instant since);
+    List<ItemSummary> getRecentlyUpdated(int limit);
+    
     // Inventory operations
     boolean adjustQuantity(int itemId, int adjustment);
+    boolean adjustQuantity(int itemId, int adjustment, String reason, String source);
     boolean setQuantity(int itemId, int newQuantity);
     
     // Reports and statistics
     int getTotalItemCount();
     double getTotalInventoryValue();
     List<String> getCategories();
-    List<Item> getLowStockItems(int threshold);
+    List<CategoryStats> getCategoryStats();
+    InventoryTotals getInventoryTotals();
+    List<InventoryTotals> getCategoryTotals();
+    List<ItemSummary> getLowStockItems(int threshold);
+    int countLowStock(int threshold);
     
     // Validation
     boolean isValidItem(Item item);
     boolean itemExists(String name);
+    
+    // Lifecycle: writes anything still queued or buffered; call before closing the database.
+    // Single-item writes are refused afterwards.
+    void shutdown();
 }
\ No newline at end of file
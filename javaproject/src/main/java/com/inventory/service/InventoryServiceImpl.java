@@ -1,16 +1,118 @@
 package com.inventory.service;
 
+import com.inventory.dao.BatchResult;
 import com.inventory.dao.ItemDAO;
 import com.inventory.dao.ItemDAOImpl;
+import com.inventory.dao.Page;
+import com.inventory.dao.UpdateResult;
+import com.inventory.model.CategoryStats;
+import com.inventory.model.InventoryTotals;
 import com.inventory.model.Item;
+import com.inventory.model.ItemRecord;
+import com.inventory.model.ItemSummary;
+import com.inventory.model.SearchResult;
+import com.inventory.util.BloomFilter;
+import com.inventory.util.collections.IntArrayList;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.CompletionException;
+import java.util.function.Consumer;
 
 public class InventoryServiceImpl implements InventoryService {
+    // Write-behind for adjustQuantity; off unless enabled
+    private static final boolean WRITE_BEHIND_ENABLED = Boolean.getBoolean("inventory.writeBehind.enabled");
+    private static final long WRITE_BEHIND_MAX_STALENESS_MS = Long.getLong("inventory.writeBehind.maxStalenessMs", 250);
+    private static final int WRITE_BEHIND_MAX_PENDING = Integer.getInteger("inventory.writeBehind.maxPending", 1_000);
+    
+    // Single-item writes are run by one writer thread, which commits whatever has queued up in one
+    // transaction; callers block once capacity writes are waiting
+    private static final int WRITE_QUEUE_CAPACITY = Integer.getInteger("inventory.writeQueue.capacity", 1_024);
+    private static final int WRITE_QUEUE_MAX_GROUP = Integer.getInteger("inventory.writeQueue.maxGroup", 256);
+    
+    // Item cache for getItem; a size of 0 turns it off. Writes through this service invalidate
+    // entries, the TTL bounds how long writes from other processes can go unseen
+    private static final int CACHE_MAX_SIZE = Integer.getInteger("inventory.cache.maxSize", 10_000);
+    private static final long CACHE_TTL_MS = Long.getLong("inventory.cache.ttlMs", 0);
+    
+    // Memory-resident mode: reads are served from an in-memory snapshot of the whole catalog.
+    // Writes through this service republish it; writes from other processes are not seen.
+    private static final boolean MEMORY_RESIDENT = Boolean.getBoolean("inventory.memoryResident");
+    private static final int SNAPSHOT_RELOAD_THRESHOLD = 1_000;
+    
+    // Columnar mode: the category breakdown and low stock are scanned from an in-memory column
+    // store instead of the database. Same visibility rules as the memory-resident mode.
+    private static final boolean COLUMNAR = Boolean.getBoolean("inventory.columnar");
+    private static final int COLUMNAR_OFF_HEAP_ROWS = Integer.getInteger("inventory.columnar.offHeapRows", 250_000);
+    
+    // Bloom filter in front of existsByName, sized with headroom over the current item count
+    private static final double NAME_FILTER_FALSE_POSITIVE_RATE = 0.01;
+    private static final int NAME_FILTER_MIN_CAPACITY = 10_000;
+    
+    // Change sets re-read this far behind the cursor, covering writes still in flight when it was
+    // taken; larger change sets ask the caller to reload
+    private static final Duration CHANGE_OVERLAP = Duration.ofSeconds(2);
+    private static final int MAX_CHANGES = Integer.getInteger("inventory.sync.maxChanges", 5_000);
+    
     private final ItemDAO itemDAO;
+    private final ItemCache itemCache;
+    private final QuantityWriteBuffer writeBuffer;
+    private final WriteQueue writeQueue;
+    private final Object snapshotLock = new Object();
+    private volatile CatalogSnapshot snapshot;
+    private volatile ColumnarStore columnarStore;
+    private final Object nameFilterLock = new Object();
+    private volatile BloomFilter nameFilter;
+    // Category list for the filters and combo boxes, dropped on every write
+    private final Object categoriesLock = new Object();
+    private List<String> categories;
+    private long categoriesGeneration;
     
     public InventoryServiceImpl() {
-        this.itemDAO = new ItemDAOImpl();
+        this(new ItemDAOImpl());
+    }
+    
+    public InventoryServiceImpl(ItemDAO itemDAO) {
+        this.itemDAO = itemDAO;
+        this.itemCache = CACHE_MAX_SIZE > 0 ? new ItemCache(CACHE_MAX_SIZE, CACHE_TTL_MS) : null;
+        this.writeBuffer = WRITE_BEHIND_ENABLED
+            ? new QuantityWriteBuffer(itemDAO, WRITE_BEHIND_MAX_STALENESS_MS, WRITE_BEHIND_MAX_PENDING, this::afterWrite)
+            : null;
+        this.writeQueue = new WriteQueue(itemDAO, WRITE_QUEUE_CAPACITY, WRITE_QUEUE_MAX_GROUP);
+        this.snapshot = MEMORY_RESIDENT ? loadSnapshot() : null;
+        this.columnarStore = COLUMNAR ? loadColumnarStore() : null;
+    }
+    
+    // Buffers adjustQuantity calls and writes them at most maxStalenessMillis later
+    public InventoryServiceImpl(ItemDAO itemDAO, long maxStalenessMillis, int maxPendingAdjustments) {
+        this.itemDAO = itemDAO;
+        this.itemCache = CACHE_MAX_SIZE > 0 ? new ItemCache(CACHE_MAX_SIZE, CACHE_TTL_MS) : null;
+        this.writeBuffer = new QuantityWriteBuffer(itemDAO, maxStalenessMillis, maxPendingAdjustments, this::afterWrite);
+        this.writeQueue = new WriteQueue(itemDAO, WRITE_QUEUE_CAPACITY, WRITE_QUEUE_MAX_GROUP);
+        this.snapshot = MEMORY_RESIDENT ? loadSnapshot() : null;
+        this.columnarStore = COLUMNAR ? loadColumnarStore() : null;
+    }
+    
+    InventoryServiceImpl(ItemDAO itemDAO, ItemCache itemCache) {
+        this(itemDAO, itemCache, false);
+    }
+    
+    InventoryServiceImpl(ItemDAO itemDAO, ItemCache itemCache, boolean memoryResident) {
+        this(itemDAO, itemCache, memoryResident, false);
+    }
+    
+    InventoryServiceImpl(ItemDAO itemDAO, ItemCache itemCache, boolean memoryResident, boolean columnar) {
+        this.itemDAO = itemDAO;
+        this.itemCache = itemCache;
+        this.writeBuffer = null;
+        this.writeQueue = new WriteQueue(itemDAO, WRITE_QUEUE_CAPACITY, WRITE_QUEUE_MAX_GROUP);
+        this.snapshot = memoryResident ? loadSnapshot() : null;
+        this.columnarStore = columnar ? loadColumnarStore() : null;
     }
     
     @Override
@@ -18,30 +120,254 @@ public class InventoryServiceImpl implements InventoryService {
         if (!isValidItem(item)) {
             return false;
         }
-        return itemDAO.addItem(item);
+        // The generated id is set only once the insert has committed
+        int id = write(writer -> writer.addItem(item), generatedId -> {
+            if (generatedId != 0) {
+                item.setId(generatedId);
+            }
+        }, 0);
+        if (id == 0) {
+            return false;
+        }
+        rememberName(item.getName());
+        afterWrite(IntArrayList.of(item.getId()));
+        return true;
     }
     
     @Override
-    public boolean updateItem(Item item) {
+    public UpdateResult updateItem(Item item) {
         if (!isValidItem(item)) {
-            return false;
+            return UpdateResult.FAILED;
         }
-        return itemDAO.updateItem(item);
+        flushPendingAdjustments();
+        UpdateResult result = write(writer -> writer.updateItem(item), written -> {
+            if (written == UpdateResult.UPDATED) {
+                item.setVersion(item.getVersion() + 1);
+            }
+        }, UpdateResult.FAILED);
+        // Also on a conflict, so that reloading the item shows the other writer's change
+        afterWrite(IntArrayList.of(item.getId()));
+        if (result == UpdateResult.UPDATED) {
+            // A rename leaves the old name in the filter, which only costs a false positive
+            rememberName(item.getName());
+        }
+        return result;
     }
     
     @Override
     public boolean deleteItem(int id) {
-        return itemDAO.deleteItem(id);
+        flushPendingAdjustments();
+        boolean deleted = write(writer -> writer.deleteItem(id), false);
+        afterWrite(IntArrayList.of(id));
+        return deleted;
     }
     
     @Override
     public Item getItem(int id) {
-        return itemDAO.getItemById(id);
+        if (writeBuffer == null) {
+            return loadItem(id);
+        }
+        // Overlay adjustments that have not been written yet
+        Item[] item = new Item[1];
+        int quantity = writeBuffer.readQuantity(id, () -> {
+            item[0] = loadItem(id);
+            return item[0] == null ? 0 : item[0].getQuantity();
+        });
+        if (item[0] != null && item[0].getQuantity() != quantity) {
+            item[0].setQuantity(quantity);
+        }
+        return item[0];
+    }
+    
+    private Item loadItem(int id) {
+        CatalogSnapshot current = snapshot;
+        if (current != null) {
+            return current.get(id);
+        }
+        return itemCache == null ? itemDAO.getItemById(id) : itemCache.get(id, itemDAO::getItemById);
+    }
+    
+    // Queues a single-item write and waits until its transaction has committed
+    private <T> T write(WriteQueue.Command<T> command, T failed) {
+        return write(command, result -> { }, failed);
+    }
+    
+    private <T> T write(WriteQueue.Command<T> command, Consumer<? super T> onCommitted, T failed) {
+        try {
+            return writeQueue.submit(command, onCommitted).join();
+        } catch (InterruptedException e) {
+            // Interrupted while waiting for room, so nothing was queued
+            Thread.currentThread().interrupt();
+            return failed;
+        } catch (CompletionException e) {
+            e.getCause().printStackTrace();
+            return failed;
+        } catch (IllegalStateException e) {
+            // The service has been shut down
+            e.printStackTrace();
+            return failed;
+        }
+    }
+    
+    // Called once the database has the write: drops cached copies and republishes the snapshot
+    // and column store
+    private void afterWrite(IntArrayList itemIds) {
+        synchronized (categoriesLock) {
+            categories = null;
+            categoriesGeneration++;
+        }
+        if (itemCache != null) {
+            itemIds.forEach(itemCache::invalidate);
+        }
+        if ((snapshot == null && columnarStore == null) || itemIds.isEmpty()) {
+            return;
+        }
+        // Rows are re-read under the lock, so the last snapshot published reflects the last write
+        synchronized (snapshotLock) {
+            if (itemIds.size() > SNAPSHOT_RELOAD_THRESHOLD) {
+                if (snapshot != null) {
+                    snapshot = loadSnapshot();
+                }
+                if (columnarStore != null) {
+                    columnarStore = loadColumnarStore();
+                }
+                return;
+            }
+            List<Item> upserts = new ArrayList<>(itemIds.size());
+            IntArrayList deletedIds = new IntArrayList();
+            for (int i = 0; i < itemIds.size(); i++) {
+                int id = itemIds.get(i);
+                Item item = itemDAO.getItemById(id);
+                if (item != null) {
+                    upserts.add(item);
+                } else {
+                    deletedIds.add(id);
+                }
+            }
+            if (snapshot != null) {
+                snapshot = snapshot.withChanges(upserts, deletedIds);
+            }
+            if (columnarStore != null) {
+                columnarStore.apply(upserts, deletedIds);
+            }
+        }
+    }
+    
+    private CatalogSnapshot loadSnapshot() {
+        List<Item> items = new ArrayList<>();
+        itemDAO.forEachItem(items::add);
+        return CatalogSnapshot.of(items);
+    }
+    
+    private ColumnarStore loadColumnarStore() {
+        return ColumnarStore.load(itemDAO, COLUMNAR_OFF_HEAP_ROWS);
+    }
+    
+    // Null when the cache is disabled
+    public CacheStats getCacheStats() {
+        return itemCache == null ? null : itemCache.getStats();
     }
     
     @Override
     public List<Item> getAllItems() {
-        return itemDAO.getAllItems();
+        flushPendingAdjustments();
+        CatalogSnapshot current = snapshot;
+        return current != null ? current.getAll() : itemDAO.getAllItems();
+    }
+    
+    @Override
+    public void forEachItem(Consumer<Item> action) {
+        flushPendingAdjustments();
+        CatalogSnapshot current = snapshot;
+        if (current != null) {
+            current.forEach(action);
+        } else {
+            itemDAO.forEachItem(action);
+        }
+    }
+    
+    @Override
+    public void forEachItemRecord(Consumer<ItemRecord> action) {
+        flushPendingAdjustments();
+        CatalogSnapshot current = snapshot;
+        if (current != null) {
+            current.forEach(item -> action.accept(ItemRecord.from(item)));
+        } else {
+            itemDAO.forEachItemRecord(action);
+        }
+    }
+    
+    @Override
+    public BatchResult addItems(List<Item> items) {
+        // Invalid rows are reported as failed without being sent to the database
+        List<Item> validItems = new ArrayList<>(items.size());
+        int[] positions = new int[items.size()];
+        for (int i = 0; i < items.size(); i++) {
+            if (isValidItem(items.get(i))) {
+                positions[validItems.size()] = i;
+                validItems.add(items.get(i));
+            }
+        }
+        
+        BatchResult written = itemDAO.addItems(validItems);
+        IntArrayList addedIds = new IntArrayList(validItems.size());
+        for (int i = 0; i < validItems.size(); i++) {
+            if (written.isSuccess(i)) {
+                rememberName(validItems.get(i).getName());
+                addedIds.add(written.getKey(i));
+            }
+        }
+        afterWrite(addedIds);
+        int[] keys = new int[items.size()];
+        int[] updateCounts = new int[items.size()];
+        Arrays.fill(updateCounts, BatchResult.FAILED);
+        for (int i = 0; i < written.size(); i++) {
+            keys[positions[i]] = written.getKey(i);
+            updateCounts[positions[i]] = written.getUpdateCount(i);
+        }
+        return new BatchResult(keys, updateCounts);
+    }
+    
+    @Override
+    public BatchResult updateQuantities(Map<Integer, Integer> quantities) {
+        flushPendingAdjustments();
+        Map<Integer, Integer> validQuantities = new LinkedHashMap<>();
+        for (Map.Entry<Integer, Integer> entry : quantities.entrySet()) {
+            if (entry.getValue() != null && entry.getValue() >= 0) {
+                validQuantities.put(entry.getKey(), entry.getValue());
+            }
+        }
+        
+        BatchResult written = itemDAO.updateQuantities(validQuantities);
+        IntArrayList writtenIds = new IntArrayList(validQuantities.size());
+        validQuantities.keySet().forEach(writtenIds::add);
+        afterWrite(writtenIds);
+        if (validQuantities.size() == quantities.size()) {
+            return written;
+        }
+        
+        int[] keys = new int[quantities.size()];
+        int[] updateCounts = new int[quantities.size()];
+        int index = 0;
+        int writtenIndex = 0;
+        for (Map.Entry<Integer, Integer> entry : quantities.entrySet()) {
+            keys[index] = entry.getKey();
+            if (validQuantities.containsKey(entry.getKey())) {
+                updateCounts[index] = written.getUpdateCount(writtenIndex++);
+            } else {
+                updateCounts[index] = BatchResult.FAILED;
+            }
+            index++;
+        }
+        return new BatchResult(keys, updateCounts);
+    }
+    
+    @Override
+    public BatchResult deleteItems(int[] ids) {
+        flushPendingAdjustments();
+        BatchResult result = itemDAO.deleteItems(ids);
+        afterWrite(IntArrayList.of(ids));
+        return result;
     }
     
     @Override
@@ -49,27 +375,98 @@ public class InventoryServiceImpl implements InventoryService {
         if (searchTerm == null || searchTerm.trim().isEmpty()) {
             return getAllItems();
         }
-        return itemDAO.searchItems(searchTerm.trim());
+        flushPendingAdjustments();
+        CatalogSnapshot current = snapshot;
+        return current != null ? current.search(searchTerm.trim()) : itemDAO.searchItems(searchTerm.trim());
+    }
+    
+    @Override
+    public List<SearchResult> searchItemsRanked(String searchTerm, int limit) {
+        if (searchTerm == null || searchTerm.trim().isEmpty()) {
+            return new ArrayList<>();
+        }
+        flushPendingAdjustments();
+        return itemDAO.searchItemsRanked(searchTerm.trim(), limit);
     }
     
     @Override
     public List<Item> getItemsByCategory(String category) {
-        return itemDAO.getItemsByCategory(category);
+        flushPendingAdjustments();
+        CatalogSnapshot current = snapshot;
+        return current != null ? current.getByCategory(category) : itemDAO.getItemsByCategory(category);
     }
     
     @Override
-    public boolean adjustQuantity(int itemId, int adjustment) {
-        Item item = itemDAO.getItemById(itemId);
-        if (item == null) {
-            return false;
+    public Page<ItemSummary> getItemsPage(String pageToken, int pageSize) {
+        flushPendingAdjustments();
+        CatalogSnapshot current = snapshot;
+        return current != null ? current.getPage(pageToken, pageSize) : itemDAO.getItemsPage(pageToken, pageSize);
+    }
+    
+    @Override
+    public Page<ItemSummary> searchItemsPage(String searchTerm, String pageToken, int pageSize) {
+        return searchItemsPage(searchTerm, null, pageToken, pageSize);
+    }
+    
+    @Override
+    public Page<ItemSummary> searchItemsPage(String searchTerm, String category, String pageToken, int pageSize) {
+        if (searchTerm == null || searchTerm.trim().isEmpty()) {
+            return category == null
+                ? getItemsPage(pageToken, pageSize)
+                : getItemsByCategoryPage(category, pageToken, pageSize);
         }
+        flushPendingAdjustments();
+        CatalogSnapshot current = snapshot;
+        return current != null
+            ? current.searchPage(searchTerm.trim(), category, pageToken, pageSize)
+            : itemDAO.searchItemsPage(searchTerm.trim(), category, pageToken, pageSize);
+    }
+    
+    @Override
+    public Page<ItemSummary> getItemsByCategoryPage(String category, String pageToken, int pageSize) {
+        flushPendingAdjustments();
+        CatalogSnapshot current = snapshot;
+        return current != null
+            ? current.getCategoryPage(category, pageToken, pageSize)
+            : itemDAO.getItemsByCategoryPage(category, pageToken, pageSize);
+    }
+    
+    @Override
+    public ChangeSet getChangesSince(Instant since) {
+        flushPendingAdjustments();
+        Instant cursor = Instant.now();
+        Instant from = since.minus(CHANGE_OVERLAP);
         
-        int newQuantity = item.getQuantity() + adjustment;
-        if (newQuantity < 0) {
-            newQuantity = 0;
+        // Ids are never reused, so deletions read after the changes can safely be applied last
+        List<ItemSummary> changed = itemDAO.getItemsModifiedSince(from, MAX_CHANGES + 1);
+        if (changed.size() > MAX_CHANGES) {
+            return new ChangeSet(List.of(), List.of(), cursor, false);
         }
-        
-        return itemDAO.updateQuantity(itemId, newQuantity);
+        List<Integer> deletedIds = itemDAO.getDeletedItemIdsSince(from);
+        return new ChangeSet(changed, deletedIds, cursor, true);
+    }
+    
+    @Override
+    public List<ItemSummary> getRecentlyUpdated(int limit) {
+        flushPendingAdjustments();
+        return itemDAO.getRecentlyUpdated(limit);
+    }
+    
+    @Override
+    public boolean adjustQuantity(int itemId, int adjustment) {
+        return adjustQuantity(itemId, adjustment, "adjustment", "inventory-service");
+    }
+    
+    @Override
+    public boolean adjustQuantity(int itemId, int adjustment, String reason, String source) {
+        if (writeBuffer != null) {
+            writeBuffer.add(itemId, adjustment, reason, source);
+            return true;
+        }
+        // Quantity never drops below zero; the database clamps it atomically
+        boolean adjusted = write(writer -> writer.adjustQuantity(itemId, adjustment, reason, source), false);
+        afterWrite(IntArrayList.of(itemId));
+        return adjusted;
     }
     
     @Override
@@ -77,7 +474,10 @@ public class InventoryServiceImpl implements InventoryService {
         if (newQuantity < 0) {
             return false;
         }
-        return itemDAO.updateQuantity(itemId, newQuantity);
+        flushPendingAdjustments();
+        boolean updated = write(writer -> writer.updateQuantity(itemId, newQuantity), false);
+        afterWrite(IntArrayList.of(itemId));
+        return updated;
     }
     
     @Override
@@ -85,21 +485,72 @@ public class InventoryServiceImpl implements InventoryService {
         return itemDAO.getTotalItems();
     }
     
+    // Totals stay on the trigger-maintained tables even in columnar mode: one row read beats a scan
     @Override
     public double getTotalInventoryValue() {
+        flushPendingAdjustments();
         return itemDAO.getTotalInventoryValue();
     }
     
     @Override
     public List<String> getCategories() {
-        return itemDAO.getAllCategories();
+        long generation;
+        synchronized (categoriesLock) {
+            if (categories != null) {
+                return categories;
+            }
+            generation = categoriesGeneration;
+        }
+        CatalogSnapshot current = snapshot;
+        List<String> loaded = List.copyOf(current != null ? current.getCategories() : itemDAO.getAllCategories());
+        synchronized (categoriesLock) {
+            // A write while loading may have changed the list; return it but do not keep it
+            if (categoriesGeneration == generation) {
+                categories = loaded;
+            }
+        }
+        return loaded;
     }
     
     @Override
-    public List<Item> getLowStockItems(int threshold) {
-        return getAllItems().stream()
-                .filter(item -> item.getQuantity() <= threshold)
-                .collect(Collectors.toList());
+    public List<CategoryStats> getCategoryStats() {
+        flushPendingAdjustments();
+        ColumnarStore columns = columnarStore;
+        return columns != null ? columns.getCategoryStats() : itemDAO.getCategoryStats();
+    }
+    
+    @Override
+    public InventoryTotals getInventoryTotals() {
+        flushPendingAdjustments();
+        return itemDAO.getInventoryTotals();
+    }
+    
+    @Override
+    public List<InventoryTotals> getCategoryTotals() {
+        flushPendingAdjustments();
+        return itemDAO.getCategoryTotals();
+    }
+    
+    @Override
+    public List<ItemSummary> getLowStockItems(int threshold) {
+        flushPendingAdjustments();
+        ColumnarStore columns = columnarStore;
+        if (columns != null) {
+            return columns.getLowStock(threshold);
+        }
+        CatalogSnapshot current = snapshot;
+        return current != null ? current.getLowStock(threshold) : itemDAO.getLowStockItems(threshold);
+    }
+    
+    @Override
+    public int countLowStock(int threshold) {
+        flushPendingAdjustments();
+        ColumnarStore columns = columnarStore;
+        if (columns != null) {
+            return columns.countLowStock(threshold);
+        }
+        CatalogSnapshot current = snapshot;
+        return current != null ? current.countLowStock(threshold) : itemDAO.countLowStock(threshold);
     }
     
     @Override
@@ -120,6 +571,10 @@ public class InventoryServiceImpl implements InventoryService {
             return false;
         }
         
+        if (item.getReorderPoint() != null && item.getReorderPoint() < 0) {
+            return false;
+        }
+        
         if (item.getPrice() < 0) {
             return false;
         }
@@ -129,7 +584,58 @@ public class InventoryServiceImpl implements InventoryService {
     
     @Override
     public boolean itemExists(String name) {
-        return getAllItems().stream()
-                .anyMatch(item -> item.getName().equalsIgnoreCase(name.trim()));
+        if (name == null || name.trim().isEmpty()) {
+            return false;
+        }
+        // A new name is usually ruled out by the filter without a query
+        if (!nameFilter().mightContain(nameKey(name))) {
+            return false;
+        }
+        return itemDAO.existsByName(name.trim());
+    }
+    
+    private BloomFilter nameFilter() {
+        BloomFilter filter = nameFilter;
+        if (filter != null && !filter.isSaturated()) {
+            return filter;
+        }
+        synchronized (nameFilterLock) {
+            if (nameFilter == null || nameFilter.isSaturated()) {
+                // Writers wait on the lock while this runs, so no committed name is missed
+                int capacity = Math.max(NAME_FILTER_MIN_CAPACITY, itemDAO.getTotalItems() * 2);
+                BloomFilter rebuilt = new BloomFilter(capacity, NAME_FILTER_FALSE_POSITIVE_RATE);
+                itemDAO.forEachName(existing -> rebuilt.add(nameKey(existing)));
+                nameFilter = rebuilt;
+            }
+            return nameFilter;
+        }
+    }
+    
+    private void rememberName(String name) {
+        synchronized (nameFilterLock) {
+            if (nameFilter != null && name != null) {
+                nameFilter.add(nameKey(name));
+            }
+        }
+    }
+    
+    // Unicode lower-casing folds at least everything NOCASE does, so the filter never misses a match
+    private static String nameKey(String name) {
+        return name.trim().toLowerCase(Locale.ROOT);
+    }
+    
+    @Override
+    public void shutdown() {
+        writeQueue.close();
+        if (writeBuffer != null) {
+            writeBuffer.close();
+        }
+    }
+    
+    // Reads and writes other than getItem see buffered adjustments by writing them first
+    private void flushPendingAdjustments() {
+        if (writeBuffer != null) {
+            writeBuffer.flush();
+        }
     }
 }
\ No newline at end of file
@@ -0,0 +1,192 @@
+package com.inventory.service;
+
+import com.inventory.model.Item;
+import com.inventory.util.collections.IntObjectHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.IntFunction;
+
+/**
+ * Bounded read-through cache of items by id, split into independently locked LRU
+ * stripes. Callers get their own copy of the cached item, since Item is mutable.
+ * Loads run outside the stripe lock; a load that overlaps an invalidation of its
+ * stripe is returned but not cached, so a write can never be shadowed by stale data.
+ */
+class ItemCache {
+    private static final int STRIPES = 16;
+    
+    private static final class Entry {
+        final int id;
+        final Item item;
+        final long loadedAt;
+        Entry prev;
+        Entry next;
+        
+        Entry(int id, Item item, long loadedAt) {
+            this.id = id;
+            this.item = item;
+            this.loadedAt = loadedAt;
+        }
+    }
+    
+    // Id map plus an intrusive recency list: head is the least recently used entry
+    private static final class Stripe {
+        final IntObjectHashMap<Entry> entries = new IntObjectHashMap<>();
+        final int capacity;
+        final LongAdder evictions;
+        Entry head;
+        Entry tail;
+        long generation;
+        
+        Stripe(int capacity, LongAdder evictions) {
+            this.capacity = capacity;
+            this.evictions = evictions;
+        }
+        
+        Entry get(int id) {
+            Entry entry = entries.get(id);
+            if (entry != null && entry != tail) {
+                unlink(entry);
+                append(entry);
+            }
+            return entry;
+        }
+        
+        void put(Entry entry) {
+            Entry previous = entries.put(entry.id, entry);
+            if (previous != null) {
+                unlink(previous);
+            }
+            append(entry);
+            if (entries.size() > capacity) {
+                Entry eldest = head;
+                entries.remove(eldest.id);
+                unlink(eldest);
+                evictions.increment();
+            }
+        }
+        
+        void remove(int id) {
+            Entry entry = entries.remove(id);
+            if (entry != null) {
+                unlink(entry);
+            }
+        }
+        
+        void clear() {
+            entries.clear();
+            head = null;
+            tail = null;
+        }
+        
+        int size() {
+            return entries.size();
+        }
+        
+        private void append(Entry entry) {
+            entry.prev = tail;
+            entry.next = null;
+            if (tail == null) {
+                head = entry;
+            } else {
+                tail.next = entry;
+            }
+            tail = entry;
+        }
+        
+        private void unlink(Entry entry) {
+            if (entry.prev == null) {
+                head = entry.next;
+            } else {
+                entry.prev.next = entry.next;
+            }
+            if (entry.next == null) {
+                tail = entry.prev;
+            } else {
+                entry.next.prev = entry.prev;
+            }
+            entry.prev = null;
+            entry.next = null;
+        }
+    }
+    
+    private final Stripe[] stripes = new Stripe[STRIPES];
+    private final long ttlNanos;
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+    
+    // ttlMillis of 0 keeps entries until they are evicted or invalidated
+    ItemCache(int maxSize, long ttlMillis) {
+        if (maxSize < 1 || ttlMillis < 0) {
+            throw new IllegalArgumentException("maxSize must be positive and ttlMillis not negative");
+        }
+        int perStripe = Math.max(1, (maxSize + STRIPES - 1) / STRIPES);
+        for (int i = 0; i < STRIPES; i++) {
+            stripes[i] = new Stripe(perStripe, evictions);
+        }
+        this.ttlNanos = ttlMillis * 1_000_000L;
+    }
+    
+    Item get(int id, IntFunction<Item> loader) {
+        Stripe stripe = stripeFor(id);
+        long generation;
+        synchronized (stripe) {
+            Entry entry = stripe.get(id);
+            if (entry != null && !isExpired(entry)) {
+                hits.increment();
+                return new Item(entry.item);
+            }
+            if (entry != null) {
+                stripe.remove(id);
+            }
+            generation = stripe.generation;
+        }
+        
+        misses.increment();
+        Item loaded = loader.apply(id);
+        if (loaded == null) {
+            return null;
+        }
+        synchronized (stripe) {
+            if (stripe.generation == generation) {
+                stripe.put(new Entry(id, new Item(loaded), System.nanoTime()));
+            }
+        }
+        return loaded;
+    }
+    
+    void invalidate(int id) {
+        Stripe stripe = stripeFor(id);
+        synchronized (stripe) {
+            stripe.generation++;
+            stripe.remove(id);
+        }
+    }
+    
+    void invalidateAll() {
+        for (Stripe stripe : stripes) {
+            synchronized (stripe) {
+                stripe.generation++;
+                stripe.clear();
+            }
+        }
+    }
+    
+    CacheStats getStats() {
+        int size = 0;
+        for (Stripe stripe : stripes) {
+            synchronized (stripe) {
+                size += stripe.size();
+            }
+        }
+        return new CacheStats(hits.sum(), misses.sum(), evictions.sum(), size);
+    }
+    
+    private boolean isExpired(Entry entry) {
+        return ttlNanos > 0 && System.nanoTime() - entry.loadedAt > ttlNanos;
+    }
+    
+    private Stripe stripeFor(int id) {
+        return stripes[(id * 0x9E3779B9 >>> 28) & (STRIPES - 1)];
+    }
+}
\ No newline at end of file
@@ -0,0 +1,208 @@
+package com.inventory.service;
+
+import com.inventory.dao.BatchResult;
+import com.inventory.dao.ItemDAO;
+import com.inventory.model.StockAdjustment;
+import com.inventory.util.collections.IntArrayList;
+import com.inventory.util.collections.IntObjectHashMap;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.function.IntSupplier;
+
+/**
+ * Write-behind buffer for quantity adjustments. Deltas with the same item, reason and
+ * source are summed in memory and written in one transaction once maxPending calls have
+ * been buffered or maxStalenessMillis has passed, whichever comes first. Summed deltas are
+ * clamped at zero once, when they are written.
+ */
+class QuantityWriteBuffer implements AutoCloseable {
+    private static final int STRIPES = 16;
+    
+    private record Key(int itemId, String reason, String source) {
+    }
+    
+    // Every key of an item lands in the same stripe, so byItem can be kept alongside
+    private static final class Stripe {
+        final Map<Key, int[]> deltas = new HashMap<>();
+        final IntObjectHashMap<int[]> byItem = new IntObjectHashMap<>();
+        int calls;
+    }
+    
+    private final ItemDAO itemDAO;
+    private final Consumer<IntArrayList> onWritten;
+    private final int maxPending;
+    private final long maxStalenessMillis;
+    private final Stripe[] stripes = new Stripe[STRIPES];
+    private final AtomicInteger pending = new AtomicInteger();
+    private final AtomicBoolean flushRequested = new AtomicBoolean();
+    private final Object flushLock = new Object();
+    private final ScheduledExecutorService flusher;
+    private volatile boolean closed;
+    
+    QuantityWriteBuffer(ItemDAO itemDAO, long maxStalenessMillis, int maxPending) {
+        this(itemDAO, maxStalenessMillis, maxPending, itemIds -> { });
+    }
+    
+    // onWritten is called with the ids of each flush's written items, before readQuantity can run again
+    QuantityWriteBuffer(ItemDAO itemDAO, long maxStalenessMillis, int maxPending, Consumer<IntArrayList> onWritten) {
+        if (maxStalenessMillis < 1 || maxPending < 1) {
+            throw new IllegalArgumentException("maxStalenessMillis and maxPending must be positive");
+        }
+        this.itemDAO = itemDAO;
+        this.onWritten = onWritten;
+        this.maxPending = maxPending;
+        this.maxStalenessMillis = maxStalenessMillis;
+        for (int i = 0; i < STRIPES; i++) {
+            stripes[i] = new Stripe();
+        }
+        
+        flusher = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "inventory-write-behind");
+            thread.setDaemon(true);
+            return thread;
+        });
+        flusher.scheduleWithFixedDelay(this::flush, maxStalenessMillis, maxStalenessMillis, TimeUnit.MILLISECONDS);
+    }
+    
+    void add(int itemId, int delta, String reason, String source) {
+        Stripe stripe = stripeFor(itemId);
+        synchronized (stripe) {
+            // Checked under the stripe lock so close() cannot drain between the check and the add
+            if (closed) {
+                throw new IllegalStateException("Write-behind buffer is closed");
+            }
+            merge(stripe, new Key(itemId, reason, source), delta);
+        }
+        if (pending.incrementAndGet() >= maxPending && flushRequested.compareAndSet(false, true)) {
+            flusher.execute(this::flush);
+        }
+    }
+    
+    // Runs the read with no flush in progress, so the result plus the pending delta is exact
+    int readQuantity(int itemId, IntSupplier committedQuantity) {
+        synchronized (flushLock) {
+            int quantity = committedQuantity.getAsInt();
+            int delta = pendingDelta(itemId);
+            return delta == 0 ? quantity : Math.max(0, quantity + delta);
+        }
+    }
+    
+    int pendingDelta(int itemId) {
+        Stripe stripe = stripeFor(itemId);
+        synchronized (stripe) {
+            int[] delta = stripe.byItem.get(itemId);
+            return delta == null ? 0 : delta[0];
+        }
+    }
+    
+    int getPendingCount() {
+        return pending.get();
+    }
+    
+    void flush() {
+        // Checked under the stripe locks: an add merges before it counts itself in pending
+        if (isEmpty()) {
+            return;
+        }
+        synchronized (flushLock) {
+            flushRequested.set(false);
+            List<StockAdjustment> batch = drain();
+            if (batch.isEmpty()) {
+                return;
+            }
+            
+            BatchResult result = itemDAO.adjustQuantities(batch);
+            
+            // Failed rows go back in the buffer for the next flush; unknown items are dropped
+            IntArrayList written = new IntArrayList();
+            for (int i = 0; i < result.size(); i++) {
+                if (result.getUpdateCount(i) > 0) {
+                    written.add(result.getKey(i));
+                }
+                if (result.getUpdateCount(i) == BatchResult.FAILED) {
+                    StockAdjustment adjustment = batch.get(i);
+                    Stripe stripe = stripeFor(adjustment.itemId());
+                    synchronized (stripe) {
+                        merge(stripe, new Key(adjustment.itemId(), adjustment.reason(), adjustment.source()),
+                              adjustment.delta());
+                    }
+                    pending.incrementAndGet();
+                }
+            }
+            if (!written.isEmpty()) {
+                onWritten.accept(written);
+            }
+        }
+    }
+    
+    @Override
+    public void close() {
+        closed = true;
+        flusher.shutdown();
+        try {
+            flusher.awaitTermination(maxStalenessMillis + 5_000, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        flush();
+        if (pending.get() > 0) {
+            System.err.printf("Write-behind buffer closed with %d adjustment(s) not written%n", pending.get());
+        }
+    }
+    
+    private boolean isEmpty() {
+        for (Stripe stripe : stripes) {
+            synchronized (stripe) {
+                if (stripe.calls > 0) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+    
+    private List<StockAdjustment> drain() {
+        List<StockAdjustment> batch = new ArrayList<>();
+        int drained = 0;
+        for (Stripe stripe : stripes) {
+            synchronized (stripe) {
+                drained += stripe.calls;
+                stripe.calls = 0;
+                for (Map.Entry<Key, int[]> entry : stripe.deltas.entrySet()) {
+                    int delta = entry.getValue()[0];
+                    if (delta != 0) {
+                        Key key = entry.getKey();
+                        batch.add(new StockAdjustment(key.itemId(), delta, key.reason(), key.source()));
+                    }
+                }
+                stripe.deltas.clear();
+                stripe.byItem.clear();
+            }
+        }
+        // An add can merge before its pending increment, so this may dip below zero briefly
+        pending.addAndGet(-drained);
+        // Each item's increases are written before its decreases, so only the running total can
+        // reach the zero clamp and the item ends where readQuantity's single clamp of the sum put it
+        batch.sort(Comparator.comparingInt(StockAdjustment::itemId).thenComparing(adjustment -> adjustment.delta() < 0));
+        return batch;
+    }
+    
+    private static void merge(Stripe stripe, Key key, int delta) {
+        stripe.calls++;
+        stripe.deltas.computeIfAbsent(key, k -> new int[1])[0] += delta;
+        stripe.byItem.computeIfAbsent(key.itemId(), k -> new int[1])[0] += delta;
+    }
+    
+    private Stripe stripeFor(int itemId) {
+        return stripes[(itemId * 0x9E3779B9 >>> 28) & (STRIPES - 1)];
+    }
+}
\ No newline at end of file
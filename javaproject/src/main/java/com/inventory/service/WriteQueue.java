@@ -0,0 +1,189 @@
+package com.inventory.service;
+
+import com.inventory.dao.ItemDAO;
+import com.inventory.dao.ItemWriter;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
+
+/**
+ * Single writer for single-item writes. Callers queue a command and wait on its future; one
+ * thread takes whatever has queued up, up to maxGroup commands, and runs it as one transaction
+ * with a savepoint per command, so writers that arrive together share a commit. A command that
+ * fails is rolled back on its own and fails only its future. A full queue blocks the caller
+ * until the writer catches up.
+ */
+class WriteQueue implements AutoCloseable {
+    
+    @FunctionalInterface
+    interface Command<T> {
+        T run(ItemWriter writer) throws SQLException;
+    }
+    
+    private static final class Pending<T> {
+        final Command<T> command;
+        final Consumer<? super T> onCommitted;
+        final CompletableFuture<T> future = new CompletableFuture<>();
+        T result;
+        Exception failure;
+        
+        Pending(Command<T> command, Consumer<? super T> onCommitted) {
+            this.command = command;
+            this.onCommitted = onCommitted;
+        }
+        
+        void run(ItemWriter writer) {
+            try {
+                result = command.run(writer);
+            } catch (SQLException | RuntimeException e) {
+                // The writer has already rolled back to the command's savepoint
+                failure = e;
+            }
+        }
+        
+        // Only once the transaction has committed
+        void complete() {
+            if (failure != null) {
+                future.completeExceptionally(failure);
+                return;
+            }
+            try {
+                onCommitted.accept(result);
+            } catch (RuntimeException e) {
+                future.completeExceptionally(e);
+                return;
+            }
+            future.complete(result);
+        }
+    }
+    
+    private static final Pending<Void> SHUTDOWN = new Pending<>(writer -> null, result -> { });
+    
+    private final ItemDAO itemDAO;
+    private final int maxGroup;
+    private final BlockingQueue<Pending<?>> queue;
+    private final Thread writer;
+    private volatile boolean closed;
+    
+    WriteQueue(ItemDAO itemDAO, int capacity, int maxGroup) {
+        if (capacity < 1 || maxGroup < 1) {
+            throw new IllegalArgumentException("capacity and maxGroup must be positive");
+        }
+        this.itemDAO = itemDAO;
+        this.maxGroup = maxGroup;
+        this.queue = new ArrayBlockingQueue<>(capacity);
+        this.writer = new Thread(this::runWriter, "inventory-writer");
+        writer.setDaemon(true);
+        writer.start();
+    }
+    
+    // Blocks while the queue is full; the future completes after the command's transaction commits
+    <T> CompletableFuture<T> submit(Command<T> command) throws InterruptedException {
+        return submit(command, result -> { });
+    }
+    
+    // onCommitted gets the command's result on the writer thread, only once the transaction has
+    // committed and before the future completes; a group that fails to commit never calls it
+    <T> CompletableFuture<T> submit(Command<T> command, Consumer<? super T> onCommitted) throws InterruptedException {
+        if (closed) {
+            throw new IllegalStateException("Write queue is closed");
+        }
+        Pending<T> pending = new Pending<>(command, onCommitted);
+        queue.put(pending);
+        // Queued behind the shutdown marker, so the writer will never take it
+        if (closed && queue.remove(pending)) {
+            pending.future.completeExceptionally(new IllegalStateException("Write queue is closed"));
+        }
+        return pending.future;
+    }
+    
+    private void runWriter() {
+        List<Pending<?>> group = new ArrayList<>(maxGroup);
+        while (true) {
+            try {
+                group.add(queue.take());
+            } catch (InterruptedException e) {
+                continue;
+            }
+            // Whatever queued up while the previous group was committing goes into this one
+            queue.drainTo(group, maxGroup - 1);
+            
+            int end = group.indexOf(SHUTDOWN);
+            if (end >= 0) {
+                // Commands behind the marker were queued after close() and are not written
+                List<Pending<?>> late = new ArrayList<>(group.subList(end + 1, group.size()));
+                group.subList(end, group.size()).clear();
+                runGroup(group);
+                failAll(late);
+                return;
+            }
+            runGroup(group);
+            group.clear();
+        }
+    }
+    
+    private void runGroup(List<Pending<?>> group) {
+        if (group.isEmpty()) {
+            return;
+        }
+        try {
+            itemDAO.inWriteTransaction(w -> {
+                for (Pending<?> pending : group) {
+                    pending.run(w);
+                }
+            });
+        } catch (Throwable e) {
+            // Nothing in the group was committed. Errors end up here too, as one that escaped
+            // would end the writer thread and leave every caller waiting.
+            for (Pending<?> pending : group) {
+                pending.future.completeExceptionally(e);
+            }
+            return;
+        }
+        for (Pending<?> pending : group) {
+            pending.complete();
+        }
+    }
+    
+    private static void failAll(List<Pending<?>> pending) {
+        for (Pending<?> p : pending) {
+            p.future.completeExceptionally(new IllegalStateException("Write queue is closed"));
+        }
+    }
+    
+    // Commands queued before close() are written first
+    @Override
+    public synchronized void close() {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        boolean interrupted = false;
+        while (true) {
+            try {
+                // Waits for room like any caller; the writer is still taking
+                queue.put(SHUTDOWN);
+                break;
+            } catch (InterruptedException e) {
+                interrupted = true;
+            }
+        }
+        while (writer.isAlive()) {
+            try {
+                writer.join();
+            } catch (InterruptedException e) {
+                interrupted = true;
+            }
+        }
+        List<Pending<?>> left = new ArrayList<>();
+        queue.drainTo(left);
+        failAll(left);
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
\ No newline at end of file
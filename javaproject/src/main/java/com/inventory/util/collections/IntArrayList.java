@@ -0,0 +1,103 @@
+package com.inventory.util.collections;
+
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.function.IntConsumer;
+
+/**
+ * Growable list of ints backed by an int array. Not thread-safe.
+ */
+public class IntArrayList {
+    private int[] elements;
+    private int size;
+    
+    public IntArrayList() {
+        this(10);
+    }
+    
+    public IntArrayList(int initialCapacity) {
+        if (initialCapacity < 0) {
+            throw new IllegalArgumentException("initialCapacity must not be negative");
+        }
+        elements = new int[initialCapacity];
+    }
+    
+    public static IntArrayList of(int... values) {
+        IntArrayList list = new IntArrayList(values.length);
+        System.arraycopy(values, 0, list.elements, 0, values.length);
+        list.size = values.length;
+        return list;
+    }
+    
+    public void add(int value) {
+        if (size == elements.length) {
+            elements = Arrays.copyOf(elements, Math.max(8, size + (size >> 1)));
+        }
+        elements[size++] = value;
+    }
+    
+    public int get(int index) {
+        Objects.checkIndex(index, size);
+        return elements[index];
+    }
+    
+    public void set(int index, int value) {
+        Objects.checkIndex(index, size);
+        elements[index] = value;
+    }
+    
+    public boolean contains(int value) {
+        for (int i = 0; i < size; i++) {
+            if (elements[i] == value) {
+                return true;
+            }
+        }
+        return false;
+    }
+    
+    public int size() {
+        return size;
+    }
+    
+    public boolean isEmpty() {
+        return size == 0;
+    }
+    
+    public void clear() {
+        size = 0;
+    }
+    
+    public void sort() {
+        Arrays.sort(elements, 0, size);
+    }
+    
+    public void forEach(IntConsumer action) {
+        for (int i = 0; i < size; i++) {
+            action.accept(elements[i]);
+        }
+    }
+    
+    public int[] toArray() {
+        return Arrays.copyOf(elements, size);
+    }
+    
+    @Override
+    public boolean equals(Object other) {
+        return other instanceof IntArrayList list
+            && Arrays.equals(elements, 0, size, list.elements, 0, list.size);
+    }
+    
+    @Override
+    public int hashCode() {
+        int hash = 1;
+        for (int i = 0; i < size; i++) {
+            hash = 31 * hash + elements[i];
+        }
+        return hash;
+    }
+    
+    @Override
+    public String toString() {
+        return Arrays.toString(toArray());
+    }
+}
\ No newline at end of file
@@ -0,0 +1,163 @@
+package com.inventory.util.collections;
+
+import java.util.Arrays;
+import java.util.function.IntConsumer;
+
+/**
+ * Set of ints, laid out like IntIntHashMap without the values. Not thread-safe.
+ */
+public class IntHashSet {
+    private static final int FREE = 0;
+    
+    private int[] keys;
+    private int mask;
+    private int resizeAt;
+    private int size;
+    private boolean hasZero;
+    
+    public IntHashSet() {
+        this(16);
+    }
+    
+    public IntHashSet(int expectedSize) {
+        allocate(IntHashing.capacityFor(expectedSize));
+    }
+    
+    public static IntHashSet of(int... values) {
+        IntHashSet set = new IntHashSet(values.length);
+        for (int value : values) {
+            set.add(value);
+        }
+        return set;
+    }
+    
+    public boolean contains(int value) {
+        if (value == FREE) {
+            return hasZero;
+        }
+        for (int slot = IntHashing.mix(value) & mask; ; slot = (slot + 1) & mask) {
+            int k = keys[slot];
+            if (k == value) {
+                return true;
+            }
+            if (k == FREE) {
+                return false;
+            }
+        }
+    }
+    
+    // False when the value was already present
+    public boolean add(int value) {
+        if (value == FREE) {
+            if (hasZero) {
+                return false;
+            }
+            hasZero = true;
+            size++;
+            return true;
+        }
+        int slot = IntHashing.mix(value) & mask;
+        while (keys[slot] != FREE) {
+            if (keys[slot] == value) {
+                return false;
+            }
+            slot = (slot + 1) & mask;
+        }
+        keys[slot] = value;
+        if (++size > resizeAt) {
+            rehash(keys.length * 2);
+        }
+        return true;
+    }
+    
+    public boolean remove(int value) {
+        if (value == FREE) {
+            if (!hasZero) {
+                return false;
+            }
+            hasZero = false;
+            size--;
+            return true;
+        }
+        for (int slot = IntHashing.mix(value) & mask; ; slot = (slot + 1) & mask) {
+            int k = keys[slot];
+            if (k == FREE) {
+                return false;
+            }
+            if (k == value) {
+                shiftBack(slot);
+                size--;
+                return true;
+            }
+        }
+    }
+    
+    public int size() {
+        return size;
+    }
+    
+    public boolean isEmpty() {
+        return size == 0;
+    }
+    
+    public void clear() {
+        Arrays.fill(keys, FREE);
+        hasZero = false;
+        size = 0;
+    }
+    
+    public void forEach(IntConsumer action) {
+        if (hasZero) {
+            action.accept(FREE);
+        }
+        for (int key : keys) {
+            if (key != FREE) {
+                action.accept(key);
+            }
+        }
+    }
+    
+    public int[] toArray() {
+        int[] values = new int[size];
+        int next = 0;
+        if (hasZero) {
+            values[next++] = FREE;
+        }
+        for (int key : keys) {
+            if (key != FREE) {
+                values[next++] = key;
+            }
+        }
+        return values;
+    }
+    
+    private void shiftBack(int gap) {
+        for (int slot = (gap + 1) & mask; keys[slot] != FREE; slot = (slot + 1) & mask) {
+            if (IntHashing.canShiftBack(IntHashing.mix(keys[slot]) & mask, gap, slot, mask)) {
+                keys[gap] = keys[slot];
+                gap = slot;
+            }
+        }
+        keys[gap] = FREE;
+    }
+    
+    private void rehash(int capacity) {
+        int[] oldKeys = keys;
+        allocate(capacity);
+        for (int key : oldKeys) {
+            if (key != FREE) {
+                int slot = IntHashing.mix(key) & mask;
+                while (keys[slot] != FREE) {
+                    slot = (slot + 1) & mask;
+                }
+                keys[slot] = key;
+            }
+        }
+    }
+    
+    private void allocate(int capacity) {
+        keys = new int[capacity];
+        mask = capacity - 1;
+        resizeAt = IntHashing.resizeThreshold(capacity);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,37 @@
+package com.inventory.util.collections;
+
+// Shared by the open-addressing tables: table sizing and the key hash
+final class IntHashing {
+    static final float LOAD_FACTOR = 0.75f;
+    private static final int MAX_CAPACITY = 1 << 30;
+    
+    private IntHashing() {
+    }
+    
+    // Power-of-two table size that holds expectedSize keys below the load factor
+    static int capacityFor(int expectedSize) {
+        if (expectedSize < 0) {
+            throw new IllegalArgumentException("expectedSize must not be negative");
+        }
+        long needed = (long) Math.ceil(Math.max(expectedSize, 4) / LOAD_FACTOR);
+        if (needed > MAX_CAPACITY) {
+            throw new IllegalArgumentException("expectedSize too large: " + expectedSize);
+        }
+        return Integer.highestOneBit((int) needed - 1) << 1;
+    }
+    
+    static int resizeThreshold(int capacity) {
+        return (int) (capacity * LOAD_FACTOR);
+    }
+    
+    // Ids are sequential, so the bits are spread before masking
+    static int mix(int key) {
+        int h = key * 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+    
+    // True when the entry at slot, whose home slot is home, may move back into gap
+    static boolean canShiftBack(int home, int gap, int slot, int mask) {
+        return ((slot - home) & mask) >= ((slot - gap) & mask);
+    }
+}
\ No newline at end of file
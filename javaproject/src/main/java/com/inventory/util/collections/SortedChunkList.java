@@ -0,0 +1,266 @@
+package com.inventory.util.collections;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+
+/**
+ * Immutable sorted list split into chunks of a few hundred elements. with returns a new list
+ * that shares every chunk but the one or two it touched, so replacing, adding or removing one
+ * element costs a chunk copy plus the chunk table instead of a copy of the whole list. The
+ * order must be total: elements that compare equal are treated as the same element.
+ */
+public final class SortedChunkList<T> implements Iterable<T> {
+    private static final int CHUNK_SIZE = 256;
+    
+    private final Comparator<? super T> order;
+    private final Object[][] chunks;
+    // ends[c] is the number of elements in chunks 0..c
+    private final int[] ends;
+    
+    private SortedChunkList(Comparator<? super T> order, Object[][] chunks) {
+        this.order = order;
+        this.chunks = chunks;
+        this.ends = new int[chunks.length];
+        int total = 0;
+        for (int c = 0; c < chunks.length; c++) {
+            total += chunks[c].length;
+            ends[c] = total;
+        }
+    }
+    
+    public static <T> SortedChunkList<T> empty(Comparator<? super T> order) {
+        return new SortedChunkList<>(order, new Object[0][]);
+    }
+    
+    // The elements must already be sorted by order
+    public static <T> SortedChunkList<T> of(List<? extends T> sorted, Comparator<? super T> order) {
+        Object[][] chunks = new Object[(sorted.size() + CHUNK_SIZE - 1) / CHUNK_SIZE][];
+        for (int c = 0; c < chunks.length; c++) {
+            chunks[c] = sorted.subList(c * CHUNK_SIZE, Math.min((c + 1) * CHUNK_SIZE, sorted.size())).toArray();
+        }
+        return new SortedChunkList<>(order, chunks);
+    }
+    
+    public int size() {
+        return ends.length == 0 ? 0 : ends[ends.length - 1];
+    }
+    
+    public boolean isEmpty() {
+        return chunks.length == 0;
+    }
+    
+    @SuppressWarnings("unchecked")
+    public T get(int index) {
+        if (index < 0 || index >= size()) {
+            throw new IndexOutOfBoundsException("Index " + index + " out of bounds for size " + size());
+        }
+        int c = chunkOfIndex(index);
+        return (T) chunks[c][index - start(c)];
+    }
+    
+    // The number of leading elements that pass; the predicate must hold for a prefix of the list
+    @SuppressWarnings("unchecked")
+    public int countLeading(Predicate<? super T> leading) {
+        int low = 0;
+        int high = chunks.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (leading.test((T) chunks[mid][chunks[mid].length - 1])) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        if (low == chunks.length) {
+            return size();
+        }
+        Object[] chunk = chunks[low];
+        int from = 0;
+        int to = chunk.length;
+        while (from < to) {
+            int mid = (from + to) >>> 1;
+            if (leading.test((T) chunk[mid])) {
+                from = mid + 1;
+            } else {
+                to = mid;
+            }
+        }
+        return start(low) + from;
+    }
+    
+    // A list with removed taken out and added put in; either may be null. An element that keeps
+    // its position is replaced in place, so only its chunk is copied.
+    public SortedChunkList<T> with(T removed, T added) {
+        if (removed == null && added == null) {
+            return this;
+        }
+        List<Object[]> work = new ArrayList<>(Arrays.asList(chunks));
+        if (removed != null && added != null && order.compare(removed, added) == 0) {
+            int c = chunkFor(removed);
+            int i = indexIn(c, removed);
+            if (i >= 0) {
+                Object[] chunk = chunks[c].clone();
+                chunk[i] = added;
+                work.set(c, chunk);
+                return new SortedChunkList<>(order, work.toArray(new Object[0][]));
+            }
+        }
+        if (removed != null) {
+            remove(work, removed);
+        }
+        if (added != null) {
+            insert(work, added);
+        }
+        return new SortedChunkList<>(order, work.toArray(new Object[0][]));
+    }
+    
+    @Override
+    public Iterator<T> iterator() {
+        return iterator(0);
+    }
+    
+    // Iterates from the element at index onwards
+    public Iterator<T> iterator(int index) {
+        if (index < 0 || index > size()) {
+            throw new IndexOutOfBoundsException("Index " + index + " out of bounds for size " + size());
+        }
+        int firstChunk = index == size() ? chunks.length : chunkOfIndex(index);
+        int firstOffset = firstChunk == chunks.length ? 0 : index - start(firstChunk);
+        return new Iterator<>() {
+            private int c = firstChunk;
+            private int i = firstOffset;
+            
+            @Override
+            public boolean hasNext() {
+                return c < chunks.length;
+            }
+            
+            @Override
+            @SuppressWarnings("unchecked")
+            public T next() {
+                if (c >= chunks.length) {
+                    throw new NoSuchElementException();
+                }
+                T element = (T) chunks[c][i++];
+                if (i == chunks[c].length) {
+                    c++;
+                    i = 0;
+                }
+                return element;
+            }
+        };
+    }
+    
+    @Override
+    @SuppressWarnings("unchecked")
+    public void forEach(Consumer<? super T> action) {
+        for (Object[] chunk : chunks) {
+            for (Object element : chunk) {
+                action.accept((T) element);
+            }
+        }
+    }
+    
+    private void remove(List<Object[]> work, T element) {
+        int c = chunkFor(work, element);
+        if (c == work.size()) {
+            return;
+        }
+        Object[] chunk = work.get(c);
+        int i = Arrays.binarySearch(chunk, element, comparator());
+        if (i < 0) {
+            return;
+        }
+        if (chunk.length == 1) {
+            work.remove(c);
+            return;
+        }
+        Object[] smaller = new Object[chunk.length - 1];
+        System.arraycopy(chunk, 0, smaller, 0, i);
+        System.arraycopy(chunk, i + 1, smaller, i, chunk.length - i - 1);
+        work.set(c, smaller);
+    }
+    
+    // Past the last chunk goes into the last chunk; a chunk that grows to twice the size is split
+    private void insert(List<Object[]> work, T element) {
+        if (work.isEmpty()) {
+            work.add(new Object[] {element});
+            return;
+        }
+        int c = Math.min(chunkFor(work, element), work.size() - 1);
+        Object[] chunk = work.get(c);
+        int i = Arrays.binarySearch(chunk, element, comparator());
+        if (i >= 0) {
+            Object[] replaced = chunk.clone();
+            replaced[i] = element;
+            work.set(c, replaced);
+            return;
+        }
+        i = -i - 1;
+        Object[] larger = new Object[chunk.length + 1];
+        System.arraycopy(chunk, 0, larger, 0, i);
+        larger[i] = element;
+        System.arraycopy(chunk, i, larger, i + 1, chunk.length - i);
+        if (larger.length < 2 * CHUNK_SIZE) {
+            work.set(c, larger);
+            return;
+        }
+        int half = larger.length / 2;
+        work.set(c, Arrays.copyOfRange(larger, 0, half));
+        work.add(c + 1, Arrays.copyOfRange(larger, half, larger.length));
+    }
+    
+    private int chunkFor(T element) {
+        return chunkFor(Arrays.asList(chunks), element);
+    }
+    
+    // The first chunk whose last element is not before element, or the chunk count if none is
+    @SuppressWarnings("unchecked")
+    private int chunkFor(List<Object[]> work, T element) {
+        int low = 0;
+        int high = work.size();
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            Object[] chunk = work.get(mid);
+            if (order.compare((T) chunk[chunk.length - 1], element) < 0) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+    
+    private int indexIn(int c, T element) {
+        return c == chunks.length ? -1 : Arrays.binarySearch(chunks[c], element, comparator());
+    }
+    
+    private int chunkOfIndex(int index) {
+        int low = 0;
+        int high = ends.length - 1;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (ends[mid] <= index) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+    
+    private int start(int c) {
+        return c == 0 ? 0 : ends[c - 1];
+    }
+    
+    @SuppressWarnings("unchecked")
+    private Comparator<Object> comparator() {
+        return (Comparator<Object>) order;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,17 @@
+-- Delta sync: items changed since a point in time come from this index,
+-- deleted items from the tombstones the trigger below leaves behind
+CREATE INDEX IF NOT EXISTS idx_items_last_updated ON items (last_updated, id);
+
+CREATE TABLE IF NOT EXISTS item_tombstones (
+    item_id INTEGER PRIMARY KEY,
+    deleted_at TIMESTAMP NOT NULL
+);
+
+CREATE INDEX IF NOT EXISTS idx_item_tombstones_deleted_at ON item_tombstones (deleted_at);
+
+-- Timestamps are stored as epoch milliseconds, like the ones the JDBC driver writes
+CREATE TRIGGER IF NOT EXISTS items_tombstone_delete AFTER DELETE ON items
+BEGIN
+    INSERT OR REPLACE INTO item_tombstones (item_id, deleted_at)
+    VALUES (old.id, CAST((julianday('now') - 2440587.5) * 86400000 AS INTEGER));
+END;
\ No newline at end of file
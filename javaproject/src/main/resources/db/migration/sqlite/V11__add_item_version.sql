@@ -0,0 +1,3 @@
+-- Optimistic concurrency: every write to an item bumps its version, and updateItem only
+-- succeeds when the version it read is still current
+ALTER TABLE items ADD COLUMN version INTEGER NOT NULL DEFAULT 0;
\ No newline at end of file
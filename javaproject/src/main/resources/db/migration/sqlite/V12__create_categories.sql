@@ -0,0 +1,18 @@
+-- Category names stored once; items refer to them by a small integer key.
+-- The category text column stays for the totals triggers and older readers.
+CREATE TABLE IF NOT EXISTS categories (
+    id INTEGER PRIMARY KEY,
+    name TEXT NOT NULL UNIQUE
+);
+
+INSERT INTO categories (name) SELECT DISTINCT category FROM items ORDER BY category;
+
+ALTER TABLE items ADD COLUMN category_id INTEGER REFERENCES categories (id);
+
+UPDATE items SET category_id = (SELECT id FROM categories WHERE categories.name = items.category);
+
+-- Category filters and the per-category report now go through the integer key
+CREATE INDEX IF NOT EXISTS idx_items_category_id_name ON items (category_id, name);
+CREATE INDEX IF NOT EXISTS idx_items_category_id_stats ON items (category_id, quantity, price);
+DROP INDEX IF EXISTS idx_items_category_name;
+DROP INDEX IF EXISTS idx_items_category_stats;
\ No newline at end of file
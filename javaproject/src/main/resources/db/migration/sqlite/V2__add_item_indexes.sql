@@ -0,0 +1,4 @@
+-- Same indexes the MySQL schema has had from the start
+CREATE INDEX IF NOT EXISTS idx_items_name ON items (name);
+CREATE INDEX IF NOT EXISTS idx_items_category ON items (category);
+CREATE INDEX IF NOT EXISTS idx_items_quantity ON items (quantity);
\ No newline at end of file
@@ -0,0 +1,3 @@
+-- Serves category filters ordered by name (keyset pagination); supersedes idx_items_category
+CREATE INDEX IF NOT EXISTS idx_items_category_name ON items (category, name);
+DROP INDEX IF EXISTS idx_items_category;
\ No newline at end of file
@@ -0,0 +1,2 @@
+-- Covering index for the per-category GROUP BY: the report reads only this index
+CREATE INDEX IF NOT EXISTS idx_items_category_stats ON items (category, quantity, price);
\ No newline at end of file
@@ -0,0 +1,11 @@
+-- Optional per-item low-stock threshold; NULL means use the threshold the caller passes
+ALTER TABLE items ADD COLUMN reorder_point INTEGER;
+
+-- Items without their own threshold: a range scan on quantity
+CREATE INDEX IF NOT EXISTS idx_items_low_stock ON items (quantity) WHERE reorder_point IS NULL;
+
+-- Items with their own threshold, usually a small subset
+CREATE INDEX IF NOT EXISTS idx_items_reorder_point ON items (quantity, reorder_point) WHERE reorder_point IS NOT NULL;
+
+-- Superseded by the two partial indexes above
+DROP INDEX IF EXISTS idx_items_quantity;
\ No newline at end of file
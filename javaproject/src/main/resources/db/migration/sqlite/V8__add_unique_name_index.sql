@@ -0,0 +1,6 @@
+-- Names become unique ignoring case. Existing duplicates keep the oldest row's name;
+-- later ones get their id appended so the index can be built.
+UPDATE items SET name = name || ' (' || id || ')'
+WHERE id NOT IN (SELECT MIN(id) FROM items GROUP BY name COLLATE NOCASE);
+
+CREATE UNIQUE INDEX IF NOT EXISTS idx_items_name_nocase ON items (name COLLATE NOCASE);
\ No newline at end of file
@@ -0,0 +1,72 @@
+-- Running totals kept up to date by triggers, so counts and values are read in constant time.
+-- AggregateVerifier checks them against the items table and can rebuild them.
+CREATE TABLE IF NOT EXISTS inventory_totals (
+    id INTEGER PRIMARY KEY CHECK (id = 1),
+    item_count INTEGER NOT NULL,
+    total_quantity INTEGER NOT NULL,
+    total_value REAL NOT NULL
+);
+
+CREATE TABLE IF NOT EXISTS category_totals (
+    category TEXT PRIMARY KEY,
+    item_count INTEGER NOT NULL,
+    total_quantity INTEGER NOT NULL,
+    total_value REAL NOT NULL
+);
+
+INSERT INTO inventory_totals (id, item_count, total_quantity, total_value)
+SELECT 1, COUNT(*), COALESCE(SUM(quantity), 0), COALESCE(SUM(quantity * price), 0) FROM items;
+
+INSERT INTO category_totals (category, item_count, total_quantity, total_value)
+SELECT category, COUNT(*), SUM(quantity), SUM(quantity * price) FROM items GROUP BY category;
+
+CREATE TRIGGER IF NOT EXISTS items_totals_insert AFTER INSERT ON items
+BEGIN
+    UPDATE inventory_totals
+    SET item_count = item_count + 1,
+        total_quantity = total_quantity + new.quantity,
+        total_value = total_value + new.quantity * new.price
+    WHERE id = 1;
+    INSERT INTO category_totals (category, item_count, total_quantity, total_value)
+    VALUES (new.category, 1, new.quantity, new.quantity * new.price)
+    ON CONFLICT (category) DO UPDATE
+    SET item_count = item_count + 1,
+        total_quantity = total_quantity + excluded.total_quantity,
+        total_value = total_value + excluded.total_value;
+END;
+
+CREATE TRIGGER IF NOT EXISTS items_totals_delete AFTER DELETE ON items
+BEGIN
+    UPDATE inventory_totals
+    SET item_count = item_count - 1,
+        total_quantity = total_quantity - old.quantity,
+        total_value = total_value - old.quantity * old.price
+    WHERE id = 1;
+    UPDATE category_totals
+    SET item_count = item_count - 1,
+        total_quantity = total_quantity - old.quantity,
+        total_value = total_value - old.quantity * old.price
+    WHERE category = old.category;
+    DELETE FROM category_totals WHERE category = old.category AND item_count = 0;
+END;
+
+-- Name and description edits do not touch the totals
+CREATE TRIGGER IF NOT EXISTS items_totals_update AFTER UPDATE OF quantity, price, category ON items
+BEGIN
+    UPDATE inventory_totals
+    SET total_quantity = total_quantity - old.quantity + new.quantity,
+        total_value = total_value - old.quantity * old.price + new.quantity * new.price
+    WHERE id = 1;
+    UPDATE category_totals
+    SET item_count = item_count - 1,
+        total_quantity = total_quantity - old.quantity,
+        total_value = total_value - old.quantity * old.price
+    WHERE category = old.category;
+    INSERT INTO category_totals (category, item_count, total_quantity, total_value)
+    VALUES (new.category, 1, new.quantity, new.quantity * new.price)
+    ON CONFLICT (category) DO UPDATE
+    SET item_count = item_count + 1,
+        total_quantity = total_quantity + excluded.total_quantity,
+        total_value = total_value + excluded.total_value;
+    DELETE FROM category_totals WHERE category = old.category AND item_count = 0;
+END;
\ No newline at end of file
@@ -0,0 +1,72 @@
+package com.inventory.benchmark;
+
+import com.inventory.dao.ItemDAO;
+import com.inventory.dao.ItemDAOImpl;
+import com.inventory.database.DatabaseConnection;
+import com.inventory.model.Item;
+import com.inventory.service.InventoryService;
+import com.inventory.service.InventoryServiceImpl;
+import java.io.File;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * Category breakdown and low stock reads from SQL versus the columnar store. Not a unit test; run it by hand:
+ *
+ *   java -cp ... com.inventory.benchmark.ColumnarScanBenchmark [items] [iterations]
+ *
+ * The columns go off heap from -Dinventory.columnar.offHeapRows rows (250000 by default);
+ * set it above or below the item count to compare the two.
+ */
+public class ColumnarScanBenchmark {
+    
+    public static void main(String[] args) throws Exception {
+        int itemCount = args.length > 0 ? Integer.parseInt(args[0]) : 300_000;
+        int iterations = args.length > 1 ? Integer.parseInt(args[1]) : 20;
+        
+        File dbFile = File.createTempFile("inventory-bench", ".db");
+        dbFile.delete();
+        System.setProperty("inventory.db.url", "jdbc:sqlite:" + dbFile.getAbsolutePath());
+        System.setProperty("inventory.columnar", "true");
+        
+        ItemDAO dao = new ItemDAOImpl();
+        List<Item> items = new ArrayList<>();
+        for (int i = 0; i < itemCount; i++) {
+            Item item = new Item("Item " + i, null, i % 500, 1.0 + i % 50, "Category " + i % 30);
+            item.setReorderPoint(i % 10 == 0 ? 20 : null);
+            items.add(item);
+        }
+        dao.addItems(items);
+        items = null;
+        
+        long start = System.nanoTime();
+        InventoryService columnar = new InventoryServiceImpl(dao);
+        System.out.printf("items=%d  columnar load %.0f ms%n", itemCount, (System.nanoTime() - start) / 1e6);
+        
+        compare("category stats    ", iterations, dao::getCategoryStats, columnar::getCategoryStats);
+        compare("count low stock   ", iterations, () -> dao.countLowStock(5), () -> columnar.countLowStock(5));
+        compare("low stock items   ", iterations, () -> dao.getLowStockItems(5), () -> columnar.getLowStockItems(5));
+        
+        DatabaseConnection.closeConnection();
+        dbFile.delete();
+        new File(dbFile.getAbsolutePath() + "-wal").delete();
+        new File(dbFile.getAbsolutePath() + "-shm").delete();
+    }
+    
+    private static void compare(String label, int iterations, Supplier<?> sql, Supplier<?> columnar) {
+        System.out.printf("%s  sql %9.3f ms   columnar %9.3f ms%n", label, time(iterations, sql), time(iterations, columnar));
+    }
+    
+    // Mean over the iterations after as many warm-up calls
+    private static double time(int iterations, Supplier<?> read) {
+        for (int i = 0; i < iterations; i++) {
+            read.get();
+        }
+        long start = System.nanoTime();
+        for (int i = 0; i < iterations; i++) {
+            read.get();
+        }
+        return (System.nanoTime() - start) / 1e6 / iterations;
+    }
+}
\ No newline at end of file
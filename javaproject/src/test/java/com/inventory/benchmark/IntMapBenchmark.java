@@ -0,0 +1,105 @@
+package com.inventory.benchmark;
+
+import com.inventory.model.Item;
+import com.inventory.util.collections.IntObjectHashMap;
+import java.lang.management.ManagementFactory;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+import java.util.function.Supplier;
+
+/**
+ * Build allocation, retained heap and random lookup latency of an id-to-item index
+ * kept in a HashMap<Integer, Item> versus an IntObjectHashMap. Not a unit test; run
+ * it by hand with a fixed heap so the retained numbers are comparable:
+ *
+ *   java -Xms2g -Xmx2g -cp ... com.inventory.benchmark.IntMapBenchmark [items] [rounds]
+ */
+public class IntMapBenchmark {
+    private static final int LOOKUPS = 10_000_000;
+    
+    private interface Index {
+        Item get(int id);
+    }
+    
+    public static void main(String[] args) {
+        int itemCount = args.length > 0 ? Integer.parseInt(args[0]) : 1_000_000;
+        int rounds = args.length > 1 ? Integer.parseInt(args[1]) : 5;
+        
+        // Ids as the database hands them out: sequential, with some gaps left by deletes
+        Random random = new Random(1);
+        int[] ids = new int[itemCount];
+        Item[] items = new Item[itemCount];
+        for (int i = 0, id = 1; i < itemCount; i++, id += 1 + (random.nextInt(10) == 0 ? 1 : 0)) {
+            ids[i] = id;
+            items[i] = new Item("Item " + id, null, id % 500, 1.0, "Category " + id % 20);
+            items[i].setId(id);
+        }
+        int[] probes = new int[LOOKUPS];
+        for (int i = 0; i < LOOKUPS; i++) {
+            probes[i] = ids[random.nextInt(itemCount)];
+        }
+        
+        long[] sink = {0};
+        for (int round = 0; round < rounds; round++) {
+            Object[] keep = new Object[1];
+            Index boxed = build("HashMap<Integer, Item>", itemCount, keep, () -> {
+                Map<Integer, Item> map = new HashMap<>(itemCount * 4 / 3 + 1);
+                for (int i = 0; i < itemCount; i++) {
+                    map.put(ids[i], items[i]);
+                }
+                return map::get;
+            });
+            sink[0] += lookup(boxed, probes);
+            keep[0] = null;
+            
+            Index primitive = build("IntObjectHashMap<Item>", itemCount, keep, () -> {
+                IntObjectHashMap<Item> map = new IntObjectHashMap<>(itemCount);
+                for (int i = 0; i < itemCount; i++) {
+                    map.put(ids[i], items[i]);
+                }
+                return map::get;
+            });
+            sink[0] += lookup(primitive, probes);
+            System.out.println();
+        }
+        System.out.println("(" + sink[0] + ")");
+    }
+    
+    private static Index build(String label, int items, Object[] keep, Supplier<Index> builder) {
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long thread = Thread.currentThread().threadId();
+        long retainedBefore = usedHeap();
+        long allocatedBefore = threads.getThreadAllocatedBytes(thread);
+        long start = System.nanoTime();
+        
+        Index index = builder.get();
+        
+        double millis = (System.nanoTime() - start) / 1e6;
+        long allocated = threads.getThreadAllocatedBytes(thread) - allocatedBefore;
+        keep[0] = index;
+        long retained = usedHeap() - retainedBefore;
+        System.out.printf("%-22s  build %5.0f ms  %6.1f MB allocated  %5.1f B/item  %6.1f MB retained%n",
+            label, millis, allocated / 1e6, allocated / (double) items, retained / 1e6);
+        return index;
+    }
+    
+    private static long lookup(Index index, int[] probes) {
+        long sum = 0;
+        long start = System.nanoTime();
+        for (int probe : probes) {
+            sum += index.get(probe).getQuantity();
+        }
+        double nanos = (System.nanoTime() - start) / (double) probes.length;
+        System.out.printf("%-22s  lookup %5.1f ns%n", "", nanos);
+        return sum;
+    }
+    
+    private static long usedHeap() {
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        Runtime runtime = Runtime.getRuntime();
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+}
\ No newline at end of file
@@ -0,0 +1,74 @@
+package com.inventory.benchmark;
+
+import com.inventory.dao.ItemDAO;
+import com.inventory.dao.ItemDAOImpl;
+import com.inventory.database.DatabaseConnection;
+import com.inventory.model.Item;
+import java.io.File;
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Allocation and GC cost of streaming the whole items table as Item objects versus
+ * compact ItemRecords. Not a unit test; run it by hand:
+ *
+ *   java -cp ... com.inventory.benchmark.LoadAllocationBenchmark [items] [rounds]
+ */
+public class LoadAllocationBenchmark {
+    
+    public static void main(String[] args) throws Exception {
+        int itemCount = args.length > 0 ? Integer.parseInt(args[0]) : 200_000;
+        int rounds = args.length > 1 ? Integer.parseInt(args[1]) : 5;
+        
+        File dbFile = File.createTempFile("inventory-bench", ".db");
+        dbFile.delete();
+        System.setProperty("inventory.db.url", "jdbc:sqlite:" + dbFile.getAbsolutePath());
+        
+        ItemDAO dao = new ItemDAOImpl();
+        List<Item> items = new ArrayList<>();
+        for (int i = 0; i < itemCount; i++) {
+            items.add(new Item("Item " + i, "Benchmark item " + i, i % 500, 1.0 + i % 50, "Category " + i % 20));
+        }
+        dao.addItems(items);
+        items = null;
+        
+        long[] sink = {0};
+        for (int round = 0; round < rounds; round++) {
+            measure("Item      ", itemCount, () -> dao.forEachItem(item -> sink[0] += item.getQuantity()));
+            measure("ItemRecord", itemCount, () -> dao.forEachItemRecord(item -> sink[0] += item.quantity()));
+        }
+        
+        DatabaseConnection.closeConnection();
+        dbFile.delete();
+        new File(dbFile.getAbsolutePath() + "-wal").delete();
+        new File(dbFile.getAbsolutePath() + "-shm").delete();
+    }
+    
+    private static void measure(String label, int rows, Runnable load) {
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long thread = Thread.currentThread().threadId();
+        long allocatedBefore = threads.getThreadAllocatedBytes(thread);
+        long[] gcBefore = gcTotals();
+        long start = System.nanoTime();
+        
+        load.run();
+        
+        double millis = (System.nanoTime() - start) / 1e6;
+        long allocated = threads.getThreadAllocatedBytes(thread) - allocatedBefore;
+        long[] gcAfter = gcTotals();
+        System.out.printf("%s  %7.0f ms  %7.1f MB allocated  %5.0f B/row  %4.0f MB/s  %3d GCs  %4d ms in GC%n",
+            label, millis, allocated / 1e6, allocated / (double) rows, allocated / 1e3 / millis,
+            gcAfter[0] - gcBefore[0], gcAfter[1] - gcBefore[1]);
+    }
+    
+    private static long[] gcTotals() {
+        long[] totals = new long[2];
+        for (GarbageCollectorMXBean gc : ManagementFactory.getGarbageCollectorMXBeans()) {
+            totals[0] += gc.getCollectionCount();
+            totals[1] += gc.getCollectionTime();
+        }
+        return totals;
+    }
+}
\ No newline at end of file
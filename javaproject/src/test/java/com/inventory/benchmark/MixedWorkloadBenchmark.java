@@ -0,0 +1,80 @@
+package com.inventory.benchmark;
+
+import com.inventory.dao.ItemDAO;
+import com.inventory.dao.ItemDAOImpl;
+import com.inventory.database.DatabaseConnection;
+import com.inventory.model.Item;
+import java.io.File;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Mixed read/write throughput against a scratch database. Not a unit test; run it by hand:
+ *
+ *   java -cp ... com.inventory.benchmark.MixedWorkloadBenchmark [items] [readers] [writers] [seconds]
+ *
+ * Compare journal modes with -Dinventory.sqlite.journalMode=DELETE (rollback journal) vs the WAL default.
+ */
+public class MixedWorkloadBenchmark {
+    
+    public static void main(String[] args) throws Exception {
+        int itemCount = args.length > 0 ? Integer.parseInt(args[0]) : 2_000;
+        int readers = args.length > 1 ? Integer.parseInt(args[1]) : 4;
+        int writers = args.length > 2 ? Integer.parseInt(args[2]) : 2;
+        int seconds = args.length > 3 ? Integer.parseInt(args[3]) : 10;
+        
+        File dbFile = File.createTempFile("inventory-bench", ".db");
+        dbFile.delete();
+        System.setProperty("inventory.db.url", "jdbc:sqlite:" + dbFile.getAbsolutePath());
+        
+        ItemDAO dao = new ItemDAOImpl();
+        for (int i = 0; i < itemCount; i++) {
+            dao.addItem(new Item("Item " + i, "Benchmark item " + i, 100, 1.0 + i % 50, "Category " + i % 20));
+        }
+        
+        AtomicBoolean running = new AtomicBoolean(true);
+        LongAdder reads = new LongAdder();
+        LongAdder writes = new LongAdder();
+        List<Thread> threads = new ArrayList<>();
+        
+        for (int i = 0; i < readers; i++) {
+            threads.add(new Thread(() -> {
+                while (running.get()) {
+                    dao.getAllItems();
+                    reads.increment();
+                }
+            }));
+        }
+        for (int i = 0; i < writers; i++) {
+            threads.add(new Thread(() -> {
+                ThreadLocalRandom random = ThreadLocalRandom.current();
+                while (running.get()) {
+                    dao.updateQuantity(1 + random.nextInt(itemCount), random.nextInt(1000));
+                    writes.increment();
+                }
+            }));
+        }
+        
+        threads.forEach(Thread::start);
+        Thread.sleep(seconds * 1000L);
+        running.set(false);
+        for (Thread t : threads) {
+            t.join();
+        }
+        
+        System.out.printf("journal=%s items=%d readers=%d writers=%d%n",
+            System.getProperty("inventory.sqlite.journalMode", "WAL"), itemCount, readers, writers);
+        System.out.printf("full scans/s: %.1f   quantity updates/s: %.1f%n",
+            reads.sum() / (double) seconds, writes.sum() / (double) seconds);
+        System.out.println(DatabaseConnection.getWriterPoolStats());
+        System.out.println(DatabaseConnection.getReaderPoolStats());
+        
+        DatabaseConnection.closeConnection();
+        dbFile.delete();
+        new File(dbFile.getAbsolutePath() + "-wal").delete();
+        new File(dbFile.getAbsolutePath() + "-shm").delete();
+    }
+}
\ No newline at end of file
@@ -0,0 +1,95 @@
+package com.inventory.benchmark;
+
+import com.inventory.dao.ItemDAO;
+import com.inventory.dao.ItemDAOImpl;
+import com.inventory.database.DatabaseConnection;
+import com.inventory.model.Item;
+import com.inventory.service.InventoryService;
+import com.inventory.service.InventoryServiceImpl;
+import java.io.File;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Sustained single-item writes from concurrent callers: each write committed on its own through
+ * the DAO, versus the service's write queue. Not a unit test; run it by hand:
+ *
+ *   java -cp ... com.inventory.benchmark.WriteThroughputBenchmark [threads] [seconds] [items]
+ *
+ * Set -Dinventory.sqlite.synchronous=FULL to compare with a sync on every commit.
+ */
+public class WriteThroughputBenchmark {
+    
+    @FunctionalInterface
+    private interface Writer {
+        boolean write(int itemId, int i);
+    }
+    
+    public static void main(String[] args) throws Exception {
+        int threads = args.length > 0 ? Integer.parseInt(args[0]) : 8;
+        int seconds = args.length > 1 ? Integer.parseInt(args[1]) : 5;
+        int itemCount = args.length > 2 ? Integer.parseInt(args[2]) : 10_000;
+        
+        File dbFile = File.createTempFile("inventory-bench", ".db");
+        dbFile.delete();
+        System.setProperty("inventory.db.url", "jdbc:sqlite:" + dbFile.getAbsolutePath());
+        
+        ItemDAO dao = new ItemDAOImpl();
+        List<Item> items = new ArrayList<>();
+        for (int i = 0; i < itemCount; i++) {
+            items.add(new Item("Item " + i, null, 100, 1.0 + i % 50, "Category " + i % 30));
+        }
+        dao.addItems(items);
+        int firstId = dao.getAllItems().get(0).getId();
+        InventoryService service = new InventoryServiceImpl(dao);
+        
+        // Mostly adjustments, some absolute sets and inserts
+        System.out.printf("threads=%d  synchronous=%s%n", threads, System.getProperty("inventory.sqlite.synchronous", "NORMAL"));
+        run("direct", threads, seconds, firstId, itemCount, (id, i) -> switch (i % 10) {
+            case 0 -> dao.addItem(new Item("Direct " + Thread.currentThread().threadId() + "-" + i, null, 1, 1.0, "New"));
+            case 1, 2 -> dao.updateQuantity(id, i % 500);
+            default -> dao.adjustQuantity(id, 1, "scan", "bench");
+        });
+        run("queued", threads, seconds, firstId, itemCount, (id, i) -> switch (i % 10) {
+            case 0 -> service.addItem(new Item("Queued " + Thread.currentThread().threadId() + "-" + i, null, 1, 1.0, "New"));
+            case 1, 2 -> service.setQuantity(id, i % 500);
+            default -> service.adjustQuantity(id, 1, "scan", "bench");
+        });
+        
+        service.shutdown();
+        DatabaseConnection.closeConnection();
+        dbFile.delete();
+        new File(dbFile.getAbsolutePath() + "-wal").delete();
+        new File(dbFile.getAbsolutePath() + "-shm").delete();
+    }
+    
+    // A second of warm-up, then writes per second over the measured run
+    private static void run(String label, int threads, int seconds, int firstId, int itemCount, Writer writer) throws Exception {
+        LongAdder writes = new LongAdder();
+        long warmUpEnd = System.nanoTime() + 1_000_000_000L;
+        long end = warmUpEnd + seconds * 1_000_000_000L;
+        Thread[] workers = new Thread[threads];
+        for (int t = 0; t < threads; t++) {
+            workers[t] = new Thread(() -> {
+                ThreadLocalRandom random = ThreadLocalRandom.current();
+                for (int i = 0; ; i++) {
+                    long now = System.nanoTime();
+                    if (now >= end) {
+                        return;
+                    }
+                    writer.write(firstId + random.nextInt(itemCount), i);
+                    if (now >= warmUpEnd) {
+                        writes.increment();
+                    }
+                }
+            });
+            workers[t].start();
+        }
+        for (Thread worker : workers) {
+            worker.join();
+        }
+        System.out.printf("%s  %,9.0f writes/s%n", label, writes.sum() / (double) seconds);
+    }
+}
\ No newline at end of file
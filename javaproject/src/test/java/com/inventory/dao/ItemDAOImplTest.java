@@ -0,0 +1,484 @@
+package com.inventory.dao;
+
+import com.inventory.database.DatabaseConnection;
+import com.inventory.database.SchemaMigrator;
+import com.inventory.model.CategoryStats;
+import com.inventory.model.InventoryTotals;
+import com.inventory.model.Item;
+import com.inventory.model.ItemSummary;
+import com.inventory.model.SearchResult;
+import com.inventory.model.StockAdjustment;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import static org.junit.Assert.*;
+import java.io.File;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+public class ItemDAOImplTest {
+    private File dbFile;
+    private ItemDAO itemDAO;
+    
+    @Before
+    public void setUp() throws Exception {
+        dbFile = File.createTempFile("inventory-test", ".db");
+        dbFile.delete();
+        System.setProperty("inventory.db.url", "jdbc:sqlite:" + dbFile.getAbsolutePath());
+        itemDAO = new ItemDAOImpl();
+    }
+    
+    @After
+    public void tearDown() {
+        DatabaseConnection.closeConnection();
+        System.clearProperty("inventory.db.url");
+        new File(dbFile.getAbsolutePath() + "-wal").delete();
+        new File(dbFile.getAbsolutePath() + "-shm").delete();
+        dbFile.delete();
+    }
+    
+    @Test
+    public void testSchemaIsMigratedToLatestVersion() throws Exception {
+        try (Connection conn = DatabaseConnection.getConnection()) {
+            SchemaMigrator migrator = new SchemaMigrator();
+            assertEquals(SchemaMigrator.getLatestVersion(), migrator.getCurrentVersion(conn));
+            // Running again is a no-op
+            assertEquals(SchemaMigrator.getLatestVersion(), migrator.migrate(conn));
+        }
+    }
+    
+    @Test
+    public void testAddAndReadItem() {
+        assertTrue(itemDAO.addItem(new Item("Widget", "Blue widget", 7, 2.50, "Tools")));
+        
+        List<Item> items = itemDAO.getAllItems();
+        assertEquals(1, items.size());
+        
+        Item loaded = itemDAO.getItemById(items.get(0).getId());
+        assertEquals("Widget", loaded.getName());
+        assertEquals(7, loaded.getQuantity());
+        assertEquals(2.50, loaded.getPrice(), 0.001);
+        assertEquals("Tools", loaded.getCategory());
+    }
+    
+    @Test
+    public void testBatchInsertReturnsGeneratedKeys() {
+        ItemDAO smallBatches = new ItemDAOImpl(100);
+        List<Item> items = new ArrayList<>();
+        for (int i = 0; i < 250; i++) {
+            items.add(new Item("Item " + i, null, i, 1.0, "Bulk"));
+        }
+        
+        BatchResult result = smallBatches.addItems(items);
+        assertEquals(250, result.size());
+        assertEquals(250, result.getSuccessCount());
+        for (int i = 0; i < items.size(); i++) {
+            Item loaded = itemDAO.getItemById(result.getKey(i));
+            assertEquals("Item " + i, loaded.getName());
+            assertEquals(result.getKey(i), items.get(i).getId());
+        }
+    }
+    
+    @Test
+    public void testBatchUpdateAndDeleteReportPerRowResults() {
+        List<Item> items = new ArrayList<>();
+        items.add(new Item("A", null, 1, 1.0, "Bulk"));
+        items.add(new Item("B", null, 2, 1.0, "Bulk"));
+        int[] ids = itemDAO.addItems(items).getKeys();
+        
+        Map<Integer, Integer> quantities = new LinkedHashMap<>();
+        quantities.put(ids[0], 10);
+        quantities.put(9999, 5);
+        BatchResult updated = itemDAO.updateQuantities(quantities);
+        assertTrue(updated.isSuccess(0));
+        assertFalse(updated.isSuccess(1));
+        assertEquals(10, itemDAO.getItemById(ids[0]).getQuantity());
+        
+        BatchResult deleted = itemDAO.deleteItems(new int[] {ids[0], ids[1], 9999});
+        assertEquals(2, deleted.getSuccessCount());
+        assertEquals(0, itemDAO.getTotalItems());
+    }
+    
+    @Test
+    public void testKeysetPagesCoverEveryRowOnce() {
+        List<Item> items = new ArrayList<>();
+        for (int i = 0; i < 45; i++) {
+            // Name order differs from id order; names are unique ignoring case
+            items.add(new Item("Item " + (i % 20) + (i < 20 ? "" : "-" + i), null, i, 1.0, i % 3 == 0 ? "Tools" : "Parts"));
+        }
+        itemDAO.addItems(items);
+        
+        List<Integer> seen = new ArrayList<>();
+        String token = null;
+        String previousName = "";
+        do {
+            Page<ItemSummary> page = itemDAO.getItemsPage(token, 10);
+            assertEquals(45, page.getEstimatedTotal());
+            for (ItemSummary item : page.getItems()) {
+                assertTrue(item.name().compareTo(previousName) >= 0);
+                previousName = item.name();
+                seen.add(item.id());
+            }
+            token = page.getNextPageToken();
+        } while (token != null);
+        assertEquals(45, seen.size());
+        assertEquals(45, seen.stream().distinct().count());
+        
+        Page<ItemSummary> tools = itemDAO.getItemsByCategoryPage("Tools", null, 100);
+        assertEquals(15, tools.getItems().size());
+        assertFalse(tools.hasNextPage());
+        assertEquals(23, itemDAO.searchItemsPage("Item 1", null, 100).getEstimatedTotal());
+        
+        // With a category the query itself narrows, so pages and the total only hold matching rows
+        Page<ItemSummary> toolMatches = itemDAO.searchItemsPage("Item 1", "Tools", null, 5);
+        assertEquals(8, toolMatches.getEstimatedTotal());
+        assertEquals(5, toolMatches.getItems().size());
+        toolMatches.getItems().forEach(item -> assertEquals("Tools", item.category()));
+        assertEquals(3, itemDAO.searchItemsPage("Item 1", "Tools", toolMatches.getNextPageToken(), 5).getItems().size());
+        
+        List<ItemSummary> lowStock = itemDAO.getLowStockItems(2);
+        assertEquals(3, lowStock.size());
+        assertEquals(0, lowStock.get(0).quantity());
+        assertEquals(3, itemDAO.countLowStock(2));
+    }
+    
+    @Test
+    public void testFullTextSearchRanksHighlightsAndFollowsWrites() {
+        itemDAO.addItem(new Item("Blue widget", "Small", 1, 1.0, "Tools"));
+        itemDAO.addItem(new Item("Gadget", "Works with any blue widget", 1, 1.0, "Tools"));
+        itemDAO.addItem(new Item("Red bolt", "Steel", 1, 1.0, "Parts"));
+        
+        // Prefix match on every word; name hits rank above description hits
+        List<SearchResult> results = itemDAO.searchItemsRanked("blu wid", 10);
+        assertEquals(2, results.size());
+        assertEquals("Blue widget", results.get(0).item().name());
+        assertEquals("[Blue] [widget]", results.get(0).highlightedName());
+        assertTrue(results.get(1).descriptionSnippet().contains("[blue] [widget]"));
+        assertTrue(results.get(0).score() > results.get(1).score());
+        
+        // Triggers keep the index in step with renames and deletes
+        Item bolt = itemDAO.searchItems("bolt").get(0);
+        bolt.setName("Red screw");
+        assertEquals(UpdateResult.UPDATED, itemDAO.updateItem(bolt));
+        assertTrue(itemDAO.searchItems("bolt").isEmpty());
+        assertEquals(1, itemDAO.searchItems("screw").size());
+        assertTrue(itemDAO.deleteItem(bolt.getId()));
+        assertTrue(itemDAO.searchItems("screw").isEmpty());
+        assertTrue(itemDAO.searchItems("\"*)(").isEmpty());
+    }
+    
+    @Test
+    public void testConcurrentAdjustmentsAreAtomicAndLedgered() throws Exception {
+        itemDAO.addItem(new Item("Widget", null, 0, 1.0, "Tools"));
+        int id = itemDAO.getAllItems().get(0).getId();
+        
+        Thread[] scanners = new Thread[4];
+        for (int t = 0; t < scanners.length; t++) {
+            scanners[t] = new Thread(() -> {
+                for (int i = 0; i < 50; i++) {
+                    itemDAO.adjustQuantity(id, 1, "scan", "test");
+                }
+            });
+            scanners[t].start();
+        }
+        for (Thread scanner : scanners) {
+            scanner.join();
+        }
+        assertEquals(200, itemDAO.getItemById(id).getQuantity());
+        
+        // Clamped at zero, and unknown ids change nothing
+        assertTrue(itemDAO.adjustQuantity(id, -500, "write-off", "test"));
+        assertEquals(0, itemDAO.getItemById(id).getQuantity());
+        assertFalse(itemDAO.adjustQuantity(9999, 1, "scan", "test"));
+        
+        try (Connection conn = DatabaseConnection.getReadConnection();
+             Statement stmt = conn.createStatement();
+             ResultSet rs = stmt.executeQuery("SELECT COUNT(*), MIN(quantity_after) FROM stock_movements")) {
+            assertTrue(rs.next());
+            assertEquals(201, rs.getInt(1));
+            assertEquals(0, rs.getInt(2));
+        }
+    }
+    
+    @Test
+    public void testAdjustmentsFailingMidBatchAreRolledBack() throws Exception {
+        itemDAO.addItem(new Item("Widget", null, 5, 1.0, "Tools"));
+        int id = itemDAO.getAllItems().get(0).getId();
+        
+        // The null entry throws after the first adjustment has been written
+        try {
+            itemDAO.adjustQuantities(Arrays.asList(new StockAdjustment(id, 3, "scan", "test"), null));
+            fail("Expected the null adjustment to throw");
+        } catch (NullPointerException expected) {
+        }
+        
+        assertEquals(5, itemDAO.getItemById(id).getQuantity());
+        assertTrue(itemDAO.adjustQuantity(id, 1, "scan", "test"));
+        assertEquals(6, itemDAO.getItemById(id).getQuantity());
+        try (Connection conn = DatabaseConnection.getReadConnection();
+             Statement stmt = conn.createStatement();
+             ResultSet rs = stmt.executeQuery("SELECT COUNT(*) FROM stock_movements")) {
+            assertTrue(rs.next());
+            assertEquals(1, rs.getInt(1));
+        }
+    }
+    
+    @Test
+    public void testCategoryStatsAggregatesPerCategory() {
+        List<Item> items = new ArrayList<>();
+        items.add(new Item("Hammer", null, 2, 10.0, "Tools"));
+        items.add(new Item("Saw", null, 1, 30.0, "Tools"));
+        items.add(new Item("Bolt", null, 100, 0.5, "Parts"));
+        itemDAO.addItems(items);
+        
+        List<CategoryStats> stats = itemDAO.getCategoryStats();
+        assertEquals(2, stats.size());
+        CategoryStats parts = stats.get(0);
+        assertEquals("Parts", parts.category());
+        assertEquals(50.0, parts.totalValue(), 0.001);
+        CategoryStats tools = stats.get(1);
+        assertEquals(2, tools.itemCount());
+        assertEquals(3, tools.totalQuantity());
+        assertEquals(50.0, tools.totalValue(), 0.001);
+        assertEquals(10.0, tools.minPrice(), 0.001);
+        assertEquals(30.0, tools.maxPrice(), 0.001);
+        assertEquals(20.0, tools.avgPrice(), 0.001);
+    }
+    
+    @Test
+    public void testSummaryTablesFollowWrites() throws Exception {
+        BatchResult added = itemDAO.addItems(List.of(
+            new Item("Hammer", null, 2, 10.0, "Tools"),
+            new Item("Saw", null, 1, 30.0, "Tools"),
+            new Item("Bolt", null, 100, 0.5, "Parts")));
+        Item saw = itemDAO.getItemById(added.getKey(1));
+        saw.setCategory("Garden");
+        assertEquals(UpdateResult.UPDATED, itemDAO.updateItem(saw));
+        assertTrue(itemDAO.adjustQuantity(added.getKey(2), -20, "sale", "test"));
+        assertTrue(itemDAO.deleteItem(added.getKey(0)));
+        
+        InventoryTotals totals = itemDAO.getInventoryTotals();
+        assertEquals(2, totals.itemCount());
+        assertEquals(81, totals.totalQuantity());
+        assertEquals(70.0, totals.totalValue(), 0.001);
+        assertEquals(2, itemDAO.getTotalItems());
+        
+        // Tools lost its last item, so its row is gone
+        List<InventoryTotals> categories = itemDAO.getCategoryTotals();
+        assertEquals(2, categories.size());
+        assertEquals("Garden", categories.get(0).category());
+        assertEquals(30.0, categories.get(0).totalValue(), 0.001);
+        assertEquals("Parts", categories.get(1).category());
+        assertEquals(80, categories.get(1).totalQuantity());
+        assertEquals(List.of("Garden", "Parts"), itemDAO.getAllCategories());
+        
+        AggregateVerifier verifier = new AggregateVerifier();
+        assertTrue(verifier.verify().isEmpty());
+        try (Connection conn = DatabaseConnection.getWriteConnection();
+             Statement stmt = conn.createStatement()) {
+            stmt.executeUpdate("UPDATE inventory_totals SET item_count = 7");
+            stmt.executeUpdate("DELETE FROM category_totals WHERE category = 'Parts'");
+        }
+        assertEquals(2, verifier.verify().size());
+        verifier.rebuild();
+        assertTrue(verifier.verify().isEmpty());
+        assertEquals(2, itemDAO.getTotalItems());
+    }
+    
+    @Test
+    public void testLowStockUsesReorderPointWhenSet() {
+        Item bolts = new Item("Bolts", null, 40, 0.1, "Parts");
+        bolts.setReorderPoint(50);
+        Item nuts = new Item("Nuts", null, 40, 0.1, "Parts");
+        Item saw = new Item("Saw", null, 3, 20.0, "Tools");
+        Item drill = new Item("Drill", null, 3, 90.0, "Tools");
+        drill.setReorderPoint(1);
+        itemDAO.addItems(List.of(bolts, nuts, saw, drill));
+        
+        List<ItemSummary> lowStock = itemDAO.getLowStockItems(5);
+        assertEquals(2, lowStock.size());
+        assertEquals("Saw", lowStock.get(0).name());
+        assertEquals("Bolts", lowStock.get(1).name());
+        assertEquals(Integer.valueOf(50), lowStock.get(1).reorderPoint());
+        assertEquals(2, itemDAO.countLowStock(5));
+        
+        // Clearing the reorder point falls back to the caller's threshold
+        Item loaded = itemDAO.getItemById(bolts.getId());
+        assertEquals(Integer.valueOf(50), loaded.getReorderPoint());
+        loaded.setReorderPoint(null);
+        assertEquals(UpdateResult.UPDATED, itemDAO.updateItem(loaded));
+        assertEquals(1, itemDAO.countLowStock(5));
+        assertNull(itemDAO.getItemById(bolts.getId()).getReorderPoint());
+    }
+    
+    @Test
+    public void testUpdateDetectsConcurrentChanges() {
+        assertTrue(itemDAO.addItem(new Item("Widget", null, 5, 1.0, "Tools")));
+        int id = itemDAO.getAllItems().get(0).getId();
+        Item first = itemDAO.getItemById(id);
+        Item second = itemDAO.getItemById(id);
+        
+        first.setPrice(2.0);
+        assertEquals(UpdateResult.UPDATED, itemDAO.updateItem(first));
+        assertEquals(1, first.getVersion());
+        
+        // The second editor read version 0 and must not overwrite the first
+        second.setDescription("Stale edit");
+        assertEquals(UpdateResult.CONFLICT, itemDAO.updateItem(second));
+        assertEquals(2.0, itemDAO.getItemById(id).getPrice(), 0.001);
+        assertNull(itemDAO.getItemById(id).getDescription());
+        
+        // Stock movements bump the version too, since an edit would overwrite the quantity
+        assertTrue(itemDAO.adjustQuantity(id, 3, "receipt", "test"));
+        first.setName("Gadget");
+        assertEquals(UpdateResult.CONFLICT, itemDAO.updateItem(first));
+        
+        Item latest = itemDAO.getItemById(id);
+        latest.setName("Gadget");
+        assertEquals(UpdateResult.UPDATED, itemDAO.updateItem(latest));
+        assertEquals(8, itemDAO.getItemById(id).getQuantity());
+        
+        assertTrue(itemDAO.deleteItem(id));
+        assertEquals(UpdateResult.NOT_FOUND, itemDAO.updateItem(latest));
+    }
+    
+    @Test
+    public void testCategoriesAreStoredOnceAndShared() {
+        List<Item> items = new ArrayList<>();
+        for (int i = 0; i < 6; i++) {
+            items.add(new Item("Item " + i, null, i, 1.0, i % 2 == 0 ? "Tools" : "Books"));
+        }
+        assertEquals(6, itemDAO.addItems(items).getSuccessCount());
+        
+        CategoryDictionary dictionary = itemDAO.getCategoryDictionary();
+        int toolsId = dictionary.idOf("Tools");
+        assertNotEquals(CategoryDictionary.NO_ID, toolsId);
+        assertEquals("Tools", dictionary.nameOf(toolsId));
+        assertEquals(CategoryDictionary.NO_ID, dictionary.idOf("Garden"));
+        
+        // Rows of one category share the dictionary's String
+        List<Item> loaded = itemDAO.getItemsByCategory("Tools");
+        assertEquals(3, loaded.size());
+        assertSame(loaded.get(0).getCategory(), loaded.get(1).getCategory());
+        
+        // Moving an item to a new category registers it
+        Item moved = loaded.get(0);
+        moved.setCategory("Garden");
+        assertEquals(UpdateResult.UPDATED, itemDAO.updateItem(moved));
+        assertEquals(1, itemDAO.getItemsByCategory("Garden").size());
+        assertEquals(2, itemDAO.getItemsByCategoryPage("Tools", null, 10).getItems().size());
+        assertEquals(List.of("Books", "Garden", "Tools"), dictionary.names());
+        
+        List<CategoryStats> stats = itemDAO.getCategoryStats();
+        assertEquals("Books", stats.get(0).category());
+        assertEquals("Garden", stats.get(1).category());
+        assertEquals(2, stats.get(2).itemCount());
+    }
+    
+    @Test
+    public void testNamesAreUniqueIgnoringCase() {
+        assertTrue(itemDAO.addItem(new Item("Widget", null, 1, 1.0, "Tools")));
+        assertFalse(itemDAO.addItem(new Item("WIDGET", null, 1, 1.0, "Tools")));
+        assertTrue(itemDAO.existsByName("widget"));
+        assertFalse(itemDAO.existsByName("Widgets"));
+    }
+    
+    @Test
+    public void testDuplicateInBatchRejectsOnlyThatRow() {
+        assertTrue(itemDAO.addItem(new Item("N3", null, 1, 1.0, "Tools")));
+        
+        // All in one chunk; the duplicate sits in the middle, and the chunk brings a new category
+        List<Item> batch = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            batch.add(new Item("New " + i, null, i, 1.0, "Hardware"));
+            if (i == 4) {
+                batch.add(new Item("n3", null, 1, 1.0, "Hardware"));
+            }
+        }
+        BatchResult result = itemDAO.addItems(batch);
+        
+        assertEquals(10, result.getSuccessCount());
+        assertFalse(result.isSuccess(5));
+        assertEquals(0, result.getKey(5));
+        for (int i = 0; i < batch.size(); i++) {
+            if (i != 5) {
+                assertEquals(batch.get(i).getName(), itemDAO.getItemById(result.getKey(i)).getName());
+            }
+        }
+        assertEquals(11, itemDAO.getAllItems().size());
+        assertEquals(10, itemDAO.getItemsByCategory("Hardware").size());
+    }
+    
+    @Test
+    public void testCategoryIsRegisteredWithTheItemOrNotAtAll() throws Exception {
+        assertTrue(itemDAO.addItem(new Item("Widget", null, 1, 1.0, "Tools")));
+        assertFalse(itemDAO.addItem(new Item("widget", null, 1, 1.0, "Garden")));
+        assertFalse(itemDAO.getCategoryDictionary().contains("Garden"));
+        
+        List<Item> batch = new ArrayList<>();
+        batch.add(new Item("Rake", null, 1, 1.0, "Garden"));
+        batch.add(new Item("Hose", null, 1, 1.0, "Garden"));
+        assertTrue(itemDAO.addItems(batch).isSuccess(1));
+        assertEquals(2, itemDAO.getItemsByCategory("Garden").size());
+        
+        // Every row carries its category id, so the grouped stats see one Garden bucket
+        try (Connection conn = DatabaseConnection.getReadConnection();
+             Statement stmt = conn.createStatement();
+             ResultSet rs = stmt.executeQuery("SELECT COUNT(*) FROM items WHERE category_id IS NULL")) {
+            assertTrue(rs.next());
+            assertEquals(0, rs.getInt(1));
+        }
+    }
+    
+    @Test
+    public void testWriteTransactionUndoesOnlyTheFailedWrite() throws Exception {
+        itemDAO.addItem(new Item("Widget", null, 1, 1.0, "Tools"));
+        Item hammer = new Item("Hammer", null, 1, 1.0, "Hardware");
+        Item wrench = new Item("Wrench", null, 1, 1.0, "Hardware");
+        int[] ids = new int[2];
+        
+        itemDAO.inWriteTransaction(writer -> {
+            ids[0] = writer.addItem(hammer);
+            try {
+                writer.addItem(new Item("WIDGET", null, 1, 1.0, "Garden"));
+                fail("Duplicate name was written");
+            } catch (java.sql.SQLException expected) {
+                // Rolled back to the savepoint; the transaction carries on
+            }
+            ids[1] = writer.addItem(wrench);
+            assertTrue(writer.adjustQuantity(ids[0], 4, "scan", "test"));
+        });
+        
+        assertEquals(3, itemDAO.getTotalItems());
+        assertEquals(5, itemDAO.getItemById(ids[0]).getQuantity());
+        assertEquals("Hardware", itemDAO.getItemById(ids[1]).getCategory());
+        // The failed write's category went with it
+        assertFalse(itemDAO.getCategoryDictionary().contains("Garden"));
+        
+        // A transaction that throws leaves nothing behind, in the database or on the items
+        Item loaded = itemDAO.getItemById(ids[0]);
+        int version = loaded.getVersion();
+        Item gone = new Item("Chisel", null, 1, 1.0, "Hardware");
+        try {
+            itemDAO.inWriteTransaction(writer -> {
+                assertEquals(UpdateResult.UPDATED, writer.updateItem(loaded));
+                assertTrue(writer.addItem(gone) > 0);
+                writer.deleteItem(ids[1]);
+                throw new IllegalStateException("abort");
+            });
+            fail("Exception was swallowed");
+        } catch (IllegalStateException expected) {
+        }
+        assertNotNull(itemDAO.getItemById(ids[1]));
+        assertEquals(version, loaded.getVersion());
+        assertEquals(0, gone.getId());
+        assertEquals(UpdateResult.UPDATED, itemDAO.updateItem(loaded));
+        assertEquals(version + 1, loaded.getVersion());
+    }
+}
\ No newline at end of file
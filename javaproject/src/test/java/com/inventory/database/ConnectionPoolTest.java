@@ -0,0 +1,128 @@
+package com.inventory.database;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import static org.junit.Assert.*;
+import java.io.File;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+public class ConnectionPoolTest {
+    private ConnectionPool pool;
+    
+    @Before
+    public void setUp() {
+        pool = new ConnectionPool("test", () -> DriverManager.getConnection("jdbc:sqlite::memory:"),
+            2, 1, 200, 60_000, 30_000, 60_000);
+    }
+    
+    @After
+    public void tearDown() {
+        pool.close();
+    }
+    
+    @Test
+    public void testConnectionIsReused() throws SQLException {
+        Connection first = pool.borrow();
+        Connection physical = first.unwrap(org.sqlite.SQLiteConnection.class);
+        first.close();
+        
+        Connection second = pool.borrow();
+        assertSame(physical, second.unwrap(org.sqlite.SQLiteConnection.class));
+        second.close();
+        
+        assertEquals(1, pool.getStats().created());
+        assertEquals(2, pool.getStats().borrowed());
+    }
+    
+    @Test
+    public void testClosedHandleCannotBeUsed() throws SQLException {
+        Connection conn = pool.borrow();
+        conn.close();
+        assertTrue(conn.isClosed());
+        
+        try {
+            conn.createStatement();
+            fail("Expected SQLException on closed handle");
+        } catch (SQLException e) {
+            // Expected
+        }
+    }
+    
+    @Test
+    public void testBorrowTimesOutWhenExhausted() throws SQLException {
+        Connection a = pool.borrow();
+        Connection b = pool.borrow();
+        
+        try {
+            pool.borrow();
+            fail("Expected timeout when pool is exhausted");
+        } catch (SQLException e) {
+            assertEquals(1, pool.getStats().timeouts());
+        } finally {
+            a.close();
+            b.close();
+        }
+        
+        assertEquals(0, pool.getStats().active());
+        assertEquals(2, pool.getStats().idle());
+    }
+    
+    @Test
+    public void testUncommittedWorkIsRolledBackOnReturn() throws SQLException {
+        Connection conn = pool.borrow();
+        conn.setAutoCommit(false);
+        conn.close();
+        
+        Connection again = pool.borrow();
+        assertTrue(again.getAutoCommit());
+        again.close();
+    }
+    
+    @Test
+    public void testBorrowRacingCloseFailsCleanly() throws Exception {
+        File dbFile = File.createTempFile("inventory-test", ".db");
+        dbFile.delete();
+        System.setProperty("inventory.db.url", "jdbc:sqlite:" + dbFile.getAbsolutePath());
+        List<Throwable> unexpected = Collections.synchronizedList(new ArrayList<>());
+        AtomicBoolean running = new AtomicBoolean(true);
+        try {
+            Thread[] readers = new Thread[4];
+            for (int t = 0; t < readers.length; t++) {
+                readers[t] = new Thread(() -> {
+                    while (running.get()) {
+                        try (Connection conn = DatabaseConnection.getReadConnection()) {
+                            conn.getAutoCommit();
+                        } catch (SQLException expected) {
+                            // The pool was closed under the borrow
+                        } catch (Throwable e) {
+                            unexpected.add(e);
+                        }
+                    }
+                });
+                readers[t].start();
+            }
+            for (int i = 0; i < 20; i++) {
+                Thread.sleep(5);
+                DatabaseConnection.closeConnection();
+            }
+            running.set(false);
+            for (Thread reader : readers) {
+                reader.join();
+            }
+            assertTrue(unexpected.toString(), unexpected.isEmpty());
+        } finally {
+            DatabaseConnection.closeConnection();
+            System.clearProperty("inventory.db.url");
+            new File(dbFile.getAbsolutePath() + "-wal").delete();
+            new File(dbFile.getAbsolutePath() + "-shm").delete();
+            dbFile.delete();
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,126 @@
+package com.inventory.io;
+
+import com.inventory.database.DatabaseConnection;
+import com.inventory.model.Item;
+import com.inventory.service.InventoryService;
+import com.inventory.service.InventoryServiceImpl;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import static org.junit.Assert.*;
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+public class CsvImporterTest {
+    private File dbFile;
+    private Path csvFile;
+    private InventoryService inventoryService;
+    
+    @Before
+    public void setUp() throws Exception {
+        dbFile = File.createTempFile("inventory-test", ".db");
+        dbFile.delete();
+        System.setProperty("inventory.db.url", "jdbc:sqlite:" + dbFile.getAbsolutePath());
+        csvFile = Files.createTempFile("items", ".csv");
+        inventoryService = new InventoryServiceImpl();
+    }
+    
+    @After
+    public void tearDown() throws Exception {
+        DatabaseConnection.closeConnection();
+        System.clearProperty("inventory.db.url");
+        new File(dbFile.getAbsolutePath() + "-wal").delete();
+        new File(dbFile.getAbsolutePath() + "-shm").delete();
+        dbFile.delete();
+        Files.deleteIfExists(CsvImporter.rejectsFile(csvFile));
+        Files.deleteIfExists(CsvImporter.checkpointFile(csvFile));
+        Files.deleteIfExists(csvFile);
+    }
+    
+    @Test
+    public void testImportWritesValidRowsAndRejectsBadOnes() throws Exception {
+        StringBuilder csv = new StringBuilder("name,description,quantity,price,category\r\n");
+        for (int i = 0; i < 25; i++) {
+            csv.append("Item ").append(i).append(",\"Desc, with comma\",").append(i).append(",1.50,Tools\r\n");
+        }
+        csv.append("Broken,,not-a-number,1.0,Tools\r\n");
+        csv.append(",missing name,1,1.0,Tools\r\n");
+        Files.write(csvFile, csv.toString().getBytes(StandardCharsets.UTF_8));
+        
+        ImportProgress result = new CsvImporter(inventoryService, 10, 2).importFile(csvFile, false, null);
+        
+        assertEquals(25, result.rowsImported());
+        assertEquals(2, result.rowsRejected());
+        assertEquals(25, inventoryService.getTotalItemCount());
+        assertEquals("Desc, with comma", inventoryService.getAllItems().get(0).getDescription());
+        
+        List<String> rejects = Files.readAllLines(CsvImporter.rejectsFile(csvFile));
+        assertEquals(3, rejects.size());
+        assertTrue(rejects.get(1).startsWith("27,invalid quantity,"));
+        assertFalse(Files.exists(CsvImporter.checkpointFile(csvFile)));
+    }
+    
+    @Test
+    public void testDuplicateNameRejectsOnlyItsRow() throws Exception {
+        inventoryService.addItem(new Item("Item 3", null, 1, 1.0, "Tools"));
+        StringBuilder csv = new StringBuilder("name,quantity,price,category\n");
+        for (int i = 0; i < 8; i++) {
+            csv.append("Item ").append(i == 3 ? "3" : "New " + i).append(',').append(i).append(",1.0,Tools\n");
+        }
+        csv.append("ITEM 3,1,1.0,Tools\n");
+        Files.write(csvFile, csv.toString().getBytes(StandardCharsets.UTF_8));
+        
+        ImportProgress result = new CsvImporter(inventoryService, 100, 1).importFile(csvFile, false, null);
+        
+        assertEquals(7, result.rowsImported());
+        assertEquals(2, result.rowsRejected());
+        assertEquals(8, inventoryService.getTotalItemCount());
+        List<String> rejects = Files.readAllLines(CsvImporter.rejectsFile(csvFile));
+        assertEquals(3, rejects.size());
+        assertTrue(rejects.get(1).startsWith("5,rejected by database,"));
+        assertTrue(rejects.get(2).startsWith("10,rejected by database,"));
+    }
+    
+    @Test
+    public void testResumeContinuesFromCheckpoint() throws Exception {
+        String header = "name,quantity,price,category\n";
+        String firstRows = "A,1,1.0,Tools\nB,2,1.0,Tools\n";
+        Files.write(csvFile, (header + firstRows + "C,3,1.0,Tools\n").getBytes(StandardCharsets.UTF_8));
+        
+        // Simulate a crash after the first two rows were committed
+        long offset = (header + firstRows).getBytes(StandardCharsets.UTF_8).length;
+        Files.write(CsvImporter.checkpointFile(csvFile),
+            ("offset=" + offset + "\nlineNumber=3\nimported=2\nrejected=0\n").getBytes(StandardCharsets.UTF_8));
+        
+        ImportProgress result = new CsvImporter(inventoryService, 10, 1).importFile(csvFile, true, null);
+        
+        assertEquals(3, result.rowsImported());
+        assertEquals(1, inventoryService.getTotalItemCount());
+        assertEquals("C", inventoryService.getAllItems().get(0).getName());
+    }
+    
+    @Test
+    public void testMultiLineDescriptionsSurviveExportAndImport() throws Exception {
+        inventoryService.addItem(new Item("Nails", "Box\nof 100", 40, 2.0, "Tools"));
+        inventoryService.addItem(new Item("Hammer", "Claw \"hammer\",\r\n16oz", 3, 12.5, "Tools"));
+        new ItemExporter(inventoryService).export(csvFile, ItemExporter.Format.CSV);
+        Files.write(csvFile, "9,Broken,,x,1.0,Tools,,,\n".getBytes(StandardCharsets.UTF_8), StandardOpenOption.APPEND);
+        for (Item item : inventoryService.getAllItems()) {
+            inventoryService.deleteItem(item.getId());
+        }
+        
+        ImportProgress result = new CsvImporter(inventoryService, 10, 2).importFile(csvFile, false, null);
+        
+        assertEquals(2, result.rowsImported());
+        List<Item> items = inventoryService.getAllItems();
+        assertEquals("Claw \"hammer\",\r\n16oz", items.get(0).getDescription());
+        assertEquals("Box\nof 100", items.get(1).getDescription());
+        // Header on line 1, then two records of two lines each
+        List<String> rejects = Files.readAllLines(CsvImporter.rejectsFile(csvFile));
+        assertTrue(rejects.get(1).startsWith("6,invalid quantity,"));
+    }
+}
\ No newline at end of file
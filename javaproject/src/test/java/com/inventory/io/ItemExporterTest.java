@@ -0,0 +1,65 @@
+package com.inventory.io;
+
+import com.inventory.database.DatabaseConnection;
+import com.inventory.model.Item;
+import com.inventory.service.InventoryService;
+import com.inventory.service.InventoryServiceImpl;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import static org.junit.Assert.*;
+import java.io.File;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+public class ItemExporterTest {
+    private File dbFile;
+    private Path outFile;
+    private InventoryService inventoryService;
+    
+    @Before
+    public void setUp() throws Exception {
+        dbFile = File.createTempFile("inventory-test", ".db");
+        dbFile.delete();
+        System.setProperty("inventory.db.url", "jdbc:sqlite:" + dbFile.getAbsolutePath());
+        outFile = Files.createTempFile("export", ".out");
+        inventoryService = new InventoryServiceImpl();
+        inventoryService.addItem(new Item("Hammer", "Claw \"hammer\", 16oz", 3, 12.5, "Tools"));
+        inventoryService.addItem(new Item("Nails", "Box\nof 100", 40, 2.0, "Tools"));
+    }
+    
+    @After
+    public void tearDown() throws Exception {
+        DatabaseConnection.closeConnection();
+        System.clearProperty("inventory.db.url");
+        new File(dbFile.getAbsolutePath() + "-wal").delete();
+        new File(dbFile.getAbsolutePath() + "-shm").delete();
+        dbFile.delete();
+        Files.deleteIfExists(outFile);
+    }
+    
+    @Test
+    public void testCsvExportEscapesFields() throws Exception {
+        long rows = new ItemExporter(inventoryService).export(outFile, ItemExporter.Format.CSV);
+        assertEquals(2, rows);
+        
+        // The line break stays inside the quoted description, so the second record spans two lines
+        List<String> lines = Files.readAllLines(outFile);
+        assertEquals(4, lines.size());
+        List<String> fields = CsvCodec.parseLine(lines.get(1));
+        assertEquals("Hammer", fields.get(1));
+        assertEquals("Claw \"hammer\", 16oz", fields.get(2));
+        assertEquals("Box\nof 100", CsvCodec.parseLine(lines.get(2) + "\n" + lines.get(3)).get(2));
+    }
+    
+    @Test
+    public void testJsonLinesExportWritesOneObjectPerLine() throws Exception {
+        new ItemExporter(inventoryService).export(outFile, ItemExporter.Format.JSON_LINES);
+        
+        List<String> lines = Files.readAllLines(outFile);
+        assertEquals(2, lines.size());
+        assertTrue(lines.get(0).contains("\"description\":\"Claw \\\"hammer\\\", 16oz\""));
+        assertTrue(lines.get(1).contains("\"description\":\"Box\\nof 100\""));
+    }
+}
\ No newline at end of file
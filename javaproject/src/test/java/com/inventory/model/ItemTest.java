@@ -45,4 +45,37 @@ public class ItemTest {
         assertEquals(0, item.getQuantity());
         assertEquals(0.0, item.getPrice(), 0.01);
     }
+    
+    @Test
+    public void testItemRecordRoundTrip() {
+        Item item = new Item("Widget", "Blue", 3, 19.99, "Tools");
+        item.setId(7);
+        item.setReorderPoint(2);
+        item.setVersion(4);
+        
+        ItemRecord record = ItemRecord.from(item);
+        assertEquals(1999, record.priceCents());
+        assertEquals(19.99, record.price(), 0.0001);
+        
+        Item copy = record.toItem();
+        assertEquals(7, copy.getId());
+        assertEquals("Widget", copy.getName());
+        assertEquals(Integer.valueOf(2), copy.getReorderPoint());
+        assertEquals(4, copy.getVersion());
+        // Millisecond precision is all the database keeps
+        assertEquals(item.getLastUpdated().withNano(item.getLastUpdated().getNano() / 1_000_000 * 1_000_000),
+                     copy.getLastUpdated());
+    }
+    
+    @Test
+    public void testItemRecordBuilderReadsClockOnce() {
+        ItemRecord record = ItemRecord.builder().name("Nut").quantity(5).price(0.1).category("Parts").build();
+        assertEquals(10, record.priceCents());
+        assertTrue(record.createdMillis() > 0);
+        assertEquals(record.createdMillis(), record.lastUpdatedMillis());
+        
+        ItemRecord dated = ItemRecord.builder().name("Bolt").createdMillis(1_000).lastUpdatedMillis(2_000).build();
+        assertEquals(1_000, dated.createdMillis());
+        assertEquals(2_000, dated.lastUpdatedMillis());
+    }
 }
\ No newline at end of file
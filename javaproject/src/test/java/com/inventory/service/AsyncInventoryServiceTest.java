@@ -0,0 +1,96 @@
+package com.inventory.service;
+
+import com.inventory.model.InventoryTotals;
+import org.junit.Test;
+import static org.junit.Assert.*;
+import java.lang.reflect.Proxy;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+public class AsyncInventoryServiceTest {
+    
+    // A service whose every call sleeps for delayMillis, counting the calls that were interrupted
+    private static InventoryService slowService(long delayMillis, CountDownLatch started, CountDownLatch interrupted) {
+        return (InventoryService) Proxy.newProxyInstance(InventoryService.class.getClassLoader(),
+            new Class<?>[] {InventoryService.class}, (proxy, method, args) -> {
+                started.countDown();
+                try {
+                    Thread.sleep(delayMillis);
+                } catch (InterruptedException e) {
+                    interrupted.countDown();
+                    throw e;
+                }
+                return switch (method.getName()) {
+                    case "getInventoryTotals" -> new InventoryTotals(null, 3, 30, 4.5);
+                    case "countLowStock", "getTotalItemCount" -> 7;
+                    case "getCategoryTotals", "getRecentlyUpdated", "getCategories" -> List.of();
+                    default -> null;
+                };
+            });
+    }
+    
+    @Test
+    public void testQueriesRunInParallel() {
+        try (AsyncInventoryService async = new AsyncInventoryService(
+                slowService(300, new CountDownLatch(5), new CountDownLatch(1)), 0)) {
+            long start = System.nanoTime();
+            CompletableFuture<InventoryTotals> totals = async.getInventoryTotals();
+            CompletableFuture<Integer> lowStock = async.countLowStock(5);
+            CompletableFuture<List<InventoryTotals>> categoryTotals = async.getCategoryTotals();
+            CompletableFuture<Integer> count = async.getTotalItemCount();
+            CompletableFuture<List<String>> categories = async.getCategories();
+            CompletableFuture.allOf(totals, lowStock, categoryTotals, count, categories).join();
+            long millis = (System.nanoTime() - start) / 1_000_000;
+            
+            // Five 300 ms calls take about as long as one
+            assertTrue("took " + millis + " ms", millis < 1_000);
+            assertEquals(3, totals.join().itemCount());
+            assertEquals(7, (int) lowStock.join());
+            assertTrue(categories.join().isEmpty());
+        }
+    }
+    
+    @Test
+    public void testCancelInterruptsTheCall() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch interrupted = new CountDownLatch(1);
+        try (AsyncInventoryService async = new AsyncInventoryService(slowService(60_000, started, interrupted), 0)) {
+            CompletableFuture<List<String>> categories = async.getCategories();
+            assertTrue(started.await(5, TimeUnit.SECONDS));
+            
+            assertTrue(categories.cancel(true));
+            assertTrue(categories.isCancelled());
+            assertTrue(interrupted.await(5, TimeUnit.SECONDS));
+        }
+    }
+    
+    @Test
+    public void testReadsTimeOut() throws Exception {
+        CountDownLatch interrupted = new CountDownLatch(1);
+        try (AsyncInventoryService async = new AsyncInventoryService(
+                slowService(60_000, new CountDownLatch(1), interrupted), 100)) {
+            CompletableFuture<Integer> count = async.countLowStock(5);
+            try {
+                count.get(5, TimeUnit.SECONDS);
+                fail("Expected the read to time out");
+            } catch (ExecutionException e) {
+                assertTrue(e.getCause() instanceof TimeoutException);
+            }
+            assertTrue(interrupted.await(5, TimeUnit.SECONDS));
+            
+            // Writes have no default timeout; the caller can still set one
+            CompletableFuture<Boolean> write = async.setQuantity(1, 5).orTimeout(100, TimeUnit.MILLISECONDS);
+            try {
+                write.join();
+                fail("Expected the write to time out");
+            } catch (CompletionException e) {
+                assertTrue(e.getCause() instanceof TimeoutException);
+            }
+        }
+    }
+}
\ No newline at end of file
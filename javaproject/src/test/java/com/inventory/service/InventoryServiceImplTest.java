@@ -0,0 +1,462 @@
+package com.inventory.service;
+
+import com.inventory.dao.ItemDAO;
+import com.inventory.dao.ItemDAOImpl;
+import com.inventory.dao.ItemWriter;
+import com.inventory.dao.Page;
+import com.inventory.dao.UpdateResult;
+import com.inventory.database.DatabaseConnection;
+import com.inventory.model.CategoryStats;
+import com.inventory.model.Item;
+import com.inventory.model.ItemSummary;
+import com.inventory.util.collections.IntArrayList;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import static org.junit.Assert.*;
+import java.io.File;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Function;
+
+public class InventoryServiceImplTest {
+    private File dbFile;
+    
+    @Before
+    public void setUp() throws Exception {
+        dbFile = File.createTempFile("inventory-test", ".db");
+        dbFile.delete();
+        System.setProperty("inventory.db.url", "jdbc:sqlite:" + dbFile.getAbsolutePath());
+    }
+    
+    @After
+    public void tearDown() {
+        DatabaseConnection.closeConnection();
+        System.clearProperty("inventory.db.url");
+        new File(dbFile.getAbsolutePath() + "-wal").delete();
+        new File(dbFile.getAbsolutePath() + "-shm").delete();
+        dbFile.delete();
+    }
+    
+    @Test
+    public void testWriteBehindCoalescesAdjustmentsAndFlushesOnShutdown() throws Exception {
+        // Long staleness and a large size trigger so nothing is written until asked
+        InventoryService service = new InventoryServiceImpl(new ItemDAOImpl(), 60_000, 10_000);
+        Item item = new Item("Widget", null, 10, 1.0, "Tools");
+        assertTrue(service.addItem(item));
+        int id = service.getAllItems().get(0).getId();
+        
+        for (int i = 0; i < 100; i++) {
+            assertTrue(service.adjustQuantity(id, 1, "scan", "dock-1"));
+        }
+        service.adjustQuantity(id, -5, "damage", "dock-1");
+        
+        // getItem overlays the buffer; the table itself has not been touched yet
+        assertEquals(105, service.getItem(id).getQuantity());
+        assertEquals(10, new ItemDAOImpl().getItemById(id).getQuantity());
+        
+        service.shutdown();
+        assertEquals(105, new ItemDAOImpl().getItemById(id).getQuantity());
+        
+        // One ledger row per item, reason and source
+        try (Connection conn = DatabaseConnection.getReadConnection();
+             Statement stmt = conn.createStatement();
+             ResultSet rs = stmt.executeQuery("SELECT reason, delta FROM stock_movements ORDER BY id")) {
+            assertTrue(rs.next());
+            assertEquals("scan", rs.getString(1));
+            assertEquals(100, rs.getInt(2));
+            assertTrue(rs.next());
+            assertEquals(-5, rs.getInt(2));
+            assertFalse(rs.next());
+        }
+    }
+    
+    @Test
+    public void testBufferedDeltasAreClampedAsTheyWereShown() {
+        InventoryService service = new InventoryServiceImpl(new ItemDAOImpl(), 60_000, 10_000);
+        service.addItem(new Item("Widget", null, 0, 1.0, "Tools"));
+        int id = service.getAllItems().get(0).getId();
+        
+        // Different reasons are written as separate rows; the item still ends at the overlay's value
+        for (int i = 0; i < 20; i++) {
+            service.adjustQuantity(id, -5, "damage-" + i, "dock-1");
+            service.adjustQuantity(id, 5, "scan-" + i, "dock-1");
+        }
+        assertEquals(0, service.getItem(id).getQuantity());
+        service.shutdown();
+        assertEquals(0, new ItemDAOImpl().getItemById(id).getQuantity());
+    }
+    
+    @Test
+    public void testOtherReadsFlushBufferedAdjustments() {
+        InventoryService service = new InventoryServiceImpl(new ItemDAOImpl(), 60_000, 10_000);
+        service.addItem(new Item("Widget", null, 1, 2.0, "Tools"));
+        int id = service.getAllItems().get(0).getId();
+        
+        service.adjustQuantity(id, 4);
+        assertEquals(10.0, service.getTotalInventoryValue(), 0.001);
+        service.shutdown();
+    }
+    
+    @Test
+    public void testSizeTriggerFlushesWithoutWaitingForTimer() throws Exception {
+        InventoryService service = new InventoryServiceImpl(new ItemDAOImpl(), 60_000, 50);
+        service.addItem(new Item("Widget", null, 0, 1.0, "Tools"));
+        int id = service.getAllItems().get(0).getId();
+        
+        for (int i = 0; i < 50; i++) {
+            service.adjustQuantity(id, 1);
+        }
+        ItemDAOImpl dao = new ItemDAOImpl();
+        long deadline = System.currentTimeMillis() + 5_000;
+        while (dao.getItemById(id).getQuantity() != 50 && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        assertEquals(50, dao.getItemById(id).getQuantity());
+        service.shutdown();
+    }
+    
+    @Test
+    public void testItemExistsFollowsInsertsAndRenames() {
+        InventoryService service = new InventoryServiceImpl(new ItemDAOImpl());
+        Item item = new Item("Hammer", null, 1, 10.0, "Tools");
+        assertTrue(service.addItem(item));
+        
+        assertTrue(service.itemExists(" hammer "));
+        assertFalse(service.itemExists("Wrench"));
+        
+        // Names added after the filter was built are seen too
+        service.addItem(new Item("Wrench", null, 1, 5.0, "Tools"));
+        assertTrue(service.itemExists("WRENCH"));
+        
+        Item loaded = service.searchItems("hammer").get(0);
+        loaded.setName("Mallet");
+        assertEquals(UpdateResult.UPDATED, service.updateItem(loaded));
+        assertTrue(service.itemExists("mallet"));
+        assertFalse(service.itemExists("Hammer"));
+    }
+    
+    @Test
+    public void testChangesSinceReportsUpdatesAndDeletes() {
+        InventoryService service = new InventoryServiceImpl(new ItemDAOImpl());
+        service.addItem(new Item("Hammer", null, 1, 10.0, "Tools"));
+        service.addItem(new Item("Wrench", null, 1, 5.0, "Tools"));
+        
+        ChangeSet initial = service.getChangesSince(Instant.EPOCH);
+        assertTrue(initial.complete());
+        assertEquals(2, initial.changed().size());
+        assertTrue(initial.deletedIds().isEmpty());
+        
+        Item hammer = service.searchItems("hammer").get(0);
+        Item wrench = service.searchItems("wrench").get(0);
+        assertTrue(service.setQuantity(wrench.getId(), 7));
+        assertTrue(service.deleteItem(hammer.getId()));
+        
+        ChangeSet changes = service.getChangesSince(initial.cursor());
+        assertEquals(1, changes.changed().size());
+        assertEquals(7, changes.changed().get(0).quantity());
+        assertEquals(List.of(hammer.getId()), changes.deletedIds());
+        
+        // Nothing has changed after a point in the future
+        assertTrue(new ItemDAOImpl().getItemsModifiedSince(Instant.now().plusSeconds(60), 10).isEmpty());
+        List<ItemSummary> recent = service.getRecentlyUpdated(5);
+        assertEquals(1, recent.size());
+        assertEquals("Wrench", recent.get(0).name());
+    }
+    
+    @Test
+    public void testItemCacheIsInvalidatedByWrites() {
+        InventoryServiceImpl service = new InventoryServiceImpl(new ItemDAOImpl(), new ItemCache(100, 0));
+        service.addItem(new Item("Widget", null, 5, 1.0, "Tools"));
+        int id = service.searchItems("widget").get(0).getId();
+        
+        assertEquals(5, service.getItem(id).getQuantity());
+        assertEquals(5, service.getItem(id).getQuantity());
+        assertEquals(1, service.getCacheStats().hits());
+        
+        assertTrue(service.setQuantity(id, 8));
+        assertEquals(8, service.getItem(id).getQuantity());
+        assertTrue(service.adjustQuantity(id, 2));
+        Item item = service.getItem(id);
+        assertEquals(10, item.getQuantity());
+        
+        // A conflicting update drops the entry so the retry sees the other writer's version
+        Item stale = service.getItem(id);
+        item.setPrice(2.0);
+        assertEquals(UpdateResult.UPDATED, service.updateItem(item));
+        stale.setPrice(3.0);
+        assertEquals(UpdateResult.CONFLICT, service.updateItem(stale));
+        assertEquals(2.0, service.getItem(id).getPrice(), 0.001);
+        
+        assertTrue(service.deleteItem(id));
+        assertNull(service.getItem(id));
+    }
+    
+    @Test
+    public void testMemoryResidentReadsFollowWrites() {
+        ItemDAOImpl dao = new ItemDAOImpl();
+        dao.addItem(new Item("Blue widget", "Small", 3, 2.0, "Tools"));
+        InventoryService service = new InventoryServiceImpl(dao, null, true);
+        
+        Item bolts = new Item("Bolts", "Zinc plated bolt", 40, 0.1, "Parts");
+        bolts.setReorderPoint(50);
+        assertTrue(service.addItem(bolts));
+        assertTrue(service.addItem(new Item("Nuts", null, 80, 0.1, "Parts")));
+        assertEquals(3, service.getAllItems().size());
+        assertEquals("Blue widget", service.getAllItems().get(0).getName());
+        assertEquals(List.of("Parts", "Tools"), service.getCategories());
+        
+        // Same rows and order as the database gives
+        assertEquals(dao.getLowStockItems(5), service.getLowStockItems(5));
+        assertEquals(2, service.countLowStock(5));
+        assertEquals(1, service.searchItems("zinc").size());
+        assertEquals(1, service.searchItems("blu wid").size());
+        
+        assertTrue(service.setQuantity(bolts.getId(), 60));
+        assertEquals(1, service.countLowStock(5));
+        assertEquals(60, service.getItem(bolts.getId()).getQuantity());
+        
+        Item widget = service.searchItems("widget").get(0);
+        widget.setCategory("Parts");
+        assertEquals(UpdateResult.UPDATED, service.updateItem(widget));
+        assertEquals(3, service.getItemsByCategory("Parts").size());
+        assertEquals(List.of("Parts"), service.getCategories());
+        
+        assertTrue(service.deleteItem(bolts.getId()));
+        assertNull(service.getItem(bolts.getId()));
+        assertEquals(2, service.getAllItems().size());
+        
+        // Returned items are copies
+        service.getAllItems().get(0).setName("Changed");
+        assertEquals("Blue widget", service.getAllItems().get(0).getName());
+    }
+    
+    @Test
+    public void testMemoryResidentPagesMatchTheDatabaseAfterWrites() {
+        ItemDAOImpl dao = new ItemDAOImpl();
+        List<Item> items = new ArrayList<>();
+        for (int i = 0; i < 700; i++) {
+            Item item = new Item("Part " + (i * 7919 % 700), i % 5 == 0 ? "Spare bolt" : null, i % 40, 1.0, "Bin " + i % 3);
+            if (i % 4 == 0) {
+                item.setReorderPoint(20);
+            }
+            items.add(item);
+        }
+        dao.addItems(items);
+        InventoryService service = new InventoryServiceImpl(dao, null, true);
+        
+        // Enough single-row writes to move items between chunks, categories and low-stock lists
+        for (int i = 0; i < 60; i++) {
+            Item item = service.getItem(items.get(i * 11).getId());
+            switch (i % 4) {
+                case 0 -> assertTrue(service.deleteItem(item.getId()));
+                case 1 -> assertTrue(service.setQuantity(item.getId(), 100 - i));
+                case 2 -> {
+                    item.setName("Renamed " + i);
+                    item.setCategory("Bin " + (i + 1) % 4);
+                    item.setReorderPoint(i % 3 == 0 ? null : 50);
+                    assertEquals(UpdateResult.UPDATED, service.updateItem(item));
+                }
+                default -> assertTrue(service.addItem(new Item("Added bolt " + i, null, i, 1.0, "Bin 9")));
+            }
+        }
+        
+        assertEquals(dao.getLowStockItems(10), service.getLowStockItems(10));
+        assertEquals(dao.getLowStockItems(10).size(), service.countLowStock(10));
+        assertPagesMatch(dao.getItemsPage(null, 25), token -> dao.getItemsPage(token, 25),
+                         service.getItemsPage(null, 25), token -> service.getItemsPage(token, 25));
+        assertPagesMatch(dao.getItemsByCategoryPage("Bin 1", null, 25), token -> dao.getItemsByCategoryPage("Bin 1", token, 25),
+                         service.getItemsByCategoryPage("Bin 1", null, 25), token -> service.getItemsByCategoryPage("Bin 1", token, 25));
+        assertPagesMatch(dao.searchItemsPage("bolt", null, 25), token -> dao.searchItemsPage("bolt", token, 25),
+                         service.searchItemsPage("bolt", null, 25), token -> service.searchItemsPage("bolt", token, 25));
+        assertPagesMatch(dao.searchItemsPage("bolt", "Bin 1", null, 25), token -> dao.searchItemsPage("bolt", "Bin 1", token, 25),
+                         service.searchItemsPage("bolt", "Bin 1", null, 25), token -> service.searchItemsPage("bolt", "Bin 1", token, 25));
+        assertTrue(service.getItemsByCategoryPage("Bin 3", null, 25).getEstimatedTotal() > 0);
+        assertTrue(service.getItemsByCategoryPage("Nowhere", null, 25).getItems().isEmpty());
+        
+        // Tokens carry over between the database and the snapshot
+        String token = dao.getItemsPage(null, 25).getNextPageToken();
+        assertEquals(dao.getItemsPage(token, 25).getItems(), service.getItemsPage(token, 25).getItems());
+    }
+    
+    private static void assertPagesMatch(Page<ItemSummary> expected, Function<String, Page<ItemSummary>> expectedNext,
+                                         Page<ItemSummary> actual, Function<String, Page<ItemSummary>> actualNext) {
+        int pages = 0;
+        while (true) {
+            assertEquals(expected.getItems(), actual.getItems());
+            assertEquals(expected.getEstimatedTotal(), actual.getEstimatedTotal());
+            assertEquals(expected.getNextPageToken(), actual.getNextPageToken());
+            if (!expected.hasNextPage()) {
+                break;
+            }
+            expected = expectedNext.apply(expected.getNextPageToken());
+            actual = actualNext.apply(actual.getNextPageToken());
+            pages++;
+        }
+        assertTrue(pages > 0);
+    }
+    
+    @Test
+    public void testColumnarReadsMatchTheDatabase() {
+        ItemDAOImpl dao = new ItemDAOImpl();
+        List<Item> items = new ArrayList<>();
+        for (int i = 0; i < 1_500; i++) {
+            Item item = new Item("Item " + i, null, i % 40, 0.1 + i % 7, i % 3 == 0 ? "Tools" : "Parts");
+            item.setReorderPoint(i % 5 == 0 ? 30 : null);
+            items.add(item);
+        }
+        dao.addItems(items);
+        InventoryService service = new InventoryServiceImpl(dao, null, false, true);
+        assertColumnarMatches(dao, service);
+        
+        assertTrue(service.adjustQuantity(items.get(1).getId(), 100, "receipt", "test"));
+        Item moved = service.getItem(items.get(2).getId());
+        moved.setCategory("Garden");
+        moved.setPrice(12.5);
+        assertEquals(UpdateResult.UPDATED, service.updateItem(moved));
+        assertTrue(service.deleteItem(items.get(3).getId()));
+        assertTrue(service.addItem(new Item("Rake", null, 1, 20.0, "Garden")));
+        assertColumnarMatches(dao, service);
+        
+        // Large catalogs keep the columns off heap; growing copies them
+        ColumnarStore offHeap = new ColumnarStore(dao.getCategoryDictionary(), 0, 0);
+        offHeap.apply(dao.getAllItems(), new IntArrayList());
+        assertTrue(offHeap.isOffHeap());
+        assertEquals(1_500, offHeap.size());
+        assertEquals(dao.getLowStockItems(10), offHeap.getLowStock(10));
+        assertEquals(dao.countLowStock(10), offHeap.countLowStock(10));
+    }
+    
+    @Test
+    public void testConcurrentWritersAreEachCommittedOnce() throws Exception {
+        InventoryService service = new InventoryServiceImpl(new ItemDAOImpl());
+        service.addItem(new Item("Counter", null, 0, 1.0, "Tools"));
+        int counterId = service.getAllItems().get(0).getId();
+        
+        // Every thread adds its own items, one name shared by all, and bumps the same counter
+        Thread[] writers = new Thread[8];
+        int[] sharedAdded = new int[1];
+        for (int t = 0; t < writers.length; t++) {
+            int thread = t;
+            writers[t] = new Thread(() -> {
+                for (int i = 0; i < 25; i++) {
+                    assertTrue(service.addItem(new Item("Item " + thread + "-" + i, null, 1, 1.0, "Cat " + thread)));
+                    assertTrue(service.adjustQuantity(counterId, 1));
+                }
+                if (service.addItem(new Item("Shared", null, 1, 1.0, "Tools"))) {
+                    synchronized (sharedAdded) {
+                        sharedAdded[0]++;
+                    }
+                }
+            });
+            writers[t].start();
+        }
+        for (Thread writer : writers) {
+            writer.join();
+        }
+        
+        assertEquals(1, sharedAdded[0]);
+        assertEquals(1 + 8 * 25 + 1, service.getTotalItemCount());
+        assertEquals(200, service.getItem(counterId).getQuantity());
+        assertEquals(1 + 8, service.getCategories().size());
+        
+        // Queued writes are committed before shutdown returns; later ones are refused
+        service.shutdown();
+        assertFalse(service.setQuantity(counterId, 1));
+        assertFalse(service.addItem(new Item("Late", null, 1, 1.0, "Tools")));
+        assertEquals(UpdateResult.FAILED, service.updateItem(service.getItem(counterId)));
+        assertEquals(200, service.getItem(counterId).getQuantity());
+    }
+    
+    @Test
+    public void testFailedCommitLeavesItemsUntouched() {
+        ItemDAOImpl dao = new ItemDAOImpl();
+        Item existing = new Item("Hammer", null, 1, 10.0, "Tools");
+        assertTrue(dao.addItem(existing));
+        int version = existing.getVersion();
+        
+        // Every write runs, then the commit fails
+        InventoryService service = new InventoryServiceImpl(failingCommits(dao), null);
+        Item added = new Item("Wrench", null, 1, 5.0, "Tools");
+        assertFalse(service.addItem(added));
+        assertEquals(0, added.getId());
+        
+        existing.setQuantity(7);
+        assertEquals(UpdateResult.FAILED, service.updateItem(existing));
+        assertEquals(version, existing.getVersion());
+        service.shutdown();
+        
+        // The item is still good for a retry
+        assertEquals(UpdateResult.UPDATED, dao.updateItem(existing));
+        assertEquals(7, dao.getItemById(existing.getId()).getQuantity());
+    }
+    
+    @Test
+    public void testWriterSurvivesErrorsInACommand() throws Exception {
+        ItemDAOImpl dao = new ItemDAOImpl();
+        try (WriteQueue queue = new WriteQueue(dao, 16, 16)) {
+            CompletableFuture<Integer> failed = queue.submit(writer -> {
+                writer.addItem(new Item("Hammer", null, 1, 10.0, "Tools"));
+                throw new StackOverflowError();
+            });
+            try {
+                failed.join();
+                fail("Error was swallowed");
+            } catch (CompletionException expected) {
+                assertTrue(expected.getCause() instanceof StackOverflowError);
+            }
+            
+            // Nothing of the failed group was kept and the writer still takes commands
+            assertTrue(queue.submit(writer -> writer.addItem(new Item("Wrench", null, 1, 5.0, "Tools"))).join() > 0);
+            assertEquals(1, dao.getTotalItems());
+        }
+    }
+    
+    private static ItemDAO failingCommits(ItemDAO dao) {
+        return (ItemDAO) Proxy.newProxyInstance(ItemDAO.class.getClassLoader(), new Class<?>[] {ItemDAO.class},
+            (proxy, method, args) -> {
+                if (method.getName().equals("inWriteTransaction")) {
+                    ItemWriter.Transaction work = (ItemWriter.Transaction) args[0];
+                    dao.inWriteTransaction(writer -> {
+                        work.run(writer);
+                        throw new SQLException("commit failed");
+                    });
+                    return null;
+                }
+                try {
+                    return method.invoke(dao, args);
+                } catch (InvocationTargetException e) {
+                    throw e.getCause();
+                }
+            });
+    }
+    
+    private static void assertColumnarMatches(ItemDAOImpl dao, InventoryService service) {
+        List<CategoryStats> expectedStats = dao.getCategoryStats();
+        List<CategoryStats> actualStats = service.getCategoryStats();
+        assertEquals(expectedStats.size(), actualStats.size());
+        for (int i = 0; i < expectedStats.size(); i++) {
+            assertEquals(expectedStats.get(i).category(), actualStats.get(i).category());
+            assertEquals(expectedStats.get(i).itemCount(), actualStats.get(i).itemCount());
+            assertEquals(expectedStats.get(i).totalQuantity(), actualStats.get(i).totalQuantity());
+            assertEquals(expectedStats.get(i).totalValue(), actualStats.get(i).totalValue(), 0.001);
+            assertEquals(expectedStats.get(i).minPrice(), actualStats.get(i).minPrice(), 0.001);
+            assertEquals(expectedStats.get(i).maxPrice(), actualStats.get(i).maxPrice(), 0.001);
+            assertEquals(expectedStats.get(i).avgPrice(), actualStats.get(i).avgPrice(), 0.001);
+        }
+        
+        for (int threshold : new int[] {0, 5, 35}) {
+            assertEquals(dao.countLowStock(threshold), service.countLowStock(threshold));
+            assertEquals(dao.getLowStockItems(threshold), service.getLowStockItems(threshold));
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,95 @@
+package com.inventory.service;
+
+import com.inventory.model.Item;
+import org.junit.Test;
+import static org.junit.Assert.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.IntFunction;
+
+public class ItemCacheTest {
+    
+    private static Item item(int id, int quantity) {
+        Item item = new Item("Item " + id, null, quantity, 1.0, "Tools");
+        item.setId(id);
+        return item;
+    }
+    
+    @Test
+    public void testHitsReturnCopiesAndCountStats() {
+        ItemCache cache = new ItemCache(100, 0);
+        AtomicInteger loads = new AtomicInteger();
+        
+        Item first = cache.get(1, id -> { loads.incrementAndGet(); return item(id, 5); });
+        first.setQuantity(99);
+        Item second = cache.get(1, id -> { loads.incrementAndGet(); return item(id, 5); });
+        
+        // Changing a returned item does not change the cached one
+        assertEquals(5, second.getQuantity());
+        assertEquals(1, loads.get());
+        assertNull(cache.get(2, id -> null));
+        
+        CacheStats stats = cache.getStats();
+        assertEquals(1, stats.hits());
+        assertEquals(2, stats.misses());
+        assertEquals(1, stats.size());
+    }
+    
+    @Test
+    public void testRecentlyReadEntriesSurviveEviction() {
+        // 32 entries over 16 stripes is two per stripe
+        ItemCache cache = new ItemCache(32, 0);
+        AtomicInteger loads = new AtomicInteger();
+        IntFunction<Item> loader = id -> { loads.incrementAndGet(); return item(id, 1); };
+        
+        // Three ids that land in the same stripe
+        int[] sameStripe = new int[3];
+        for (int id = 1, found = 0; found < 3; id++) {
+            if ((id * 0x9E3779B9 >>> 28) == (0x9E3779B9 >>> 28)) {
+                sameStripe[found++] = id;
+            }
+        }
+        cache.get(sameStripe[0], loader);
+        cache.get(sameStripe[1], loader);
+        cache.get(sameStripe[0], loader);
+        cache.get(sameStripe[2], loader);
+        assertEquals(3, loads.get());
+        
+        // The second id was the least recently used, so it was the one evicted
+        cache.get(sameStripe[0], loader);
+        assertEquals(3, loads.get());
+        cache.get(sameStripe[1], loader);
+        assertEquals(4, loads.get());
+        assertEquals(2, cache.getStats().evictions());
+    }
+    
+    @Test
+    public void testEvictsLeastRecentlyUsedAndExpires() throws Exception {
+        // 16 stripes of one entry each, so a second id in the same stripe evicts the first
+        ItemCache cache = new ItemCache(16, 0);
+        for (int id = 0; id < 1_000; id++) {
+            cache.get(id, i -> item(i, 1));
+        }
+        assertTrue(cache.getStats().size() <= 16);
+        assertTrue(cache.getStats().evictions() >= 1_000 - 16);
+        
+        ItemCache expiring = new ItemCache(100, 20);
+        expiring.get(1, id -> item(id, 1));
+        Thread.sleep(50);
+        assertEquals(2, expiring.get(1, id -> item(id, 2)).getQuantity());
+    }
+    
+    @Test
+    public void testLoadOverlappingInvalidationIsNotCached() {
+        ItemCache cache = new ItemCache(100, 0);
+        
+        // A write lands while the old row is being read
+        Item stale = cache.get(1, id -> {
+            Item old = item(id, 5);
+            cache.invalidate(id);
+            return old;
+        });
+        assertEquals(5, stale.getQuantity());
+        assertEquals(7, cache.get(1, id -> item(id, 7)).getQuantity());
+        assertEquals(0, cache.getStats().hits());
+    }
+}
\ No newline at end of file
@@ -0,0 +1,44 @@
+package com.inventory.util;
+
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+public class BloomFilterTest {
+    
+    @Test
+    public void testNoFalseNegatives() {
+        BloomFilter filter = new BloomFilter(10_000, 0.01);
+        for (int i = 0; i < 10_000; i++) {
+            filter.add("item-" + i);
+        }
+        for (int i = 0; i < 10_000; i++) {
+            assertTrue(filter.mightContain("item-" + i));
+        }
+        assertFalse(filter.isSaturated());
+    }
+    
+    @Test
+    public void testFalsePositiveRateStaysNearTarget() {
+        BloomFilter filter = new BloomFilter(10_000, 0.01);
+        for (int i = 0; i < 10_000; i++) {
+            filter.add("item-" + i);
+        }
+        int falsePositives = 0;
+        for (int i = 0; i < 100_000; i++) {
+            if (filter.mightContain("other-" + i)) {
+                falsePositives++;
+            }
+        }
+        assertTrue("false positives: " + falsePositives, falsePositives < 2_000);
+    }
+    
+    @Test
+    public void testSaturatedAfterExpectedInsertions() {
+        BloomFilter filter = new BloomFilter(2, 0.01);
+        filter.add("a");
+        filter.add("b");
+        assertFalse(filter.isSaturated());
+        filter.add("c");
+        assertTrue(filter.isSaturated());
+    }
+}
\ No newline at end of file
@@ -0,0 +1,151 @@
+package com.inventory.util.collections;
+
+import org.junit.Test;
+import static org.junit.Assert.*;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+
+public class PrimitiveCollectionsTest {
+    
+    @Test
+    public void testIntObjectMapPutGetRemove() {
+        IntObjectHashMap<String> map = new IntObjectHashMap<>(2);
+        assertNull(map.put(1, "one"));
+        assertEquals("one", map.put(1, "uno"));
+        assertNull(map.put(0, "zero"));
+        assertNull(map.put(-7, "minus seven"));
+        assertEquals(3, map.size());
+        assertEquals("uno", map.get(1));
+        assertEquals("zero", map.get(0));
+        assertNull(map.get(2));
+        assertEquals("none", map.getOrDefault(2, "none"));
+        assertEquals("two", map.computeIfAbsent(2, key -> "two"));
+        assertEquals("two", map.computeIfAbsent(2, key -> "other"));
+        
+        assertEquals("uno", map.remove(1));
+        assertNull(map.remove(1));
+        assertFalse(map.containsKey(1));
+        assertEquals(3, map.size());
+        
+        int[] keySum = {0};
+        map.forEach((key, value) -> keySum[0] += key);
+        assertEquals(0 + 2 - 7, keySum[0]);
+        
+        map.clear();
+        assertTrue(map.isEmpty());
+        assertNull(map.get(2));
+    }
+    
+    @Test
+    public void testRemoveKeepsCollidingKeysReachable() {
+        // Keys that share a home slot in the 8-slot table form one probe run;
+        // removing from its middle must not cut the run
+        IntObjectHashMap<Integer> map = new IntObjectHashMap<>(4);
+        int[] colliding = new int[6];
+        int home = IntHashing.mix(1) & 7;
+        for (int key = 1, found = 0; found < colliding.length; key++) {
+            if ((IntHashing.mix(key) & 7) == home) {
+                colliding[found++] = key;
+            }
+        }
+        for (int key : colliding) {
+            map.put(key, key);
+        }
+        map.remove(colliding[1]);
+        map.remove(colliding[3]);
+        for (int i = 0; i < colliding.length; i++) {
+            assertEquals(i == 1 || i == 3 ? null : (Integer) colliding[i], map.get(colliding[i]));
+        }
+    }
+    
+    @Test
+    public void testMapsMatchHashMapUnderRandomOperations() {
+        Random random = new Random(42);
+        IntObjectHashMap<Integer> objects = new IntObjectHashMap<>();
+        IntIntHashMap ints = new IntIntHashMap();
+        IntHashSet set = new IntHashSet();
+        Map<Integer, Integer> expected = new HashMap<>();
+        
+        for (int i = 0; i < 200_000; i++) {
+            // A small key range so that puts, overwrites and removes all hit existing keys
+            int key = random.nextInt(2_000) - 100;
+            int value = random.nextInt();
+            if (random.nextInt(3) == 0) {
+                boolean present = expected.containsKey(key);
+                assertEquals(expected.remove(key), objects.remove(key));
+                assertEquals(present, ints.remove(key));
+                assertEquals(present, set.remove(key));
+            } else {
+                assertEquals(expected.put(key, value), objects.put(key, value));
+                ints.put(key, value);
+                set.add(key);
+            }
+        }
+        
+        assertEquals(expected.size(), objects.size());
+        assertEquals(expected.size(), ints.size());
+        assertEquals(expected.size(), set.size());
+        for (int key = -100; key < 1_900; key++) {
+            Integer value = expected.get(key);
+            assertEquals(value, objects.get(key));
+            assertEquals(value != null, ints.containsKey(key));
+            assertEquals(value != null, set.contains(key));
+            if (value != null) {
+                assertEquals((int) value, ints.get(key, -1));
+            }
+        }
+        Set<Integer> keys = new HashSet<>();
+        for (int key : set.toArray()) {
+            keys.add(key);
+        }
+        assertEquals(expected.keySet(), keys);
+    }
+    
+    @Test
+    public void testZeroKeyAndAddTo() {
+        IntIntHashMap map = new IntIntHashMap();
+        assertEquals(-1, map.get(0, -1));
+        map.put(0, 5);
+        assertEquals(8, map.addTo(0, 3));
+        assertEquals(4, map.addTo(9, 4));
+        assertEquals(2, map.size());
+        assertTrue(map.remove(0));
+        assertFalse(map.remove(0));
+        assertEquals(-1, map.get(0, -1));
+        
+        IntHashSet set = IntHashSet.of(0, 0, 3);
+        assertEquals(2, set.size());
+        assertTrue(set.contains(0));
+        assertTrue(set.remove(0));
+        assertArrayEquals(new int[] {3}, set.toArray());
+    }
+    
+    @Test
+    public void testIntArrayList() {
+        IntArrayList list = new IntArrayList(0);
+        for (int i = 20; i > 0; i--) {
+            list.add(i);
+        }
+        assertEquals(20, list.size());
+        assertEquals(20, list.get(0));
+        list.set(0, 100);
+        list.sort();
+        assertEquals(2, list.get(1));
+        assertEquals(100, list.get(19));
+        assertTrue(list.contains(100));
+        assertEquals(IntArrayList.of(1, 2), IntArrayList.of(1, 2));
+        assertNotEquals(IntArrayList.of(1, 2), IntArrayList.of(1));
+        
+        try {
+            list.get(20);
+            fail("Expected an IndexOutOfBoundsException");
+        } catch (IndexOutOfBoundsException expected) {
+        }
+        list.clear();
+        assertTrue(list.isEmpty());
+        assertEquals(0, list.toArray().length);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,72 @@
+package com.inventory.util.collections;
+
+import org.junit.Test;
+import static org.junit.Assert.*;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Random;
+
+public class SortedChunkListTest {
+    
+    @Test
+    public void testWithMatchesASortedListAndLeavesTheOriginalAlone() {
+        Comparator<Integer> order = Comparator.naturalOrder();
+        List<Integer> expected = new ArrayList<>();
+        for (int i = 0; i < 10_000; i += 10) {
+            expected.add(i);
+        }
+        SortedChunkList<Integer> list = SortedChunkList.of(expected, order);
+        SortedChunkList<Integer> original = list;
+        
+        // Half the inserts land among the first few hundred elements, enough to split their chunks
+        Random random = new Random(42);
+        for (int step = 0; step < 5_000; step++) {
+            Integer removed = expected.isEmpty() || random.nextInt(3) == 0 ? null : expected.get(random.nextInt(expected.size()));
+            Integer added = random.nextInt(4) == 0 ? null : random.nextInt(step % 2 == 0 ? 2_500 : 12_000);
+            list = list.with(removed, added);
+            expected.remove(removed);
+            if (added != null && !expected.contains(added)) {
+                expected.add(added);
+            }
+            expected.sort(order);
+        }
+        
+        assertEquals(expected.size(), list.size());
+        List<Integer> actual = new ArrayList<>();
+        list.forEach(actual::add);
+        assertEquals(expected, actual);
+        for (int i = 0; i < expected.size(); i += 37) {
+            assertEquals(expected.get(i), list.get(i));
+            Iterator<Integer> it = list.iterator(i);
+            assertEquals(expected.get(i), it.next());
+        }
+        assertFalse(list.iterator(list.size()).hasNext());
+        
+        int below = (int) expected.stream().filter(value -> value < 5_000).count();
+        assertEquals(below, list.countLeading(value -> value < 5_000));
+        assertEquals(0, list.countLeading(value -> false));
+        assertEquals(list.size(), list.countLeading(value -> true));
+        
+        assertEquals(1_000, original.size());
+        assertEquals(Integer.valueOf(9_990), original.get(999));
+    }
+    
+    @Test
+    public void testElementThatKeepsItsPlaceIsReplaced() {
+        // Ordered by key only, so "b1" and "b2" take the same place
+        Comparator<String> byKey = Comparator.comparing(s -> s.charAt(0));
+        SortedChunkList<String> list = SortedChunkList.of(List.of("a1", "b1", "c1"), byKey);
+        
+        SortedChunkList<String> replaced = list.with("b1", "b2");
+        assertEquals("b2", replaced.get(1));
+        assertEquals(3, replaced.size());
+        assertEquals("b1", list.get(1));
+        
+        SortedChunkList<String> emptied = SortedChunkList.<String>empty(byKey).with(null, "a1").with("a1", null);
+        assertTrue(emptied.isEmpty());
+        assertEquals(0, emptied.size());
+        assertSame(list, list.with(null, null));
+    }
+}
\ No newline at end of file